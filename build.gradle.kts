@@ -1,7 +1,9 @@
 plugins {
     id("java")
     id("java-library")
+    id("java-test-fixtures")
     id("maven-publish")
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "net.thenextlvl"
@@ -29,17 +31,31 @@ dependencies {
     testImplementation(platform("org.junit:junit-bom:6.1.3"))
     testImplementation("org.junit.jupiter:junit-jupiter")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    testAnnotationProcessor(project(":processor"))
+
+    jmhImplementation(testFixtures(project))
 }
 
 tasks.test {
     useJUnitPlatform()
 }
 
+jmh {
+    jmhVersion = "1.37"
+    profilers.add("gc")
+    resultFormat = "JSON"
+}
+
 tasks.javadoc {
     val options = options as StandardJavadocDocletOptions
     options.tags("apiNote:a:API Note:", "implSpec:a:Implementation Requirements:")
 }
 
+with(components["java"] as AdhocComponentWithVariants) {
+    withVariantsFromConfiguration(configurations.testFixturesApiElements.get()) { skip() }
+    withVariantsFromConfiguration(configurations.testFixturesRuntimeElements.get()) { skip() }
+}
+
 publishing {
     publications.create<MavenPublication>("maven") {
         from(components["java"])
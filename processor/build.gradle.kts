@@ -0,0 +1,43 @@
+plugins {
+    id("java")
+    id("java-library")
+    id("maven-publish")
+}
+
+group = rootProject.group
+version = rootProject.version
+
+java {
+    toolchain.languageVersion = JavaLanguageVersion.of(21)
+    withSourcesJar()
+    withJavadocJar()
+}
+
+tasks.compileJava {
+    options.release.set(21)
+}
+
+repositories {
+    mavenCentral()
+}
+
+publishing {
+    publications.create<MavenPublication>("maven") {
+        artifactId = "nbt-processor"
+        from(components["java"])
+        pom.scm {
+            val repository = "TheNextLvl-net/NBT"
+            url.set("https://github.com/$repository")
+            connection.set("scm:git:git://github.com/$repository.git")
+            developerConnection.set("scm:git:ssh://github.com/$repository.git")
+        }
+    }
+    repositories.maven {
+        val channel = if ((version as String).contains("-pre")) "snapshots" else "releases"
+        url = uri("https://repo.thenextlvl.net/$channel")
+        credentials {
+            username = System.getenv("REPOSITORY_USER")
+            password = System.getenv("REPOSITORY_TOKEN")
+        }
+    }
+}
@@ -0,0 +1,8 @@
+/**
+ * Generates {@code TagAdapter} implementations for classes annotated with {@code NBTSerializable}.
+ */
+module net.thenextlvl.nbt.processor {
+    requires java.compiler;
+
+    provides javax.annotation.processing.Processor with net.thenextlvl.nbt.processor.NBTSerializableProcessor;
+}
@@ -0,0 +1,367 @@
+package net.thenextlvl.nbt.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Generates a {@code TagAdapter} for every record and class annotated with {@code NBTSerializable},
+ * reading and writing their fields directly instead of through reflection.
+ * <p>
+ * All generated adapters are listed in an index, which is loaded by {@code NBT.Builder#registerGeneratedAdapters}.
+ * Types whose constructor or fields are not accessible from their own package are skipped with a warning,
+ * they are still serialized reflectively at runtime.
+ */
+@SupportedAnnotationTypes(NBTSerializableProcessor.ANNOTATION)
+public final class NBTSerializableProcessor extends AbstractProcessor {
+    static final String ANNOTATION = "net.thenextlvl.nbt.serialization.NBTSerializable";
+    static final String INDEX = "META-INF/net.thenextlvl.nbt/tag-adapters";
+
+    private final Map<String, String> adapters = new TreeMap<>();
+    private final List<Element> originatingElements = new ArrayList<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        for (var annotation : annotations) {
+            for (var element : round.getElementsAnnotatedWith(annotation)) {
+                if (element instanceof TypeElement type) generate(type);
+            }
+        }
+        if (round.processingOver() && !adapters.isEmpty()) writeIndex();
+        return false;
+    }
+
+    private void generate(TypeElement type) {
+        try {
+            var adapter = new Adapter(type);
+            var name = adapter.packageName.isEmpty() ? adapter.simpleName : adapter.packageName + "." + adapter.simpleName;
+            try (var writer = processingEnv.getFiler().createSourceFile(name, type).openWriter()) {
+                adapter.write(writer);
+            }
+            adapters.put(processingEnv.getElementUtils().getBinaryName(type).toString(), name);
+            originatingElements.add(type);
+        } catch (SkipException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "No adapter generated for "
+                    + type.getQualifiedName() + ", it is serialized reflectively instead: " + e.getMessage(), type);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to generate adapter: " + e, type);
+        }
+    }
+
+    private void writeIndex() {
+        var elements = originatingElements.toArray(Element[]::new);
+        try (var writer = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX, elements).openWriter()) {
+            writer.write("# Generated by the NBT annotation processor, lists one type and its adapter per line\n");
+            for (var entry : adapters.entrySet()) writer.write(entry.getKey() + " " + entry.getValue() + "\n");
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write " + INDEX + ": " + e);
+        }
+    }
+
+    /**
+     * The layout of a single annotated type, in the order of the reflective serialization:
+     * record components, or the fields of the class followed by those of its superclasses.
+     */
+    private final class Adapter {
+        private final TypeElement type;
+        private final PackageElement pkg;
+        private final String packageName;
+        private final String simpleName;
+        private final String typeName;
+        private final List<Property> properties = new ArrayList<>();
+        private final List<String> types = new ArrayList<>();
+        private final boolean record;
+
+        private Adapter(TypeElement type) {
+            this.type = type;
+            this.pkg = processingEnv.getElementUtils().getPackageOf(type);
+            this.packageName = pkg.getQualifiedName().toString();
+            this.record = type.getKind() == ElementKind.RECORD;
+            if (!record && type.getKind() != ElementKind.CLASS) throw new SkipException("not a class or record");
+            if (!type.getTypeParameters().isEmpty()) throw new SkipException("generic types are not supported");
+            if (type.getModifiers().contains(Modifier.ABSTRACT)) throw new SkipException("abstract types can't be created");
+            this.simpleName = adapterName(type);
+            this.typeName = render(type.asType());
+            if (record) collectComponents();
+            else collectFields();
+            for (var i = 0; i < properties.size(); i++) types.add(typeExpression(properties.get(i), i));
+        }
+
+        private String adapterName(TypeElement type) {
+            var names = new ArrayList<String>();
+            for (Element element = type; element instanceof TypeElement nested; element = element.getEnclosingElement()) {
+                if (nested.getNestingKind() == NestingKind.LOCAL || nested.getNestingKind() == NestingKind.ANONYMOUS)
+                    throw new SkipException("local classes can't be referenced");
+                if (nested.getNestingKind() == NestingKind.MEMBER && nested.getKind() == ElementKind.CLASS
+                    && !nested.getModifiers().contains(Modifier.STATIC))
+                    throw new SkipException("inner classes can't be created");
+                names.add(0, nested.getSimpleName().toString());
+            }
+            return String.join("_", names) + "TagAdapter";
+        }
+
+        private void collectComponents() {
+            var components = type.getRecordComponents();
+            var constructor = ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+                    .filter(candidate -> candidate.getParameters().size() == components.size())
+                    .filter(candidate -> {
+                        for (var i = 0; i < components.size(); i++) {
+                            var parameter = candidate.getParameters().get(i).asType();
+                            if (!processingEnv.getTypeUtils().isSameType(parameter, components.get(i).asType())) return false;
+                        }
+                        return true;
+                    })
+                    .findFirst().orElseThrow(() -> new SkipException("missing canonical constructor"));
+            if (!accessible(constructor)) throw new SkipException("the canonical constructor is not accessible");
+            for (var component : components) {
+                var accessor = component.getAccessor();
+                if (!accessible(accessor)) throw new SkipException(component.getSimpleName() + "() is not accessible");
+                var name = component.getSimpleName().toString();
+                properties.add(new Property(name, component.asType(), type, "object." + name + "()", null));
+            }
+        }
+
+        private void collectFields() {
+            var constructor = ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+                    .filter(candidate -> candidate.getParameters().isEmpty())
+                    .findFirst().orElseThrow(() -> new SkipException("missing constructor without parameters"));
+            if (!accessible(constructor)) throw new SkipException("the constructor without parameters is not accessible");
+            var methods = ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type));
+            for (var declaring = type; declaring != null; declaring = superclass(declaring)) {
+                for (var field : ElementFilter.fieldsIn(declaring.getEnclosedElements())) {
+                    var modifiers = field.getModifiers();
+                    if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) continue;
+                    properties.add(fieldProperty(declaring, field, methods));
+                }
+            }
+        }
+
+        private Property fieldProperty(TypeElement declaring, VariableElement field, List<ExecutableElement> methods) {
+            var name = field.getSimpleName().toString();
+            var capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            var direct = accessible(field);
+            var read = direct ? "object." + name : methods.stream()
+                    .filter(method -> method.getParameters().isEmpty() && isGetter(method, field, capitalized))
+                    .findFirst().map(method -> "object." + method.getSimpleName() + "()")
+                    .orElseThrow(() -> new SkipException(name + " is neither accessible nor has a getter"));
+            var write = direct && !field.getModifiers().contains(Modifier.FINAL) ? "object." + name + " = %s;" : methods.stream()
+                    .filter(method -> method.getSimpleName().contentEquals("set" + capitalized))
+                    .filter(method -> method.getParameters().size() == 1 && accessible(method))
+                    .filter(method -> !method.getModifiers().contains(Modifier.STATIC))
+                    .filter(method -> processingEnv.getTypeUtils().isSameType(method.getParameters().get(0).asType(), field.asType()))
+                    .findFirst().map(method -> "object." + method.getSimpleName() + "(%s);")
+                    .orElseThrow(() -> new SkipException(name + " is neither assignable nor has a setter"));
+            return new Property(name, field.asType(), declaring, read, write);
+        }
+
+        private boolean isGetter(ExecutableElement method, VariableElement field, String capitalized) {
+            var name = method.getSimpleName();
+            var bool = field.asType().getKind() == TypeKind.BOOLEAN;
+            if (!name.contentEquals("get" + capitalized) && !(bool && name.contentEquals("is" + capitalized))) return false;
+            if (method.getModifiers().contains(Modifier.STATIC) || !accessible(method)) return false;
+            return processingEnv.getTypeUtils().isSameType(method.getReturnType(), field.asType());
+        }
+
+        private TypeElement superclass(TypeElement type) {
+            var superclass = type.getSuperclass();
+            if (superclass.getKind() != TypeKind.DECLARED) return null;
+            var element = (TypeElement) ((DeclaredType) superclass).asElement();
+            return element.getQualifiedName().contentEquals("java.lang.Object") ? null : element;
+        }
+
+        /**
+         * Returns whether the generated adapter, living in the package of the type, can access the given member.
+         */
+        private boolean accessible(Element member) {
+            var modifiers = member.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) return false;
+            if (modifiers.contains(Modifier.PUBLIC)) return true;
+            return processingEnv.getElementUtils().getPackageOf(member).equals(pkg);
+        }
+
+        /**
+         * Renders the type as source, failing for types the generated adapter can't refer to.
+         */
+        private String render(TypeMirror type) {
+            switch (type.getKind()) {
+                case BOOLEAN, BYTE, SHORT, INT, LONG, CHAR, FLOAT, DOUBLE -> {
+                    return type.getKind().name().toLowerCase(Locale.ROOT);
+                }
+                case ARRAY -> {
+                    return render(((ArrayType) type).getComponentType()) + "[]";
+                }
+                case WILDCARD -> {
+                    var wildcard = (WildcardType) type;
+                    if (wildcard.getExtendsBound() != null) return "? extends " + render(wildcard.getExtendsBound());
+                    if (wildcard.getSuperBound() != null) return "? super " + render(wildcard.getSuperBound());
+                    return "?";
+                }
+                case DECLARED -> {
+                    var declared = (DeclaredType) type;
+                    var element = (TypeElement) declared.asElement();
+                    for (Element enclosing = element; enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+                        if (!accessible(enclosing)) throw new SkipException(element.getQualifiedName() + " is not accessible");
+                    }
+                    var name = element.getQualifiedName().toString();
+                    if (declared.getTypeArguments().isEmpty()) return name;
+                    var arguments = new ArrayList<String>();
+                    for (var argument : declared.getTypeArguments()) arguments.add(render(argument));
+                    return name + "<" + String.join(", ", arguments) + ">";
+                }
+                default -> throw new SkipException("unsupported type " + type);
+            }
+        }
+
+        private boolean isGeneric(TypeMirror type) {
+            if (type.getKind() == TypeKind.ARRAY) return isGeneric(((ArrayType) type).getComponentType());
+            return type.getKind() == TypeKind.DECLARED && !((DeclaredType) type).getTypeArguments().isEmpty();
+        }
+
+        /**
+         * Returns the expression passed to the context as the type of the property,
+         * generic types are looked up once from the declaring field.
+         */
+        private String typeExpression(Property property, int index) {
+            render(property.type());
+            if (!isGeneric(property.type())) return render(processingEnv.getTypeUtils().erasure(property.type())) + ".class";
+            render(property.declaring().asType());
+            return "TYPE_" + index;
+        }
+
+        private String literal(String value) {
+            return processingEnv.getElementUtils().getConstantExpression(value);
+        }
+
+        private void write(Writer writer) throws IOException {
+            var source = new StringBuilder();
+            if (!packageName.isEmpty()) source.append("package ").append(packageName).append(";\n\n");
+            source.append("/**\n * Generated by the NBT annotation processor for {@link ").append(typeName).append("}, do not edit.\n */\n");
+            source.append("public final class ").append(simpleName)
+                    .append(" implements net.thenextlvl.nbt.serialization.TagAdapter<").append(typeName).append("> {\n");
+            var generic = false;
+            for (var i = 0; i < properties.size(); i++) {
+                var property = properties.get(i);
+                if (!isGeneric(property.type())) continue;
+                source.append("    private static final java.lang.reflect.Type TYPE_").append(i).append(" = type(")
+                        .append(property.declaring().getQualifiedName()).append(".class, ").append(literal(property.name())).append(");\n");
+                generic = true;
+            }
+            if (generic) source.append("\n");
+            writeSerialize(source);
+            source.append("\n");
+            writeDeserialize(source);
+            if (generic) source.append("""
+
+                        private static java.lang.reflect.Type type(java.lang.Class<?> declaring, java.lang.String field) {
+                            try {
+                                return declaring.getDeclaredField(field).getGenericType();
+                            } catch (java.lang.NoSuchFieldException e) {
+                                throw new java.lang.ExceptionInInitializerError(e);
+                            }
+                        }
+                    """);
+            source.append("}\n");
+            writer.write(source.toString());
+        }
+
+        private void writeSerialize(StringBuilder source) {
+            source.append("    @java.lang.Override\n")
+                    .append("    public net.thenextlvl.nbt.tag.Tag serialize(").append(typeName).append(" object, ")
+                    .append("net.thenextlvl.nbt.serialization.TagSerializationContext context) {\n")
+                    .append("        var builder = net.thenextlvl.nbt.tag.CompoundTag.builder();\n");
+            for (var i = 0; i < properties.size(); i++) {
+                var property = properties.get(i);
+                var name = literal(property.name());
+                var type = types.get(i);
+                if (property.type().getKind().isPrimitive()) {
+                    source.append("        builder.put(").append(name).append(", context.serialize(")
+                            .append(property.read()).append(", ").append(type).append("));\n");
+                } else {
+                    source.append("        var value").append(i).append(" = ").append(property.read()).append(";\n")
+                            .append("        if (value").append(i).append(" != null) builder.put(").append(name)
+                            .append(", context.serialize(value").append(i).append(", ").append(type).append("));\n");
+                }
+            }
+            source.append("        return builder.build();\n    }\n");
+        }
+
+        private void writeDeserialize(StringBuilder source) {
+            source.append("    @java.lang.Override\n")
+                    .append("    public ").append(typeName).append(" deserialize(net.thenextlvl.nbt.tag.Tag tag, ")
+                    .append("net.thenextlvl.nbt.serialization.TagDeserializationContext context) {\n")
+                    .append("        if (!tag.isCompound()) throw new net.thenextlvl.nbt.serialization.ParserException(")
+                    .append(literal("Expected a compound tag for " + type.getQualifiedName() + ": ")).append(" + tag);\n")
+                    .append("        var compound = tag.getAsCompound();\n");
+            if (!record) source.append("        var object = new ").append(typeName).append("();\n");
+            for (var i = 0; i < properties.size(); i++) {
+                var property = properties.get(i);
+                var deserialize = "context.deserialize(tag" + i + ", " + types.get(i) + ")";
+                source.append("        var tag").append(i).append(" = compound.get(").append(literal(property.name())).append(");\n");
+                if (record) {
+                    source.append("        ").append(render(property.type())).append(" value").append(i).append(" = tag").append(i)
+                            .append(" != null ? ").append(deserialize).append(" : ").append(defaultValue(property.type())).append(";\n");
+                } else {
+                    source.append("        if (tag").append(i).append(" != null) ")
+                            .append(String.format(property.write(), deserialize)).append("\n");
+                }
+            }
+            if (record) {
+                var arguments = new ArrayList<String>();
+                for (var i = 0; i < properties.size(); i++) arguments.add("value" + i);
+                source.append("        return new ").append(typeName).append("(").append(String.join(", ", arguments)).append(");\n");
+            } else source.append("        return object;\n");
+            source.append("    }\n");
+        }
+
+        private String defaultValue(TypeMirror type) {
+            return switch (type.getKind()) {
+                case BOOLEAN -> "false";
+                case CHAR -> "'\\0'";
+                case BYTE, SHORT, INT, LONG, FLOAT, DOUBLE -> "0";
+                default -> "null";
+            };
+        }
+    }
+
+    /**
+     * A serialized property, read with the given expression and written with the given statement format.
+     */
+    private record Property(String name, TypeMirror type, TypeElement declaring, String read, String write) {
+    }
+
+    private static final class SkipException extends RuntimeException {
+        private SkipException(String message) {
+            super(message);
+        }
+    }
+}
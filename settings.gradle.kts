@@ -2,4 +2,5 @@ plugins {
     id("org.gradle.toolchains.foojay-resolver-convention").version("1.0.0")
 }
 
-rootProject.name = "nbt"
\ No newline at end of file
+rootProject.name = "nbt"
+include("processor")
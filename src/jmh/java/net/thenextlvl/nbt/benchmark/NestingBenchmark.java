@@ -0,0 +1,164 @@
+package net.thenextlvl.nbt.benchmark;
+
+import net.thenextlvl.nbt.Compression;
+import net.thenextlvl.nbt.NBTInputStream;
+import net.thenextlvl.nbt.NBTOutputStream;
+import net.thenextlvl.nbt.ReadLimits;
+import net.thenextlvl.nbt.tag.ByteTag;
+import net.thenextlvl.nbt.tag.CompoundTag;
+import net.thenextlvl.nbt.tag.DoubleTag;
+import net.thenextlvl.nbt.tag.EscapeTag;
+import net.thenextlvl.nbt.tag.IntTag;
+import net.thenextlvl.nbt.tag.ListTag;
+import net.thenextlvl.nbt.tag.StringTag;
+import net.thenextlvl.nbt.tag.Tag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the explicit-stack decoder and encoder against a recursive baseline on alternately nested
+ * compounds and lists.
+ * <p>
+ * The baseline only supports the tag types used by the fixture and reads from a plain {@link DataInputStream},
+ * so it mirrors the recursive implementation that predates the explicit-stack one.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class NestingBenchmark {
+    @Param({"8", "64", "512"})
+    public int depth;
+
+    private CompoundTag tag;
+    private byte[] encoded;
+    private ByteArrayOutputStream output;
+
+    @Setup
+    public void setup() throws IOException {
+        Tag nested = CompoundTag.builder().put("value", 1.5).build();
+        for (var i = 0; i < depth; i++) nested = i % 2 == 0
+                ? ListTag.of(nested, CompoundTag.builder().put("sibling", i).build())
+                : CompoundTag.builder().put("level", i).put("name", "level-" + i).put("child", nested).build();
+        tag = CompoundTag.builder().put("root", nested).build();
+        output = new ByteArrayOutputStream();
+        encoded = NBTOutputStream.toByteArray(null, tag);
+    }
+
+    @Benchmark
+    public CompoundTag readIterative() throws IOException {
+        try (var input = NBTInputStream.create(new ByteArrayInputStream(encoded), Compression.NONE)) {
+            input.setLimits(ReadLimits.unlimited());
+            return input.readTag();
+        }
+    }
+
+    @Benchmark
+    public Tag readRecursive() throws IOException {
+        var input = new DataInputStream(new ByteArrayInputStream(encoded));
+        input.readByte();
+        input.skipNBytes(input.readUnsignedShort());
+        return readRecursive(input, CompoundTag.ID);
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream writeIterative() throws IOException {
+        output.reset();
+        try (var nbt = NBTOutputStream.create(output, Compression.NONE)) {
+            nbt.writeTag(null, tag);
+        }
+        return output;
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream writeRecursive() throws IOException {
+        output.reset();
+        try (var data = new DataOutputStream(output)) {
+            data.writeByte(CompoundTag.ID);
+            data.writeShort(0);
+            writeRecursive(data, tag);
+        }
+        return output;
+    }
+
+    private static Tag readRecursive(DataInput input, byte type) throws IOException {
+        return switch (type) {
+            case CompoundTag.ID -> {
+                var values = new LinkedHashMap<String, Tag>();
+                for (var child = input.readByte(); child != EscapeTag.ID; child = input.readByte())
+                    values.put(readString(input), readRecursive(input, child));
+                yield CompoundTag.of(values);
+            }
+            case ListTag.ID -> {
+                var elementType = input.readByte();
+                var length = input.readInt();
+                var values = new LinkedList<Tag>();
+                for (var i = 0; i < length; i++) values.add(readRecursive(input, elementType));
+                yield ListTag.of(elementType, values);
+            }
+            case ByteTag.ID -> ByteTag.of(input.readByte());
+            case IntTag.ID -> IntTag.of(input.readInt());
+            case DoubleTag.ID -> DoubleTag.of(input.readDouble());
+            case StringTag.ID -> StringTag.of(readString(input));
+            default -> throw new IllegalArgumentException("Unsupported tag type: " + type);
+        };
+    }
+
+    private static String readString(DataInput input) throws IOException {
+        var bytes = new byte[input.readUnsignedShort()];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeRecursive(DataOutput output, Tag tag) throws IOException {
+        switch (tag) {
+            case CompoundTag compound -> {
+                for (var entry : compound.getValue().entrySet()) {
+                    output.writeByte(entry.getValue().getTypeId());
+                    writeString(output, entry.getKey());
+                    writeRecursive(output, entry.getValue());
+                }
+                output.writeByte(EscapeTag.ID);
+            }
+            case ListTag<?> list -> {
+                output.writeByte(list.getContentTypeId());
+                output.writeInt(list.size());
+                for (var element : list) writeRecursive(output, element);
+            }
+            case ByteTag value -> output.writeByte(value.getAsByte());
+            case IntTag value -> output.writeInt(value.getAsInt());
+            case DoubleTag value -> output.writeDouble(value.getAsDouble());
+            case StringTag value -> writeString(output, value.getValue());
+            default -> throw new IllegalArgumentException("Unsupported tag type: " + tag.getTypeId());
+        }
+    }
+
+    private static void writeString(DataOutput output, String value) throws IOException {
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeShort(bytes.length);
+        output.write(bytes);
+    }
+}
@@ -0,0 +1,89 @@
+package net.thenextlvl.nbt.benchmark;
+
+import net.thenextlvl.nbt.serialization.NBT;
+import net.thenextlvl.nbt.serialization.TagAdapter;
+import net.thenextlvl.nbt.serialization.TagDeserializationContext;
+import net.thenextlvl.nbt.serialization.TagSerializationContext;
+import net.thenextlvl.nbt.tag.CompoundTag;
+import net.thenextlvl.nbt.tag.Tag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures object mapping through {@link NBT#serialize(Object)} and {@link NBT#deserialize(Tag, Class)},
+ * including the adapter lookup and nested context calls.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SerializationBenchmark {
+    private final NBT nbt = NBT.builder()
+            .registerTypeAdapter(Profile.class, new ProfileAdapter())
+            .build();
+
+    private Profile profile;
+    private Tag tag;
+
+    @Setup
+    public void setup() {
+        profile = new Profile(new UUID(42, 1337), "Notch", 20f, 12.5, 64, -30.25, Duration.ofHours(150));
+        tag = nbt.serialize(profile);
+    }
+
+    @Benchmark
+    public Tag serialize() {
+        return nbt.serialize(profile);
+    }
+
+    @Benchmark
+    public Profile deserialize() {
+        return nbt.deserialize(tag, Profile.class);
+    }
+
+    public record Profile(UUID uuid, String name, float health, double x, double y, double z, Duration playtime) {
+    }
+
+    private static final class ProfileAdapter implements TagAdapter<Profile> {
+        @Override
+        public Profile deserialize(Tag tag, TagDeserializationContext context) {
+            var compound = tag.getAsCompound();
+            return new Profile(
+                    context.deserialize(compound.get("uuid"), UUID.class),
+                    context.deserialize(compound.get("name"), String.class),
+                    context.deserialize(compound.get("health"), float.class),
+                    context.deserialize(compound.get("x"), double.class),
+                    context.deserialize(compound.get("y"), double.class),
+                    context.deserialize(compound.get("z"), double.class),
+                    context.deserialize(compound.get("playtime"), Duration.class)
+            );
+        }
+
+        @Override
+        public Tag serialize(Profile profile, TagSerializationContext context) {
+            return CompoundTag.builder()
+                    .put("uuid", context.serialize(profile.uuid()))
+                    .put("name", context.serialize(profile.name()))
+                    .put("health", context.serialize(profile.health()))
+                    .put("x", context.serialize(profile.x()))
+                    .put("y", context.serialize(profile.y()))
+                    .put("z", context.serialize(profile.z()))
+                    .put("playtime", context.serialize(profile.playtime()))
+                    .build();
+        }
+    }
+}
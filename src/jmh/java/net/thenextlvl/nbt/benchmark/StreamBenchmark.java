@@ -0,0 +1,76 @@
+package net.thenextlvl.nbt.benchmark;
+
+import net.thenextlvl.nbt.Compression;
+import net.thenextlvl.nbt.NBTInputStream;
+import net.thenextlvl.nbt.NBTOutputStream;
+import net.thenextlvl.nbt.tag.CompoundTag;
+import net.thenextlvl.nbt.test.corpus.CorpusGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures encoding and decoding of whole files through {@link NBTInputStream} and {@link NBTOutputStream}
+ * for every {@link Compression}.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StreamBenchmark {
+    @Param({"PLAYER", "CHUNK", "ITEMS", "TREE"})
+    public CorpusGenerator.Kind fixture;
+
+    @Param({"NONE", "GZIP", "ZLIB", "LZ4"})
+    public String compression;
+
+    private Compression codec;
+    private CompoundTag tag;
+    private byte[] encoded;
+    private ByteArrayOutputStream output;
+
+    @Setup
+    public void setup() throws IOException {
+        codec = switch (compression) {
+            case "NONE" -> Compression.NONE;
+            case "GZIP" -> Compression.GZIP;
+            case "ZLIB" -> Compression.ZLIB;
+            case "LZ4" -> Compression.LZ4;
+            default -> throw new IllegalArgumentException("Unknown compression: " + compression);
+        };
+        tag = CorpusGenerator.builder().build().generate(fixture, 0);
+        output = new ByteArrayOutputStream();
+        encoded = writeTag().toByteArray();
+    }
+
+    @Benchmark
+    public CompoundTag readTag() throws IOException {
+        try (var input = NBTInputStream.create(new ByteArrayInputStream(encoded), codec)) {
+            return input.readTag();
+        }
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream writeTag() throws IOException {
+        output.reset();
+        try (var nbt = NBTOutputStream.create(output, codec)) {
+            nbt.writeTag(null, tag);
+        }
+        return output;
+    }
+}
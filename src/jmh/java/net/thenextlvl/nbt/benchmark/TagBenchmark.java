@@ -0,0 +1,66 @@
+package net.thenextlvl.nbt.benchmark;
+
+import net.thenextlvl.nbt.serialization.NBT;
+import net.thenextlvl.nbt.tag.CompoundTag;
+import net.thenextlvl.nbt.tag.ListTag;
+import net.thenextlvl.nbt.tag.Tag;
+import net.thenextlvl.nbt.test.corpus.CorpusGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures access to in-memory tag trees: compound lookups, list iteration and SNBT formatting.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TagBenchmark {
+    private static final String[] KEYS = {"DataVersion", "Pos", "Health", "Inventory", "abilities", "missing"};
+
+    private final NBT prettyPrinter = NBT.builder().setPrettyPrinting(true).build();
+    private CompoundTag player;
+    private ListTag<CompoundTag> items;
+
+    @Setup
+    public void setup() {
+        var generator = CorpusGenerator.builder().build();
+        player = generator.generate(CorpusGenerator.Kind.PLAYER, 0);
+        items = generator.generate(CorpusGenerator.Kind.ITEMS, 0).getAsList("Items");
+    }
+
+    @Benchmark
+    public void compoundGet(Blackhole blackhole) {
+        for (var key : KEYS) blackhole.consume(player.<Tag>get(key));
+    }
+
+    @Benchmark
+    public int listIteration() {
+        var count = 0;
+        for (var item : items) count += item.get("count").getAsInt();
+        return count;
+    }
+
+    @Benchmark
+    public String snbt() {
+        return player.toString();
+    }
+
+    @Benchmark
+    public String snbtPretty() {
+        return prettyPrinter.toString(player);
+    }
+}
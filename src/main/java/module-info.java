@@ -5,8 +5,11 @@ module net.thenextlvl.nbt {
     exports net.thenextlvl.nbt.serialization.adapters;
     exports net.thenextlvl.nbt.serialization;
     exports net.thenextlvl.nbt;
+    exports net.thenextlvl.nbt.file;
     exports net.thenextlvl.nbt.tag;
 
+    requires jdk.jfr;
+
     requires static org.jetbrains.annotations;
     requires static org.jspecify;
 }
\ No newline at end of file
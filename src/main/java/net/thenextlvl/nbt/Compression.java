@@ -1,8 +1,16 @@
 package net.thenextlvl.nbt;
 
+import org.jetbrains.annotations.Contract;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Compression types.
@@ -24,6 +32,25 @@ public interface Compression {
      * <a href="https://en.wikipedia.org/wiki/Zlib">ZLIB</a> compression.
      */
     Compression ZLIB = new CompressionImpl.ZLIB();
+    /**
+     * <a href="https://en.wikipedia.org/wiki/LZ4_(compression_algorithm)">LZ4</a> compression,
+     * using the block framing of <a href="https://github.com/lz4/lz4-java">LZ4-Java</a>.
+     * <p>
+     * This is the format of chunks stored with compression type {@code 4} in region files.
+     *
+     * @since 4.4.0
+     */
+    Compression LZ4 = new CompressionImpl.LZ4();
+    /**
+     * Automatically detected compression.
+     * <p>
+     * Decompression {@link #detect(InputStream) detects} the compression by peeking at the magic bytes of the input,
+     * so mixed uncompressed, GZIP, ZLIB and LZ4 data can be read without knowing the format upfront.
+     * Compression always uses {@link #GZIP}.
+     *
+     * @since 4.4.0
+     */
+    Compression AUTO = new CompressionImpl.Auto();
 
     /**
      * Decompresses {@code input}.
@@ -42,4 +69,113 @@ public interface Compression {
      * @throws IOException if an exception was encountered while compressing
      */
     OutputStream compress(OutputStream output) throws IOException;
+
+    /**
+     * Detects the compression of {@code input} by peeking at its magic bytes.
+     * <p>
+     * The stream is {@link InputStream#mark(int) marked} and {@link InputStream#reset() reset},
+     * so no data is consumed and the returned compression can decompress {@code input} right away.
+     * Recognized are {@link #GZIP} ({@code 1f 8b}), {@link #ZLIB} (a valid zlib header),
+     * {@link #LZ4} ({@code LZ4Block}) and uncompressed data starting with a {@code CompoundTag} ({@code 0a}).
+     *
+     * @param input the input stream, which must {@link InputStream#markSupported() support mark}
+     * @return the detected compression
+     * @throws IOException              if the compression could not be detected
+     * @throws IllegalArgumentException if {@code input} does not support mark
+     * @since 4.4.0
+     */
+    static Compression detect(InputStream input) throws IOException, IllegalArgumentException {
+        return CompressionImpl.Auto.detect(input);
+    }
+
+    /**
+     * Creates a <a href="https://en.wikipedia.org/wiki/Gzip">GZIP</a> compression that deflates blocks of
+     * 128 KiB concurrently using the {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @return a new parallel GZIP compression
+     * @see #parallelGzip(Executor, int)
+     * @since 4.4.0
+     */
+    @Contract(value = " -> new", pure = true)
+    static Compression parallelGzip() {
+        return parallelGzip(ForkJoinPool.commonPool(), ParallelGZIPOutputStream.DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Creates a <a href="https://en.wikipedia.org/wiki/Gzip">GZIP</a> compression that deflates blocks concurrently.
+     * <p>
+     * The written data is split into blocks of {@code blockSize} bytes which are deflated on {@code executor},
+     * each primed with the preceding 32 KiB of data.
+     * The result is a regular single-member GZIP stream that can be read by any GZIP decoder,
+     * including {@link #GZIP}, which is also used for decompression.
+     * <p>
+     * This is only worthwhile for large outputs, small payloads are better served by {@link #GZIP}.
+     *
+     * @param executor  the executor to deflate blocks on
+     * @param blockSize the amount of uncompressed bytes per block
+     * @return a new parallel GZIP compression
+     * @throws IllegalArgumentException if {@code blockSize} is not positive
+     * @since 4.4.0
+     */
+    @Contract(value = "_, _ -> new", pure = true)
+    static Compression parallelGzip(Executor executor, int blockSize) throws IllegalArgumentException {
+        return new CompressionImpl.ParallelGZIP(executor, blockSize);
+    }
+
+    /**
+     * Creates a <a href="https://en.wikipedia.org/wiki/Zlib">ZLIB</a> compression primed with a preset dictionary.
+     * <p>
+     * Small payloads that share a lot of structure (such as tag names and common values)
+     * compress significantly better when both sides agree on a dictionary containing that structure.
+     * Data compressed without a dictionary can still be decompressed by the returned compression.
+     *
+     * @param dictionary the preset dictionary, at most the last 32 KiB are used
+     * @return a new dictionary compression
+     * @see #trainDictionary(Iterable, int)
+     * @since 4.4.0
+     */
+    @Contract(value = "_ -> new", pure = true)
+    static Compression dictionary(byte[] dictionary) {
+        return new CompressionImpl.Dictionary(dictionary);
+    }
+
+    /**
+     * Trains a preset dictionary for {@link #dictionary(byte[])} from a corpus of uncompressed samples.
+     * <p>
+     * Samples should be representative of the payloads that are going to be compressed,
+     * for example the raw output of {@link NBTOutputStream} using {@link #NONE}.
+     *
+     * @param samples the uncompressed sample payloads
+     * @param size    the maximum size of the dictionary, capped at 32 KiB
+     * @return the trained dictionary
+     * @throws IllegalArgumentException if {@code size} is not positive
+     * @since 4.4.0
+     */
+    @Contract(value = "_, _ -> new", pure = true)
+    static byte[] trainDictionary(Iterable<byte[]> samples, int size) throws IllegalArgumentException {
+        return DictionaryTrainer.train(samples, size);
+    }
+
+    /**
+     * Trains a preset dictionary for {@link #dictionary(byte[])} from a corpus of NBT files.
+     *
+     * @param files       the sample files
+     * @param compression the compression of the sample files
+     * @param size        the maximum size of the dictionary, capped at 32 KiB
+     * @return the trained dictionary
+     * @throws IOException              if an exception occurred while reading the files
+     * @throws IllegalArgumentException if {@code size} is not positive
+     * @see #trainDictionary(Iterable, int)
+     * @since 4.4.0
+     */
+    @Contract(value = "_, _, _ -> new", pure = true)
+    static byte[] trainDictionary(Collection<Path> files, Compression compression, int size) throws IOException, IllegalArgumentException {
+        var samples = new ArrayList<byte[]>(files.size());
+        for (var file : files) {
+            try (var input = compression.decompress(Files.newInputStream(file))) {
+                samples.add(input.readAllBytes());
+            }
+        }
+        return trainDictionary(samples, size);
+    }
 }
@@ -1,12 +1,22 @@
 package net.thenextlvl.nbt;
 
+import net.thenextlvl.nbt.tag.CompoundTag;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.zip.Adler32;
+import java.util.zip.Deflater;
 import java.util.zip.DeflaterOutputStream;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
 import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
 
 final class CompressionImpl {
     public static final class None implements Compression {
@@ -59,4 +69,162 @@ final class CompressionImpl {
             return "Compression.ZLIB";
         }
     }
+
+    public static final class LZ4 implements Compression {
+        @Override
+        public InputStream decompress(InputStream input) {
+            return new LZ4BlockInputStream(input);
+        }
+
+        @Override
+        public OutputStream compress(OutputStream output) {
+            return new LZ4BlockOutputStream(output);
+        }
+
+        @Override
+        public String toString() {
+            return "Compression.LZ4";
+        }
+    }
+
+    public static final class ParallelGZIP implements Compression {
+        private final Executor executor;
+        private final int blockSize;
+
+        public ParallelGZIP(Executor executor, int blockSize) {
+            if (blockSize <= 0) throw new IllegalArgumentException("Block size must be positive");
+            this.executor = executor;
+            this.blockSize = blockSize;
+        }
+
+        @Override
+        public InputStream decompress(InputStream input) throws IOException {
+            return Compression.GZIP.decompress(input);
+        }
+
+        @Override
+        public OutputStream compress(OutputStream output) throws IOException {
+            return new ParallelGZIPOutputStream(output, executor, blockSize);
+        }
+
+        @Override
+        public String toString() {
+            return "Compression.parallelGzip(" + blockSize + ")";
+        }
+    }
+
+    public static final class Auto implements Compression {
+        private static final int MAGIC_LENGTH = LZ4BlockOutputStream.MAGIC.length;
+
+        @Override
+        public InputStream decompress(InputStream input) throws IOException {
+            var buffered = input.markSupported() ? input : new BufferedInputStream(input);
+            return detect(buffered).decompress(buffered);
+        }
+
+        @Override
+        public OutputStream compress(OutputStream output) throws IOException {
+            return Compression.GZIP.compress(output);
+        }
+
+        static Compression detect(InputStream input) throws IOException {
+            if (!input.markSupported()) throw new IllegalArgumentException("Input stream does not support mark");
+            var magic = new byte[MAGIC_LENGTH];
+            input.mark(MAGIC_LENGTH);
+            int read;
+            try {
+                read = input.readNBytes(magic, 0, MAGIC_LENGTH);
+            } finally {
+                input.reset();
+            }
+            if (read == 0) throw new EOFException("Cannot detect compression of empty input");
+
+            var first = magic[0] & 0xff;
+            if (first == CompoundTag.ID) return Compression.NONE;
+            if (read < 2) throw new IOException("Unknown compression");
+            var second = magic[1] & 0xff;
+            if (first == 0x1f && second == 0x8b) return Compression.GZIP;
+            if ((first & 0x0f) == 8 && first >>> 4 <= 7 && (first << 8 | second) % 31 == 0) return Compression.ZLIB;
+            if (read == MAGIC_LENGTH && Arrays.equals(magic, LZ4BlockOutputStream.MAGIC)) return Compression.LZ4;
+            throw new IOException("Unknown compression");
+        }
+
+        @Override
+        public String toString() {
+            return "Compression.AUTO";
+        }
+    }
+
+    public static final class Dictionary implements Compression {
+        private final byte[] dictionary;
+        private final long checksum;
+
+        public Dictionary(byte[] dictionary) {
+            this.dictionary = dictionary.length > DictionaryTrainer.MAX_DICTIONARY_SIZE ? Arrays.copyOfRange(
+                    dictionary, dictionary.length - DictionaryTrainer.MAX_DICTIONARY_SIZE, dictionary.length
+            ) : dictionary.clone();
+            var adler = new Adler32();
+            adler.update(this.dictionary);
+            this.checksum = adler.getValue();
+        }
+
+        @Override
+        public InputStream decompress(InputStream input) {
+            return new InflaterInputStream(input, new Inflater()) {
+                @Override
+                public int read(byte[] bytes, int offset, int length) throws IOException {
+                    var read = super.read(bytes, offset, length);
+                    if (read != -1 || !inf.needsDictionary()) return read;
+                    try {
+                        inf.setDictionary(dictionary);
+                    } catch (IllegalArgumentException e) {
+                        throw new ZipException("Compressed with a different dictionary");
+                    }
+                    return super.read(bytes, offset, length);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        inf.end();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public OutputStream compress(OutputStream output) {
+            var deflater = new Deflater();
+            deflater.setDictionary(dictionary);
+            return new DeflaterOutputStream(output, deflater) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        def.end();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) return true;
+            if (!(object instanceof Dictionary other)) return false;
+            return Arrays.equals(dictionary, other.dictionary);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(dictionary);
+        }
+
+        @Override
+        public String toString() {
+            return "Compression.dictionary(" + dictionary.length + " bytes, adler32=" + Long.toHexString(checksum) + ")";
+        }
+    }
 }
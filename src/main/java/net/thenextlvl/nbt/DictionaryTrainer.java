@@ -0,0 +1,124 @@
+package net.thenextlvl.nbt;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+/**
+ * Trains preset dictionaries for {@link Compression#dictionary(byte[])}.
+ * <p>
+ * This is a simplified variant of the COVER algorithm used by Zstandard:
+ * every 8 byte sequence ("d-mer") is weighted by the number of samples it occurs in
+ * (sequences unique to a single sample are worthless to other payloads and weigh nothing),
+ * the sample data is split into epochs, and each epoch contributes the segment
+ * whose not yet covered d-mers have the highest total weight.
+ * Segments are placed from the end of the dictionary towards the front,
+ * so the most valuable ones end up closest to the compressed data.
+ */
+final class DictionaryTrainer {
+    static final int MAX_DICTIONARY_SIZE = 1 << 15;
+
+    private static final int DMER = Long.BYTES;
+    private static final int SEGMENT = 64;
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private DictionaryTrainer() {
+    }
+
+    static byte[] train(Iterable<byte[]> samples, int size) {
+        if (size <= 0) throw new IllegalArgumentException("Dictionary size must be positive");
+        size = Math.min(size, MAX_DICTIONARY_SIZE);
+
+        var frequencies = new HashMap<Long, Integer>();
+        var corpus = new ByteArrayOutputStream();
+        for (var sample : samples) {
+            if (sample.length < DMER) continue;
+            var seen = new HashSet<Long>();
+            for (var i = 0; i <= sample.length - DMER; i++) {
+                var dmer = dmer(sample, i);
+                if (seen.add(dmer)) frequencies.merge(dmer, 1, Integer::sum);
+            }
+            corpus.writeBytes(sample);
+        }
+        var data = corpus.toByteArray();
+        if (data.length < SEGMENT) return Arrays.copyOfRange(data, Math.max(0, data.length - size), data.length);
+
+        var dictionary = new byte[size];
+        var tail = size;
+        var epochs = Math.max(1, Math.min(size / SEGMENT, data.length / SEGMENT));
+        var epochSize = data.length / epochs;
+
+        while (tail > 0) {
+            var progress = false;
+            for (var epoch = 0; epoch < epochs && tail > 0; epoch++) {
+                var start = epoch * epochSize;
+                var end = epoch == epochs - 1 ? data.length : start + epochSize;
+                var best = bestSegment(data, start, end, frequencies);
+                if (best < 0) continue;
+
+                var length = Math.min(SEGMENT, tail);
+                tail -= length;
+                System.arraycopy(data, best, dictionary, tail, length);
+                for (var i = best; i <= best + SEGMENT - DMER; i++) frequencies.put(dmer(data, i), 0);
+                progress = true;
+            }
+            if (!progress) break;
+        }
+        return Arrays.copyOfRange(dictionary, tail, size);
+    }
+
+    /**
+     * Finds the segment in {@code data[start, end)} with the highest score.
+     *
+     * @return the offset of the best segment, or {@code -1} if no segment has a positive score
+     */
+    private static int bestSegment(byte[] data, int start, int end, Map<Long, Integer> frequencies) {
+        end = Math.min(end, data.length - SEGMENT + 1);
+        if (end <= start) return -1;
+
+        var active = new HashMap<Long, Integer>();
+        long score = 0, bestScore = 0;
+        var best = -1;
+        for (var i = start; i <= start + SEGMENT - DMER; i++) score += enter(data, i, active, frequencies);
+        if (score > bestScore) {
+            bestScore = score;
+            best = start;
+        }
+        for (var segment = start + 1; segment < end; segment++) {
+            score -= leave(data, segment - 1, active, frequencies);
+            score += enter(data, segment + SEGMENT - DMER, active, frequencies);
+            if (score > bestScore) {
+                bestScore = score;
+                best = segment;
+            }
+        }
+        return best;
+    }
+
+    private static int enter(byte[] data, int index, Map<Long, Integer> active, Map<Long, Integer> frequencies) {
+        var dmer = dmer(data, index);
+        return active.merge(dmer, 1, Integer::sum) == 1 ? weight(dmer, frequencies) : 0;
+    }
+
+    private static int leave(byte[] data, int index, Map<Long, Integer> active, Map<Long, Integer> frequencies) {
+        var dmer = dmer(data, index);
+        var count = active.merge(dmer, -1, Integer::sum);
+        if (count != 0) return 0;
+        active.remove(dmer);
+        return weight(dmer, frequencies);
+    }
+
+    private static int weight(long dmer, Map<Long, Integer> frequencies) {
+        var frequency = frequencies.getOrDefault(dmer, 0);
+        return frequency > 1 ? frequency : 0;
+    }
+
+    private static long dmer(byte[] data, int index) {
+        return (long) LONG.get(data, index);
+    }
+}
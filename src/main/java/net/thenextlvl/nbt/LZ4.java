@@ -0,0 +1,210 @@
+package net.thenextlvl.nbt;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Pure Java implementation of the <a href="https://github.com/lz4/lz4/blob/dev/doc/lz4_Block_format.md">LZ4 block format</a>
+ * and the XXHash32 checksum, as used by the {@code LZ4Block} framing of LZ4-Java.
+ */
+final class LZ4 {
+    static final int MIN_MATCH = 4;
+    static final int LAST_LITERALS = 5;
+    static final int MF_LIMIT = 12;
+    static final int MAX_DISTANCE = 0xffff;
+
+    private static final int HASH_LOG = 12;
+    private static final int HASH_SIZE = 1 << HASH_LOG;
+
+    private static final int PRIME1 = 0x9E3779B1;
+    private static final int PRIME2 = 0x85EBCA77;
+    private static final int PRIME3 = 0xC2B2AE3D;
+    private static final int PRIME4 = 0x27D4EB2F;
+    private static final int PRIME5 = 0x165667B1;
+
+    private static final VarHandle INT = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private LZ4() {
+    }
+
+    static int maxCompressedLength(int length) {
+        return length + length / 255 + 16;
+    }
+
+    static int[] newHashTable() {
+        return new int[HASH_SIZE];
+    }
+
+    static int readIntLE(byte[] buffer, int offset) {
+        return (int) INT.get(buffer, offset);
+    }
+
+    static void writeIntLE(byte[] buffer, int offset, int value) {
+        INT.set(buffer, offset, value);
+    }
+
+    /**
+     * Compresses {@code src[srcOff, srcOff + srcLen)} into {@code dest} starting at {@code destOff}.
+     *
+     * @return the number of bytes written to {@code dest}
+     */
+    static int compress(byte[] src, int srcOff, int srcLen, byte[] dest, int destOff, int[] table) {
+        var srcEnd = srcOff + srcLen;
+        var d = destOff;
+        var anchor = srcOff;
+
+        if (srcLen >= MF_LIMIT + 1) {
+            Arrays.fill(table, -1);
+            var mfLimit = srcEnd - MF_LIMIT;
+            var matchLimit = srcEnd - LAST_LITERALS;
+            var s = srcOff;
+            while (s < mfLimit) {
+                var sequence = readIntLE(src, s);
+                var hash = hash(sequence);
+                var ref = table[hash];
+                table[hash] = s;
+                if (ref < 0 || s - ref > MAX_DISTANCE || readIntLE(src, ref) != sequence) {
+                    s++;
+                    continue;
+                }
+                while (s > anchor && ref > srcOff && src[s - 1] == src[ref - 1]) {
+                    s--;
+                    ref--;
+                }
+                var matchLength = MIN_MATCH;
+                while (s + matchLength < matchLimit && src[s + matchLength] == src[ref + matchLength]) matchLength++;
+
+                d = writeSequence(src, anchor, s - anchor, dest, d, s - ref, matchLength);
+                s += matchLength;
+                anchor = s;
+                if (s - 2 >= srcOff && s < mfLimit) table[hash(readIntLE(src, s - 2))] = s - 2;
+            }
+        }
+
+        var literals = srcEnd - anchor;
+        dest[d++] = (byte) (Math.min(literals, 15) << 4);
+        d = writeLength(dest, d, literals);
+        System.arraycopy(src, anchor, dest, d, literals);
+        return d + literals - destOff;
+    }
+
+    /**
+     * Decompresses {@code src[srcOff, srcOff + srcLen)} into exactly {@code destLen} bytes at {@code dest[destOff]}.
+     *
+     * @throws IOException if the compressed data is malformed
+     */
+    static void decompress(byte[] src, int srcOff, int srcLen, byte[] dest, int destOff, int destLen) throws IOException {
+        var s = srcOff;
+        var srcEnd = srcOff + srcLen;
+        var d = destOff;
+        var destEnd = destOff + destLen;
+        while (s < srcEnd) {
+            var token = src[s++] & 0xff;
+
+            var literals = token >>> 4;
+            if (literals == 15) {
+                int b;
+                do {
+                    if (s >= srcEnd) throw corrupted();
+                    b = src[s++] & 0xff;
+                    literals += b;
+                } while (b == 255);
+            }
+            if (literals > srcEnd - s || literals > destEnd - d) throw corrupted();
+            System.arraycopy(src, s, dest, d, literals);
+            s += literals;
+            d += literals;
+            if (s == srcEnd) break;
+
+            if (srcEnd - s < 2) throw corrupted();
+            var offset = (src[s] & 0xff) | (src[s + 1] & 0xff) << 8;
+            s += 2;
+            if (offset == 0 || offset > d - destOff) throw corrupted();
+
+            var matchLength = token & 0x0f;
+            if (matchLength == 15) {
+                int b;
+                do {
+                    if (s >= srcEnd) throw corrupted();
+                    b = src[s++] & 0xff;
+                    matchLength += b;
+                } while (b == 255);
+            }
+            matchLength += MIN_MATCH;
+            if (matchLength > destEnd - d) throw corrupted();
+
+            var ref = d - offset;
+            if (offset >= matchLength) {
+                System.arraycopy(dest, ref, dest, d, matchLength);
+                d += matchLength;
+            } else for (var i = 0; i < matchLength; i++) dest[d++] = dest[ref++];
+        }
+        if (d != destEnd) throw corrupted();
+    }
+
+    /**
+     * Computes the <a href="https://github.com/Cyan4973/xxHash">XXHash32</a> of {@code buffer[offset, offset + length)}.
+     */
+    static int xxhash32(byte[] buffer, int offset, int length, int seed) {
+        var end = offset + length;
+        var i = offset;
+        int hash;
+        if (length >= 16) {
+            var v1 = seed + PRIME1 + PRIME2;
+            var v2 = seed + PRIME2;
+            var v3 = seed;
+            var v4 = seed - PRIME1;
+            for (var limit = end - 16; i <= limit; i += 16) {
+                v1 = Integer.rotateLeft(v1 + readIntLE(buffer, i) * PRIME2, 13) * PRIME1;
+                v2 = Integer.rotateLeft(v2 + readIntLE(buffer, i + 4) * PRIME2, 13) * PRIME1;
+                v3 = Integer.rotateLeft(v3 + readIntLE(buffer, i + 8) * PRIME2, 13) * PRIME1;
+                v4 = Integer.rotateLeft(v4 + readIntLE(buffer, i + 12) * PRIME2, 13) * PRIME1;
+            }
+            hash = Integer.rotateLeft(v1, 1) + Integer.rotateLeft(v2, 7)
+                   + Integer.rotateLeft(v3, 12) + Integer.rotateLeft(v4, 18);
+        } else hash = seed + PRIME5;
+
+        hash += length;
+        for (; i <= end - 4; i += 4) hash = Integer.rotateLeft(hash + readIntLE(buffer, i) * PRIME3, 17) * PRIME4;
+        for (; i < end; i++) hash = Integer.rotateLeft(hash + (buffer[i] & 0xff) * PRIME5, 11) * PRIME1;
+
+        hash ^= hash >>> 15;
+        hash *= PRIME2;
+        hash ^= hash >>> 13;
+        hash *= PRIME3;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    private static int hash(int sequence) {
+        return (sequence * PRIME1) >>> (32 - HASH_LOG);
+    }
+
+    private static int writeSequence(byte[] src, int literalOff, int literals, byte[] dest, int d, int offset, int matchLength) {
+        var tokenOff = d++;
+        d = writeLength(dest, d, literals);
+        System.arraycopy(src, literalOff, dest, d, literals);
+        d += literals;
+        dest[d++] = (byte) offset;
+        dest[d++] = (byte) (offset >>> 8);
+        var extra = matchLength - MIN_MATCH;
+        d = writeLength(dest, d, extra);
+        dest[tokenOff] = (byte) (Math.min(literals, 15) << 4 | Math.min(extra, 15));
+        return d;
+    }
+
+    private static int writeLength(byte[] dest, int d, int length) {
+        if (length < 15) return d;
+        length -= 15;
+        for (; length >= 255; length -= 255) dest[d++] = (byte) 255;
+        dest[d++] = (byte) length;
+        return d;
+    }
+
+    private static IOException corrupted() {
+        return new IOException("Malformed LZ4 block");
+    }
+}
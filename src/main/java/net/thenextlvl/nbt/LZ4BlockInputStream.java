@@ -0,0 +1,158 @@
+package net.thenextlvl.nbt;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Objects;
+
+import static net.thenextlvl.nbt.LZ4BlockOutputStream.CHECKSUM_MASK;
+import static net.thenextlvl.nbt.LZ4BlockOutputStream.COMPRESSION_LEVEL_BASE;
+import static net.thenextlvl.nbt.LZ4BlockOutputStream.COMPRESSION_METHOD_LZ4;
+import static net.thenextlvl.nbt.LZ4BlockOutputStream.COMPRESSION_METHOD_RAW;
+import static net.thenextlvl.nbt.LZ4BlockOutputStream.DEFAULT_SEED;
+import static net.thenextlvl.nbt.LZ4BlockOutputStream.HEADER_LENGTH;
+import static net.thenextlvl.nbt.LZ4BlockOutputStream.MAGIC;
+
+/**
+ * Reads the {@code LZ4Block} framing written by {@link LZ4BlockOutputStream} and LZ4-Java.
+ * <p>
+ * Blocks are decoded one at a time, only ever holding a single compressed and decompressed block in memory.
+ * Reads large enough to hold an entire block are decoded straight into the caller's buffer.
+ */
+final class LZ4BlockInputStream extends FilterInputStream {
+    private final byte[] header = new byte[HEADER_LENGTH];
+    private byte[] compressed = new byte[0];
+    private byte[] buffer = new byte[0];
+    private int position;
+    private int limit;
+    private boolean finished;
+
+    LZ4BlockInputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (position == limit && refill(null, 0, 0) < 0) return -1;
+        return buffer[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        if (length == 0) return 0;
+        if (position == limit) {
+            var direct = refill(bytes, offset, length);
+            if (direct != 0) return direct;
+        }
+        var chunk = Math.min(length, limit - position);
+        System.arraycopy(buffer, position, bytes, offset, chunk);
+        position += chunk;
+        return chunk;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0) return 0;
+        if (position == limit && refill(null, 0, 0) < 0) return 0;
+        var skipped = (int) Math.min(n, limit - position);
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return limit - position;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int limit) {
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    /**
+     * Decodes the next block.
+     * If {@code target} is able to hold the entire block, it is decoded into {@code target} directly,
+     * otherwise the block is decoded into the internal buffer.
+     *
+     * @return the amount of bytes decoded into {@code target}, {@code 0} if the block was decoded into the
+     * internal buffer, or {@code -1} if the end of the stream was reached
+     */
+    private int refill(byte @Nullable [] target, int offset, int length) throws IOException {
+        position = limit = 0;
+        if (finished || !readHeader()) {
+            finished = true;
+            return -1;
+        }
+        if (!Arrays.equals(header, 0, MAGIC.length, MAGIC, 0, MAGIC.length)) throw corrupted();
+
+        var token = header[MAGIC.length] & 0xff;
+        var method = token & 0xf0;
+        var level = COMPRESSION_LEVEL_BASE + (token & 0x0f);
+        var compressedLength = LZ4.readIntLE(header, MAGIC.length + 1);
+        var originalLength = LZ4.readIntLE(header, MAGIC.length + 5);
+        var checksum = LZ4.readIntLE(header, MAGIC.length + 9);
+
+        if (method != COMPRESSION_METHOD_RAW && method != COMPRESSION_METHOD_LZ4) throw corrupted();
+        if (originalLength > 1 << level || originalLength < 0 || compressedLength < 0
+            || (originalLength == 0) != (compressedLength == 0)
+            || (method == COMPRESSION_METHOD_RAW && originalLength != compressedLength)) throw corrupted();
+        if (originalLength == 0) {
+            if (checksum != 0) throw corrupted();
+            finished = true;
+            return -1;
+        }
+
+        var direct = target != null && length >= originalLength;
+        var destination = direct ? target : ensureBuffer(originalLength);
+        var destinationOffset = direct ? offset : 0;
+
+        if (method == COMPRESSION_METHOD_RAW) {
+            readFully(destination, destinationOffset, originalLength);
+        } else {
+            if (compressed.length < compressedLength) compressed = new byte[compressedLength];
+            readFully(compressed, 0, compressedLength);
+            LZ4.decompress(compressed, 0, compressedLength, destination, destinationOffset, originalLength);
+        }
+
+        var actual = LZ4.xxhash32(destination, destinationOffset, originalLength, DEFAULT_SEED) & CHECKSUM_MASK;
+        if (actual != checksum) throw new IOException("LZ4 block checksum mismatch");
+
+        if (direct) return originalLength;
+        limit = originalLength;
+        return 0;
+    }
+
+    private boolean readHeader() throws IOException {
+        var read = in.readNBytes(header, 0, HEADER_LENGTH);
+        if (read == 0) return false;
+        if (read != HEADER_LENGTH) throw new EOFException("Unexpected end of LZ4 stream");
+        return true;
+    }
+
+    private void readFully(byte[] bytes, int offset, int length) throws IOException {
+        if (in.readNBytes(bytes, offset, length) != length) throw new EOFException("Unexpected end of LZ4 stream");
+    }
+
+    private byte[] ensureBuffer(int length) {
+        if (buffer.length < length) buffer = new byte[length];
+        return buffer;
+    }
+
+    private static IOException corrupted() {
+        return new IOException("Malformed LZ4 stream");
+    }
+}
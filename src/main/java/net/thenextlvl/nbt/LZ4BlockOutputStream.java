@@ -0,0 +1,120 @@
+package net.thenextlvl.nbt;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * Writes the {@code LZ4Block} framing of LZ4-Java's {@code LZ4BlockOutputStream}.
+ * <p>
+ * Every block consists of a 21 byte header followed by the (possibly raw) block data:
+ * the magic {@code LZ4Block}, a token combining compression method and level,
+ * the compressed length, the decompressed length and a masked XXHash32 checksum of the decompressed data,
+ * all integers being little-endian. The stream is terminated by an empty block.
+ */
+final class LZ4BlockOutputStream extends FilterOutputStream {
+    static final byte[] MAGIC = {'L', 'Z', '4', 'B', 'l', 'o', 'c', 'k'};
+    static final int HEADER_LENGTH = MAGIC.length + 1 + 4 + 4 + 4;
+
+    static final int COMPRESSION_LEVEL_BASE = 10;
+    static final int COMPRESSION_METHOD_RAW = 0x10;
+    static final int COMPRESSION_METHOD_LZ4 = 0x20;
+
+    static final int DEFAULT_BLOCK_SIZE = 1 << 16;
+    static final int DEFAULT_SEED = 0x9747b28c;
+    static final int CHECKSUM_MASK = 0xfffffff;
+
+    private final byte[] buffer;
+    private final byte[] compressed;
+    private final int[] table = LZ4.newHashTable();
+    private final int compressionLevel;
+    private int position;
+    private boolean finished;
+
+    LZ4BlockOutputStream(OutputStream out) {
+        this(out, DEFAULT_BLOCK_SIZE);
+    }
+
+    LZ4BlockOutputStream(OutputStream out, int blockSize) {
+        super(out);
+        this.buffer = new byte[blockSize];
+        this.compressed = new byte[HEADER_LENGTH + LZ4.maxCompressedLength(blockSize)];
+        this.compressionLevel = Math.max(0, 32 - Integer.numberOfLeadingZeros(blockSize - 1) - COMPRESSION_LEVEL_BASE);
+        System.arraycopy(MAGIC, 0, compressed, 0, MAGIC.length);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureNotFinished();
+        if (position == buffer.length) flushBlock();
+        buffer[position++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        ensureNotFinished();
+        while (length > 0) {
+            if (position == buffer.length) flushBlock();
+            var chunk = Math.min(length, buffer.length - position);
+            System.arraycopy(bytes, offset, buffer, position, chunk);
+            position += chunk;
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (!finished) flushBlock();
+        out.flush();
+    }
+
+    /**
+     * Writes all buffered data and the end mark without closing the underlying stream.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void finish() throws IOException {
+        ensureNotFinished();
+        flushBlock();
+        writeHeader(COMPRESSION_METHOD_RAW, 0, 0, 0);
+        out.write(compressed, 0, HEADER_LENGTH);
+        finished = true;
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (var ignored = out) {
+            if (!finished) finish();
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (position == 0) return;
+        var checksum = LZ4.xxhash32(buffer, 0, position, DEFAULT_SEED) & CHECKSUM_MASK;
+        var length = LZ4.compress(buffer, 0, position, compressed, HEADER_LENGTH, table);
+        var method = COMPRESSION_METHOD_LZ4;
+        if (length >= position) {
+            method = COMPRESSION_METHOD_RAW;
+            length = position;
+            System.arraycopy(buffer, 0, compressed, HEADER_LENGTH, position);
+        }
+        writeHeader(method, length, position, checksum);
+        out.write(compressed, 0, HEADER_LENGTH + length);
+        position = 0;
+    }
+
+    private void writeHeader(int method, int compressedLength, int length, int checksum) {
+        compressed[MAGIC.length] = (byte) (method | compressionLevel);
+        LZ4.writeIntLE(compressed, MAGIC.length + 1, compressedLength);
+        LZ4.writeIntLE(compressed, MAGIC.length + 5, length);
+        LZ4.writeIntLE(compressed, MAGIC.length + 9, checksum);
+    }
+
+    private void ensureNotFinished() throws IOException {
+        if (finished) throw new IOException("LZ4 stream already finished");
+    }
+}
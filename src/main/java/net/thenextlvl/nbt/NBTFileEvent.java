@@ -0,0 +1,82 @@
+package net.thenextlvl.nbt;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.jspecify.annotations.Nullable;
+
+import java.nio.file.Path;
+
+/**
+ * Flight recorder event spanning an NBT file from opening it until the stream is closed.
+ * <p>
+ * Events are disabled by default, files are only metered while a recording enables them.
+ */
+@Enabled(false)
+@StackTrace(false)
+@Category({"NBT", "File I/O"})
+abstract class NBTFileEvent extends Event {
+    @Label("Path")
+    @Nullable String path;
+
+    @Label("Compression")
+    @Nullable String compression;
+
+    @DataAmount
+    @Label("Compressed Bytes")
+    long compressedBytes;
+
+    @DataAmount
+    @Label("Uncompressed Bytes")
+    long uncompressedBytes;
+
+    @Label("Tag Count")
+    long tagCount;
+
+    /**
+     * Returns a listener committing the given event once the stream is closed,
+     * or {@code delegate} if the event is not enabled.
+     */
+    static StreamMetrics.@Nullable Listener listener(NBTFileEvent event, Path path, Compression compression, StreamMetrics.@Nullable Listener delegate) {
+        if (!event.isEnabled()) return delegate;
+        event.begin();
+        return new StreamMetrics.Listener() {
+            @Override
+            public void onRead(StreamMetrics metrics) {
+                commit(metrics);
+                if (delegate != null) delegate.onRead(metrics);
+            }
+
+            @Override
+            public void onWrite(StreamMetrics metrics) {
+                commit(metrics);
+                if (delegate != null) delegate.onWrite(metrics);
+            }
+
+            private void commit(StreamMetrics metrics) {
+                event.end();
+                if (!event.shouldCommit()) return;
+                event.path = path.toString();
+                event.compression = compression.toString();
+                event.compressedBytes = metrics.compressedBytes();
+                event.uncompressedBytes = metrics.uncompressedBytes();
+                event.tagCount = metrics.tagCount();
+                event.commit();
+            }
+        };
+    }
+
+    @Label("NBT File Read")
+    @Name("net.thenextlvl.nbt.FileRead")
+    static final class Read extends NBTFileEvent {
+    }
+
+    @Label("NBT File Write")
+    @Name("net.thenextlvl.nbt.FileWrite")
+    static final class Write extends NBTFileEvent {
+    }
+}
@@ -11,7 +11,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Map;
 
@@ -24,6 +23,39 @@ public sealed interface NBTInputStream extends DataInput, Closeable permits NBTI
     @Contract(pure = true)
     Charset getCharset();
 
+    /**
+     * Returns the limits enforced while reading root tags from this stream.
+     *
+     * @return the read limits
+     * @see #setLimits(ReadLimits)
+     * @since 4.4.0
+     */
+    @Contract(pure = true)
+    ReadLimits getLimits();
+
+    /**
+     * Sets the limits enforced while reading root tags from this stream, defaulting to {@link ReadLimits#defaults()}.
+     * <p>
+     * Exceeding a limit fails the read with a {@link ReadLimitException} before the offending tag is allocated.
+     * Tags read by custom {@link #registerReader(byte, ReadingFunction) readers} only account their nesting depth.
+     *
+     * @param limits the read limits
+     * @since 4.4.0
+     */
+    @Contract(mutates = "this")
+    void setLimits(ReadLimits limits);
+
+    /**
+     * Returns the reader streaming root tags from this stream value by value, without building a tag tree first.
+     * <p>
+     * Every call returns the same reader, which can be interleaved with {@link #readTag()} between root tags.
+     *
+     * @return the tag reader of this stream
+     * @since 4.4.0
+     */
+    @Contract(pure = true)
+    TagReader reader();
+
     /**
      * Read the root {@code CompoundTag} from the stream
      *
@@ -144,6 +176,23 @@ public sealed interface NBTInputStream extends DataInput, Closeable permits NBTI
         return new NBTInputStreamImpl(input, charset, compression);
     }
 
+    /**
+     * Creates a new {@code NBTInputStream} with the specified input stream, charset, and compression,
+     * reporting its {@link StreamMetrics} to the given listener once closed.
+     *
+     * @param input       the input stream
+     * @param charset     the charset
+     * @param compression the compression
+     * @param listener    the metrics listener
+     * @return a new {@code NBTInputStream}
+     * @throws IOException if an exception occurred while creating the stream
+     * @since 4.4.0
+     */
+    @Contract(value = "_, _, _, _ -> new", pure = true)
+    static NBTInputStream create(InputStream input, Charset charset, Compression compression, StreamMetrics.Listener listener) throws IOException {
+        return new NBTInputStreamImpl(input, charset, compression, listener);
+    }
+
     /**
      * Creates a new {@code NBTInputStream} with the specified path, using the default charset and GZIP compression.
      *
@@ -197,6 +246,23 @@ public sealed interface NBTInputStream extends DataInput, Closeable permits NBTI
      */
     @Contract(value = "_, _, _ -> new", pure = true)
     static NBTInputStream create(Path path, Charset charset, Compression compression) throws IOException {
-        return create(Files.newInputStream(path), charset, compression);
+        return NBTInputStreamImpl.open(path, charset, compression, null);
+    }
+
+    /**
+     * Creates a new {@code NBTInputStream} with the specified path, charset, and compression,
+     * reporting its {@link StreamMetrics} to the given listener once closed.
+     *
+     * @param path        the path
+     * @param charset     the charset
+     * @param compression the compression
+     * @param listener    the metrics listener
+     * @return a new {@code NBTInputStream}
+     * @throws IOException if an exception occurred while creating the stream
+     * @since 4.4.0
+     */
+    @Contract(value = "_, _, _, _ -> new", pure = true)
+    static NBTInputStream create(Path path, Charset charset, Compression compression, StreamMetrics.Listener listener) throws IOException {
+        return NBTInputStreamImpl.open(path, charset, compression, listener);
     }
 }
@@ -23,41 +23,182 @@ import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 final class NBTInputStreamImpl extends DataInputStream implements NBTInputStream {
     private final Charset charset;
+    private final StreamMetrics.@Nullable Listener listener;
+    private final @Nullable StreamMetricsImpl metrics;
+    private ReadLimits limits = ReadLimits.defaults();
+    private @Nullable TagReaderImpl reader;
+    private long accounted;
+    private int depth;
+    private boolean closed;
 
     public NBTInputStreamImpl(InputStream inputStream, Charset charset, Compression compression) throws IOException {
         super(new DataInputStream(new BufferedInputStream(compression.decompress(inputStream))));
         this.charset = charset;
+        this.listener = null;
+        this.metrics = null;
+    }
+
+    public NBTInputStreamImpl(InputStream inputStream, Charset charset, Compression compression, StreamMetrics.Listener listener) throws IOException {
+        this(inputStream, charset, compression, listener, new StreamMetricsImpl());
+    }
+
+    private NBTInputStreamImpl(InputStream inputStream, Charset charset, Compression compression, StreamMetrics.Listener listener, StreamMetricsImpl metrics) throws IOException {
+        super(new DataInputStream(new BufferedInputStream(metrics.meterUncompressed(
+                compression.decompress(metrics.meterCompressed(inputStream))
+        ))));
+        this.charset = charset;
+        this.listener = listener;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Opens the given file, emitting a {@link NBTFileEvent.Read} if enabled by a flight recording.
+     */
+    static NBTInputStream open(Path path, Charset charset, Compression compression, StreamMetrics.@Nullable Listener listener) throws IOException {
+        var event = NBTFileEvent.listener(new NBTFileEvent.Read(), path, compression, listener);
+        var input = Files.newInputStream(path);
+        if (event == null) return new NBTInputStreamImpl(input, charset, compression);
+        return new NBTInputStreamImpl(input, charset, compression, event);
     }
 
     @Override
     public CompoundTag readTag() throws IOException {
+        var start = metrics != null ? startTiming() : 0;
+        startAccounting();
         var type = readByte();
         if (type != CompoundTag.ID) throw new IllegalArgumentException("Root tag must be a CompoundTag");
-        skipNBytes(readUnsignedShort());
-        return TagReaders.readCompound(this);
+        var nameLength = readUnsignedShort();
+        onString(nameLength);
+        skipNBytes(nameLength);
+        var tag = readRoot();
+        if (metrics != null) stopTiming(start);
+        return tag;
     }
 
     @Override
     public Map.Entry<String, CompoundTag> readNamedTag() throws IOException, IllegalArgumentException {
+        var start = metrics != null ? startTiming() : 0;
+        startAccounting();
         if (readByte() != CompoundTag.ID) throw new IllegalArgumentException("Root tag must be a CompoundTag");
-        return Map.entry(readName(), TagReaders.readCompound(this));
+        var entry = Map.entry(readName(), readRoot());
+        if (metrics != null) stopTiming(start);
+        return entry;
     }
 
-    @CheckReturnValue
-    @Contract(mutates = "this")
-    public Map.@Nullable Entry<String, Tag> readNamedTagInternal() throws IOException, IllegalArgumentException {
-        var type = readByte();
-        if (type == EscapeTag.ID) return null;
-        return Map.entry(readName(), readTag(type));
+    private CompoundTag readRoot() throws IOException {
+        enter(CompoundTag.ID);
+        try {
+            return TagReaders.readCompound(this);
+        } finally {
+            exit();
+        }
+    }
+
+    /**
+     * Starts accounting a new root tag, including its type id.
+     */
+    void startAccounting() throws ReadLimitException {
+        accounted = 0;
+        depth = 0;
+        account(Byte.BYTES);
     }
 
-    private String readName() throws IOException {
+    void enter(byte type) throws ReadLimitException {
+        if (depth >= limits.maxDepth())
+            throw new ReadLimitException("Tag exceeds the maximum depth of " + limits.maxDepth());
+        depth++;
+        if (metrics != null) metrics.enter(type);
+    }
+
+    void exit() {
+        depth--;
+        if (metrics != null) metrics.exit();
+    }
+
+    /**
+     * Accounts the given amount of encoded bytes against the {@link ReadLimits#maxBytes() byte limit}.
+     */
+    void account(long bytes) throws ReadLimitException {
+        accounted += bytes;
+        if (accounted > limits.maxBytes())
+            throw new ReadLimitException("Tag exceeds the limit of " + limits.maxBytes() + " bytes");
+    }
+
+    /**
+     * Reads and accounts the length of an array with the given element size, before the array is allocated.
+     */
+    int readArrayLength(int elementSize) throws IOException {
+        var length = readInt();
+        if (length < 0) throw new IOException("Negative array length: " + length);
+        if (length > limits.maxArrayLength())
+            throw new ReadLimitException("Array length " + length + " exceeds the limit of " + limits.maxArrayLength());
+        account(Integer.BYTES + (long) length * elementSize);
+        return length;
+    }
+
+    /**
+     * Reads and accounts the element type and length of a list, before any element is read.
+     */
+    int readListLength(byte type) throws IOException {
+        var length = readInt();
+        if (length < 0) throw new IOException("Negative list length: " + length);
+        if (type == EscapeTag.ID && length > 0) throw new IOException("Missing element type of list with length " + length);
+        if (length > limits.maxListLength())
+            throw new ReadLimitException("List length " + length + " exceeds the limit of " + limits.maxListLength());
+        account(Byte.BYTES + Integer.BYTES);
+        return length;
+    }
+
+    /**
+     * Returns the encoded size of the fixed-size tag types, the size of other tags is accounted while reading them.
+     */
+    static int fixedSize(byte type) {
+        return switch (type) {
+            case ByteTag.ID -> Byte.BYTES;
+            case ShortTag.ID -> Short.BYTES;
+            case IntTag.ID, FloatTag.ID -> Integer.BYTES;
+            case LongTag.ID, DoubleTag.ID -> Long.BYTES;
+            default -> 0;
+        };
+    }
+
+    /**
+     * Returns the current time adjusted by the time spent in the compression so far,
+     * so that {@link #stopTiming(long)} only accounts the time spent parsing.
+     */
+    private long startTiming() {
+        return System.nanoTime() - Objects.requireNonNull(metrics).compressionNanos;
+    }
+
+    private void stopTiming(long start) {
+        var metrics = Objects.requireNonNull(this.metrics);
+        metrics.codecNanos += System.nanoTime() - metrics.compressionNanos - start;
+    }
+
+    void onString(int length) throws ReadLimitException {
+        account(Short.BYTES + length);
+        if (metrics != null) metrics.stringBytes += length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        super.close();
+        if (closed) return;
+        closed = true;
+        if (listener != null && metrics != null) listener.onRead(metrics);
+    }
+
+    String readName() throws IOException {
         var nameLength = readUnsignedShort();
+        onString(nameLength);
         var bytes = new byte[nameLength];
         if (nameLength > 0) readFully(bytes);
         return new String(bytes, getCharset());
@@ -67,8 +208,30 @@ final class NBTInputStreamImpl extends DataInputStream implements NBTInputStream
     @Contract(value = "_ -> new", mutates = "this")
     public Tag readTag(byte type) throws IOException {
         var mapping = readers.get(type);
-        if (mapping != null) return mapping.read(this);
-        throw new IllegalArgumentException("Unknown tag type: " + type);
+        if (mapping == null) throw new IllegalArgumentException("Unknown tag type: " + type);
+        account(fixedSize(type));
+        enter(type);
+        try {
+            return mapping.read(this);
+        } finally {
+            exit();
+        }
+    }
+
+    /**
+     * Returns whether the given type is read by the built-in compound or list reader,
+     * allowing {@link TagReaders} to decode it without recursing.
+     */
+    boolean isContainer(byte type) {
+        if (type == CompoundTag.ID) return readers.get(type) == COMPOUND_READER;
+        if (type == ListTag.ID) return readers.get(type) == LIST_READER;
+        return false;
+    }
+
+    @Override
+    public TagReader reader() {
+        if (reader == null) reader = new TagReaderImpl(this);
+        return reader;
     }
 
     @Override
@@ -76,17 +239,30 @@ final class NBTInputStreamImpl extends DataInputStream implements NBTInputStream
         return charset;
     }
 
+    @Override
+    public ReadLimits getLimits() {
+        return limits;
+    }
+
+    @Override
+    public void setLimits(ReadLimits limits) {
+        this.limits = limits;
+    }
+
+    private static final ReadingFunction COMPOUND_READER = input -> TagReaders.readCompound((NBTInputStreamImpl) input);
+    private static final ReadingFunction LIST_READER = input -> TagReaders.readList((NBTInputStreamImpl) input);
+
     private final Map<Byte, ReadingFunction> readers = new HashMap<>(Map.ofEntries(
-            Map.entry(ByteArrayTag.ID, TagReaders::readByteArray),
+            Map.entry(ByteArrayTag.ID, input -> TagReaders.readByteArray((NBTInputStreamImpl) input)),
             Map.entry(ByteTag.ID, TagReaders::readByte),
-            Map.entry(CompoundTag.ID, input -> TagReaders.readCompound((NBTInputStreamImpl) input)),
+            Map.entry(CompoundTag.ID, COMPOUND_READER),
             Map.entry(DoubleTag.ID, TagReaders::readDouble),
             Map.entry(EscapeTag.ID, ignored -> EscapeTag.INSTANCE),
             Map.entry(FloatTag.ID, TagReaders::readFloat),
-            Map.entry(IntArrayTag.ID, TagReaders::readIntArray),
+            Map.entry(IntArrayTag.ID, input -> TagReaders.readIntArray((NBTInputStreamImpl) input)),
             Map.entry(IntTag.ID, TagReaders::readInt),
-            Map.entry(ListTag.ID, input -> TagReaders.readList((NBTInputStreamImpl) input)),
-            Map.entry(LongArrayTag.ID, TagReaders::readLongArray),
+            Map.entry(ListTag.ID, LIST_READER),
+            Map.entry(LongArrayTag.ID, input -> TagReaders.readLongArray((NBTInputStreamImpl) input)),
             Map.entry(LongTag.ID, TagReaders::readLong),
             Map.entry(ShortTag.ID, TagReaders::readShort),
             Map.entry(StringTag.ID, TagReaders::readString)
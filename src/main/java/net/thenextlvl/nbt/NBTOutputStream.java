@@ -1,19 +1,22 @@
 package net.thenextlvl.nbt;
 
+import net.thenextlvl.nbt.tag.StringTag;
 import net.thenextlvl.nbt.tag.Tag;
 import org.jetbrains.annotations.Contract;
 import org.jspecify.annotations.Nullable;
 
 import java.io.Closeable;
 import java.io.DataOutput;
+import java.io.Flushable;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 
-public sealed interface NBTOutputStream extends DataOutput, Closeable permits NBTOutputStreamImpl {
+public sealed interface NBTOutputStream extends DataOutput, Closeable, Flushable permits NBTOutputStreamImpl {
     /**
      * Retrieves the charset used by this writer for encoding data.
      *
@@ -33,6 +36,114 @@ public sealed interface NBTOutputStream extends DataOutput, Closeable permits NB
     @Contract(mutates = "this,io")
     void writeTag(@Nullable String name, Tag tag) throws IOException, IllegalArgumentException;
 
+    /**
+     * Returns the writer streaming root tags into this stream value by value, without building a tag tree first.
+     * <p>
+     * Every call returns the same writer, which can be interleaved with {@link #writeTag(String, Tag)}
+     * between root tags.
+     *
+     * @return the tag writer of this stream
+     * @since 4.4.0
+     */
+    @Contract(pure = true)
+    TagWriter writer();
+
+    /**
+     * Computes the exact amount of uncompressed bytes {@link #writeTag(String, Tag)} writes,
+     * allowing buffers to be sized upfront.
+     *
+     * @param name    the name of the tag
+     * @param tag     the tag
+     * @param charset the charset used to encode strings
+     * @return the size of the named tag in bytes
+     * @see Tag#sizeInBytes(Charset)
+     * @since 4.4.0
+     */
+    @Contract(pure = true)
+    static long sizeInBytes(@Nullable String name, Tag tag, Charset charset) {
+        return Byte.BYTES + StringTag.of(name != null ? name : "").sizeInBytes(charset) + tag.sizeInBytes(charset);
+    }
+
+    /**
+     * Encodes a named tag into a new byte array, using the default charset.
+     *
+     * @param name the name of the tag
+     * @param tag  the tag to encode
+     * @return the uncompressed encoded tag
+     * @throws IOException              if the tag could not be encoded
+     * @throws IllegalArgumentException if an escape tag was provided
+     * @see #toByteArray(String, Tag, Charset)
+     * @since 4.4.0
+     */
+    @Contract(value = "_, _ -> new", pure = true)
+    static byte[] toByteArray(@Nullable String name, Tag tag) throws IOException, IllegalArgumentException {
+        return toByteArray(name, tag, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Encodes a named tag into a new byte array.
+     * <p>
+     * The array is sized upfront using {@link #sizeInBytes(String, Tag, Charset)},
+     * so the tag is written straight into it without intermediate streams or copies.
+     *
+     * @param name    the name of the tag
+     * @param tag     the tag to encode
+     * @param charset the charset
+     * @return the uncompressed encoded tag
+     * @throws IOException              if the tag could not be encoded
+     * @throws IllegalArgumentException if an escape tag was provided
+     * @since 4.4.0
+     */
+    @Contract(value = "_, _, _ -> new", pure = true)
+    static byte[] toByteArray(@Nullable String name, Tag tag, Charset charset) throws IOException, IllegalArgumentException {
+        var output = new NBTOutputStreamImpl((int) Math.min(sizeInBytes(name, tag, charset), Integer.MAX_VALUE - 8), charset);
+        output.writeTag(name, tag);
+        return output.toByteArray();
+    }
+
+    /**
+     * Encodes a named tag into a new heap {@link ByteBuffer} of the exact required size.
+     *
+     * @param name    the name of the tag
+     * @param tag     the tag to encode
+     * @param charset the charset
+     * @return a big-endian buffer containing the uncompressed encoded tag
+     * @throws IOException              if the tag could not be encoded
+     * @throws IllegalArgumentException if an escape tag was provided
+     * @since 4.4.0
+     */
+    @Contract(value = "_, _, _ -> new", pure = true)
+    static ByteBuffer encode(@Nullable String name, Tag tag, Charset charset) throws IOException, IllegalArgumentException {
+        return ByteBuffer.wrap(toByteArray(name, tag, charset));
+    }
+
+    /**
+     * Encodes a named tag into the given buffer, starting at its current position.
+     * <p>
+     * This allows writing into pooled or direct buffers, for example to hand them to NIO channels.
+     * On success the position of {@code buffer} is advanced past the encoded tag,
+     * if the remaining space is insufficient the position is left untouched.
+     * The byte order of {@code buffer} is irrelevant, NBT is always big-endian.
+     *
+     * @param buffer  the buffer to write to
+     * @param name    the name of the tag
+     * @param tag     the tag to encode
+     * @param charset the charset
+     * @return a slice of {@code buffer} containing the encoded tag
+     * @throws IOException              if the tag could not be encoded
+     * @throws IllegalArgumentException if an escape tag was provided
+     * @throws BufferOverflowException  if the remaining space of {@code buffer} is insufficient
+     * @since 4.4.0
+     */
+    @Contract(value = "_, _, _, _ -> new", mutates = "param1")
+    static ByteBuffer encode(ByteBuffer buffer, @Nullable String name, Tag tag, Charset charset) throws IOException, IllegalArgumentException, BufferOverflowException {
+        var output = new NBTOutputStreamImpl(buffer, charset);
+        output.writeTag(name, tag);
+        var written = output.written();
+        buffer.position(buffer.position() + written.remaining());
+        return written;
+    }
+
     /**
      * Creates a new {@code NBTOutputStream} with the specified output stream, using the default charset and GZIP compression.
      *
@@ -89,6 +200,23 @@ public sealed interface NBTOutputStream extends DataOutput, Closeable permits NB
         return new NBTOutputStreamImpl(output, charset, compression);
     }
 
+    /**
+     * Creates a new {@code NBTOutputStream} with the specified output stream, charset, and compression,
+     * reporting its {@link StreamMetrics} to the given listener once closed.
+     *
+     * @param output      the output stream
+     * @param charset     the charset
+     * @param compression the compression
+     * @param listener    the metrics listener
+     * @return a new {@code NBTOutputStream}
+     * @throws IOException if an exception occurred while creating the stream
+     * @since 4.4.0
+     */
+    @Contract(value = "_, _, _, _ -> new", pure = true)
+    static NBTOutputStream create(OutputStream output, Charset charset, Compression compression, StreamMetrics.Listener listener) throws IOException {
+        return new NBTOutputStreamImpl(output, charset, compression, listener);
+    }
+
     /**
      * Creates a new {@code NBTOutputStream} with the specified path, using the default charset and GZIP compression.
      *
@@ -142,6 +270,23 @@ public sealed interface NBTOutputStream extends DataOutput, Closeable permits NB
      */
     @Contract(value = "_, _, _ -> new", pure = true)
     static NBTOutputStream create(Path path, Charset charset, Compression compression) throws IOException {
-        return create(Files.newOutputStream(path), charset, compression);
+        return NBTOutputStreamImpl.open(path, charset, compression, null);
+    }
+
+    /**
+     * Creates a new {@code NBTOutputStream} with the specified path, charset, and compression,
+     * reporting its {@link StreamMetrics} to the given listener once closed.
+     *
+     * @param path        the path
+     * @param charset     the charset
+     * @param compression the compression
+     * @param listener    the metrics listener
+     * @return a new {@code NBTOutputStream}
+     * @throws IOException if an exception occurred while creating the stream
+     * @since 4.4.0
+     */
+    @Contract(value = "_, _, _, _ -> new", pure = true)
+    static NBTOutputStream create(Path path, Charset charset, Compression compression, StreamMetrics.Listener listener) throws IOException {
+        return NBTOutputStreamImpl.open(path, charset, compression, listener);
     }
 }
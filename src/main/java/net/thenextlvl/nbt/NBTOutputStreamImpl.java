@@ -4,20 +4,91 @@ import net.thenextlvl.nbt.tag.EscapeTag;
 import net.thenextlvl.nbt.tag.Tag;
 import org.jspecify.annotations.Nullable;
 
-import java.io.BufferedOutputStream;
-import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UTFDataFormatException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Objects;
 
-final class NBTOutputStreamImpl extends DataOutputStream implements NBTOutputStream {
+/**
+ * Encodes tags into a big-endian {@link ByteBuffer} using absolute puts.
+ * <p>
+ * The buffer is either drained into a (compressed) output stream whenever it runs full,
+ * grown on demand for in-memory encoding, or provided by the caller in which case
+ * running out of space raises a {@link BufferOverflowException}.
+ */
+final class NBTOutputStreamImpl implements NBTOutputStream {
     static final int MAX_STRING_LENGTH = 0xffff;
+    static final int DEFAULT_BUFFER_SIZE = 8192;
 
+    private final @Nullable OutputStream sink;
+    private final StreamMetrics.@Nullable Listener listener;
+    private final @Nullable StreamMetricsImpl metrics;
+    private final boolean growable;
     private final Charset charset;
+    private ByteBuffer buffer;
+    private final int start;
+    private int position;
+    private @Nullable TagWriterImpl writer;
+    private boolean closed;
+    private int nesting;
 
     public NBTOutputStreamImpl(OutputStream outputStream, Charset charset, Compression compression) throws IOException {
-        super(new DataOutputStream(new BufferedOutputStream(compression.compress(outputStream))));
+        this.sink = compression.compress(outputStream);
+        this.listener = null;
+        this.metrics = null;
+        this.growable = false;
         this.charset = charset;
+        this.buffer = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+        this.start = 0;
+    }
+
+    public NBTOutputStreamImpl(OutputStream outputStream, Charset charset, Compression compression, StreamMetrics.Listener listener) throws IOException {
+        var metrics = new StreamMetricsImpl();
+        this.sink = metrics.meterUncompressed(compression.compress(metrics.meterCompressed(outputStream)));
+        this.listener = listener;
+        this.metrics = metrics;
+        this.growable = false;
+        this.charset = charset;
+        this.buffer = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+        this.start = 0;
+    }
+
+    /**
+     * Opens the given file, emitting a {@link NBTFileEvent.Write} if enabled by a flight recording.
+     */
+    static NBTOutputStream open(Path path, Charset charset, Compression compression, StreamMetrics.@Nullable Listener listener) throws IOException {
+        var event = NBTFileEvent.listener(new NBTFileEvent.Write(), path, compression, listener);
+        var output = Files.newOutputStream(path);
+        if (event == null) return new NBTOutputStreamImpl(output, charset, compression);
+        return new NBTOutputStreamImpl(output, charset, compression, event);
+    }
+
+    public NBTOutputStreamImpl(int initialCapacity, Charset charset) {
+        this.sink = null;
+        this.listener = null;
+        this.metrics = null;
+        this.growable = true;
+        this.charset = charset;
+        this.buffer = ByteBuffer.allocate(Math.max(initialCapacity, 16));
+        this.start = 0;
+    }
+
+    public NBTOutputStreamImpl(ByteBuffer buffer, Charset charset) {
+        this.sink = null;
+        this.listener = null;
+        this.metrics = null;
+        this.growable = false;
+        this.charset = charset;
+        this.buffer = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        this.start = buffer.position();
+        this.position = start;
     }
 
     @Override
@@ -25,14 +96,206 @@ final class NBTOutputStreamImpl extends DataOutputStream implements NBTOutputStr
         if (tag instanceof EscapeTag) throw new IllegalArgumentException("EscapeTag not allowed");
         var bytes = name != null ? name.getBytes(getCharset()) : new byte[0];
         if (bytes.length > MAX_STRING_LENGTH) throw new IOException("Tag name is too long: " + bytes.length + " bytes");
+        if (metrics != null && nesting == 0) {
+            var start = System.nanoTime() - metrics.compressionNanos;
+            metrics.stringBytes += bytes.length;
+            metrics.count(tag, charset);
+            nesting++;
+            try {
+                writeTag(bytes, tag);
+            } finally {
+                nesting--;
+                metrics.codecNanos += System.nanoTime() - metrics.compressionNanos - start;
+            }
+        } else writeTag(bytes, tag);
+    }
+
+    private void writeTag(byte[] name, Tag tag) throws IOException {
         writeByte(tag.getTypeId());
-        writeShort(bytes.length);
-        write(bytes);
+        writeShort(name.length);
+        write(name);
         tag.write(this);
     }
 
+    @Override
+    public TagWriter writer() {
+        if (writer == null) writer = new TagWriterImpl(this, metrics);
+        return writer;
+    }
+
     @Override
     public Charset getCharset() {
         return charset;
     }
+
+    /**
+     * Returns the bytes written so far, sharing content with the underlying buffer.
+     *
+     * @return the written slice
+     */
+    ByteBuffer written() {
+        return buffer.slice(start, position - start);
+    }
+
+    /**
+     * Returns the bytes written so far as an array, without copying if the buffer was sized exactly.
+     *
+     * @return the written bytes
+     */
+    byte[] toByteArray() {
+        var array = buffer.array();
+        return position == array.length ? array : Arrays.copyOf(array, position);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensure(Byte.BYTES);
+        buffer.put(position++, (byte) b);
+    }
+
+    @Override
+    public void write(byte[] bytes) throws IOException {
+        write(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        if (sink != null && length > buffer.capacity()) {
+            drain();
+            sink.write(bytes, offset, length);
+            return;
+        }
+        ensure(length);
+        buffer.put(position, bytes, offset, length);
+        position += length;
+    }
+
+    @Override
+    public void writeBoolean(boolean value) throws IOException {
+        write(value ? 1 : 0);
+    }
+
+    @Override
+    public void writeByte(int value) throws IOException {
+        write(value);
+    }
+
+    @Override
+    public void writeShort(int value) throws IOException {
+        ensure(Short.BYTES);
+        buffer.putShort(position, (short) value);
+        position += Short.BYTES;
+    }
+
+    @Override
+    public void writeChar(int value) throws IOException {
+        ensure(Character.BYTES);
+        buffer.putChar(position, (char) value);
+        position += Character.BYTES;
+    }
+
+    @Override
+    public void writeInt(int value) throws IOException {
+        ensure(Integer.BYTES);
+        buffer.putInt(position, value);
+        position += Integer.BYTES;
+    }
+
+    @Override
+    public void writeLong(long value) throws IOException {
+        ensure(Long.BYTES);
+        buffer.putLong(position, value);
+        position += Long.BYTES;
+    }
+
+    @Override
+    public void writeFloat(float value) throws IOException {
+        ensure(Float.BYTES);
+        buffer.putFloat(position, value);
+        position += Float.BYTES;
+    }
+
+    @Override
+    public void writeDouble(double value) throws IOException {
+        ensure(Double.BYTES);
+        buffer.putDouble(position, value);
+        position += Double.BYTES;
+    }
+
+    @Override
+    public void writeBytes(String value) throws IOException {
+        for (var i = 0; i < value.length(); i++) write(value.charAt(i));
+    }
+
+    @Override
+    public void writeChars(String value) throws IOException {
+        for (var i = 0; i < value.length(); i++) writeChar(value.charAt(i));
+    }
+
+    @Override
+    public void writeUTF(String value) throws IOException {
+        var length = 0;
+        for (var i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            length += c != 0 && c < 0x80 ? 1 : c < 0x800 ? 2 : 3;
+        }
+        if (length > MAX_STRING_LENGTH) throw new UTFDataFormatException("Encoded string is too long: " + length + " bytes");
+        writeShort(length);
+        ensure(length);
+        for (var i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            if (c != 0 && c < 0x80) {
+                buffer.put(position++, (byte) c);
+            } else if (c < 0x800) {
+                buffer.put(position++, (byte) (0xc0 | c >> 6));
+                buffer.put(position++, (byte) (0x80 | c & 0x3f));
+            } else {
+                buffer.put(position++, (byte) (0xe0 | c >> 12));
+                buffer.put(position++, (byte) (0x80 | c >> 6 & 0x3f));
+                buffer.put(position++, (byte) (0x80 | c & 0x3f));
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (sink == null) return;
+        drain();
+        sink.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        var sink = this.sink;
+        if (closed || sink == null) return;
+        try (sink) {
+            drain();
+        } finally {
+            closed = true;
+        }
+        if (listener != null && metrics != null) listener.onWrite(metrics);
+    }
+
+    private void ensure(int length) throws IOException {
+        if (buffer.limit() - position >= length) return;
+        if (sink != null) {
+            drain();
+            if (buffer.limit() >= length) return;
+            buffer = ByteBuffer.allocate(length);
+        } else if (growable) {
+            var capacity = Math.max(buffer.capacity() * 2L, (long) position + length);
+            if (capacity > Integer.MAX_VALUE - 8) throw new OutOfMemoryError("Required buffer too large");
+            var grown = ByteBuffer.allocate((int) capacity);
+            grown.put(0, buffer, 0, position);
+            buffer = grown;
+        } else throw new BufferOverflowException();
+    }
+
+    private void drain() throws IOException {
+        if (closed) throw new IOException("Stream closed");
+        if (sink == null || position == 0) return;
+        sink.write(buffer.array(), 0, position);
+        position = 0;
+    }
 }
@@ -0,0 +1,219 @@
+package net.thenextlvl.nbt;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes a single-member GZIP stream whose blocks are deflated concurrently, similar to
+ * <a href="https://zlib.net/pigz/">pigz</a>.
+ * <p>
+ * The data is split into blocks which are raw-deflated on the given executor.
+ * Every block is primed with the last 32 KiB of its predecessor, so the compression ratio stays close to
+ * sequential deflate, and ends on a byte boundary using {@link Deflater#SYNC_FLUSH},
+ * allowing the blocks to be concatenated into one deflate stream.
+ * The CRC32 of each block is computed alongside and combined in order for the trailer.
+ */
+final class ParallelGZIPOutputStream extends FilterOutputStream {
+    static final int DEFAULT_BLOCK_SIZE = 1 << 17;
+
+    private static final int DICTIONARY_SIZE = 1 << 15;
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final Queue<CompletableFuture<Block>> pending = new ArrayDeque<>();
+    private final Executor executor;
+    private final int blockSize;
+    private final int maxPending;
+
+    private byte[] buffer;
+    private byte @Nullable [] previous;
+    private int position;
+    private int crc;
+    private long length;
+    private boolean finished;
+
+    ParallelGZIPOutputStream(OutputStream out, Executor executor, int blockSize) throws IOException {
+        super(out);
+        this.executor = executor;
+        this.blockSize = blockSize;
+        this.maxPending = Runtime.getRuntime().availableProcessors() * 2;
+        this.buffer = new byte[blockSize];
+        out.write(HEADER);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureNotFinished();
+        if (position == buffer.length) submit(false);
+        buffer[position++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        ensureNotFinished();
+        while (length > 0) {
+            if (position == buffer.length) submit(false);
+            var chunk = Math.min(length, buffer.length - position);
+            System.arraycopy(bytes, offset, buffer, position, chunk);
+            position += chunk;
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (!finished) {
+            if (position > 0) submit(false);
+            drain(0);
+        }
+        out.flush();
+    }
+
+    /**
+     * Deflates all buffered data and writes the GZIP trailer without closing the underlying stream.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void finish() throws IOException {
+        ensureNotFinished();
+        submit(true);
+        drain(0);
+        finished = true;
+        var trailer = new byte[8];
+        LZ4.writeIntLE(trailer, 0, crc);
+        LZ4.writeIntLE(trailer, 4, (int) length);
+        out.write(trailer);
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (var ignored = out) {
+            if (!finished) finish();
+        }
+    }
+
+    private void submit(boolean last) throws IOException {
+        var block = buffer;
+        var blockLength = position;
+        var dictionary = previous;
+        pending.add(CompletableFuture.supplyAsync(() -> deflate(block, blockLength, dictionary, last), executor));
+        previous = blockLength >= DICTIONARY_SIZE || dictionary == null ? Arrays.copyOfRange(
+                block, Math.max(0, blockLength - DICTIONARY_SIZE), blockLength
+        ) : concat(dictionary, block, blockLength);
+        buffer = new byte[blockSize];
+        position = 0;
+        drain(maxPending);
+    }
+
+    private void drain(int limit) throws IOException {
+        while (pending.size() > limit) {
+            Block block;
+            try {
+                block = Objects.requireNonNull(pending.poll()).join();
+            } catch (CompletionException e) {
+                pending.forEach(future -> future.cancel(false));
+                pending.clear();
+                throw new IOException("Failed to deflate block", e.getCause());
+            }
+            out.write(block.data(), 0, block.size());
+            crc = combine(crc, block.crc(), block.length());
+            length += block.length();
+        }
+    }
+
+    private static byte[] concat(byte[] dictionary, byte[] block, int blockLength) {
+        var keep = Math.min(dictionary.length, DICTIONARY_SIZE - blockLength);
+        var result = new byte[keep + blockLength];
+        System.arraycopy(dictionary, dictionary.length - keep, result, 0, keep);
+        System.arraycopy(block, 0, result, keep, blockLength);
+        return result;
+    }
+
+    private static Block deflate(byte[] block, int length, byte @Nullable [] dictionary, boolean last) {
+        var checksum = new CRC32();
+        checksum.update(block, 0, length);
+
+        var deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            if (dictionary != null) deflater.setDictionary(dictionary);
+            deflater.setInput(block, 0, length);
+            if (last) deflater.finish();
+
+            var output = new byte[length + (length >>> 12) + (length >>> 14) + 64];
+            var size = 0;
+            while (true) {
+                size += deflater.deflate(output, size, output.length - size, last ? Deflater.NO_FLUSH : Deflater.SYNC_FLUSH);
+                if (last ? deflater.finished() : size < output.length) break;
+                if (size == output.length) output = Arrays.copyOf(output, output.length * 2);
+            }
+            return new Block(output, size, (int) checksum.getValue(), length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Combines the CRC32 of two consecutive sequences, as done by zlib's {@code crc32_combine}.
+     *
+     * @param crc1    the CRC32 of the first sequence
+     * @param crc2    the CRC32 of the second sequence
+     * @param length2 the length of the second sequence
+     * @return the CRC32 of both sequences
+     */
+    static int combine(int crc1, int crc2, long length2) {
+        if (length2 <= 0) return crc1;
+        var even = new int[32];
+        var odd = new int[32];
+
+        odd[0] = 0xedb88320;
+        var row = 1;
+        for (var n = 1; n < 32; n++) {
+            odd[n] = row;
+            row <<= 1;
+        }
+        square(even, odd);
+        square(odd, even);
+
+        do {
+            square(even, odd);
+            if ((length2 & 1) != 0) crc1 = times(even, crc1);
+            length2 >>>= 1;
+            if (length2 == 0) break;
+            square(odd, even);
+            if ((length2 & 1) != 0) crc1 = times(odd, crc1);
+            length2 >>>= 1;
+        } while (length2 != 0);
+        return crc1 ^ crc2;
+    }
+
+    private static int times(int[] matrix, int vector) {
+        var sum = 0;
+        for (var i = 0; vector != 0; i++, vector >>>= 1) if ((vector & 1) != 0) sum ^= matrix[i];
+        return sum;
+    }
+
+    private static void square(int[] square, int[] matrix) {
+        for (var n = 0; n < 32; n++) square[n] = times(matrix, matrix[n]);
+    }
+
+    private void ensureNotFinished() throws IOException {
+        if (finished) throw new IOException("GZIP stream already finished");
+    }
+
+    private record Block(byte[] data, int size, int crc, int length) {
+    }
+}
@@ -0,0 +1,14 @@
+package net.thenextlvl.nbt;
+
+import java.io.IOException;
+
+/**
+ * Thrown when decoding a tag would exceed the {@link ReadLimits} of an {@link NBTInputStream}.
+ *
+ * @since 4.4.0
+ */
+public class ReadLimitException extends IOException {
+    public ReadLimitException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,146 @@
+package net.thenextlvl.nbt;
+
+import org.jetbrains.annotations.Contract;
+
+/**
+ * Limits enforced while decoding a single root tag, checked before anything is allocated.
+ * <p>
+ * Every read accounts the encoded bytes of the tags it decodes, exceeding any limit fails the read with a
+ * {@link ReadLimitException}. This protects readers of untrusted input from payloads claiming huge arrays,
+ * lists, or nesting levels.
+ *
+ * @see NBTInputStream#setLimits(ReadLimits)
+ * @since 4.4.0
+ */
+public sealed interface ReadLimits permits ReadLimitsImpl {
+    /**
+     * The default maximum nesting depth, matching the limit enforced by the game.
+     */
+    int DEFAULT_MAX_DEPTH = 512;
+
+    /**
+     * Returns the maximum amount of encoded bytes a single root tag may account.
+     *
+     * @return the maximum amount of bytes
+     */
+    @Contract(pure = true)
+    long maxBytes();
+
+    /**
+     * Returns the maximum nesting depth of tags, the root tag being at depth {@code 1}.
+     *
+     * @return the maximum depth
+     */
+    @Contract(pure = true)
+    int maxDepth();
+
+    /**
+     * Returns the maximum length of byte, int, and long arrays.
+     *
+     * @return the maximum array length
+     */
+    @Contract(pure = true)
+    int maxArrayLength();
+
+    /**
+     * Returns the maximum amount of elements of list tags.
+     *
+     * @return the maximum list length
+     */
+    @Contract(pure = true)
+    int maxListLength();
+
+    /**
+     * Creates a new builder initialized with the values of these limits.
+     *
+     * @return a new builder
+     */
+    @Contract(value = " -> new", pure = true)
+    Builder toBuilder();
+
+    /**
+     * Returns the limits used by streams unless configured otherwise,
+     * bounding only the depth by {@link #DEFAULT_MAX_DEPTH}.
+     *
+     * @return the default limits
+     */
+    @Contract(pure = true)
+    static ReadLimits defaults() {
+        return ReadLimitsImpl.DEFAULTS;
+    }
+
+    /**
+     * Returns limits that don't restrict reading at all.
+     *
+     * @return the unlimited limits
+     */
+    @Contract(pure = true)
+    static ReadLimits unlimited() {
+        return ReadLimitsImpl.UNLIMITED;
+    }
+
+    /**
+     * Creates a new builder initialized with the {@link #defaults() default limits}.
+     *
+     * @return a new builder
+     */
+    @Contract(value = " -> new", pure = true)
+    static Builder builder() {
+        return defaults().toBuilder();
+    }
+
+    /**
+     * Builder for constructing {@link ReadLimits}.
+     *
+     * @since 4.4.0
+     */
+    sealed interface Builder permits ReadLimitsImpl.Builder {
+        /**
+         * Sets the maximum amount of encoded bytes a single root tag may account.
+         *
+         * @param maxBytes the maximum amount of bytes
+         * @return the current builder instance for chaining
+         * @throws IllegalArgumentException if {@code maxBytes} is negative
+         */
+        @Contract(value = "_ -> this", mutates = "this")
+        Builder maxBytes(long maxBytes) throws IllegalArgumentException;
+
+        /**
+         * Sets the maximum nesting depth of tags.
+         *
+         * @param maxDepth the maximum depth
+         * @return the current builder instance for chaining
+         * @throws IllegalArgumentException if {@code maxDepth} is less than {@code 1}
+         */
+        @Contract(value = "_ -> this", mutates = "this")
+        Builder maxDepth(int maxDepth) throws IllegalArgumentException;
+
+        /**
+         * Sets the maximum length of byte, int, and long arrays.
+         *
+         * @param maxArrayLength the maximum array length
+         * @return the current builder instance for chaining
+         * @throws IllegalArgumentException if {@code maxArrayLength} is negative
+         */
+        @Contract(value = "_ -> this", mutates = "this")
+        Builder maxArrayLength(int maxArrayLength) throws IllegalArgumentException;
+
+        /**
+         * Sets the maximum amount of elements of list tags.
+         *
+         * @param maxListLength the maximum list length
+         * @return the current builder instance for chaining
+         * @throws IllegalArgumentException if {@code maxListLength} is negative
+         */
+        @Contract(value = "_ -> this", mutates = "this")
+        Builder maxListLength(int maxListLength) throws IllegalArgumentException;
+
+        /**
+         * Builds the limits.
+         *
+         * @return the configured limits
+         */
+        @Contract(value = " -> new", pure = true)
+        ReadLimits build();
+    }
+}
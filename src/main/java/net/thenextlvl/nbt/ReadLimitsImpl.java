@@ -0,0 +1,58 @@
+package net.thenextlvl.nbt;
+
+record ReadLimitsImpl(long maxBytes, int maxDepth, int maxArrayLength, int maxListLength) implements ReadLimits {
+    static final ReadLimits UNLIMITED = new ReadLimitsImpl(Long.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    static final ReadLimits DEFAULTS = new ReadLimitsImpl(Long.MAX_VALUE, DEFAULT_MAX_DEPTH, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    @Override
+    public ReadLimits.Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    static final class Builder implements ReadLimits.Builder {
+        private long maxBytes;
+        private int maxDepth;
+        private int maxArrayLength;
+        private int maxListLength;
+
+        private Builder(ReadLimits limits) {
+            this.maxBytes = limits.maxBytes();
+            this.maxDepth = limits.maxDepth();
+            this.maxArrayLength = limits.maxArrayLength();
+            this.maxListLength = limits.maxListLength();
+        }
+
+        @Override
+        public ReadLimits.Builder maxBytes(long maxBytes) throws IllegalArgumentException {
+            if (maxBytes < 0) throw new IllegalArgumentException("Max bytes cannot be negative: " + maxBytes);
+            this.maxBytes = maxBytes;
+            return this;
+        }
+
+        @Override
+        public ReadLimits.Builder maxDepth(int maxDepth) throws IllegalArgumentException {
+            if (maxDepth < 1) throw new IllegalArgumentException("Max depth must be at least 1: " + maxDepth);
+            this.maxDepth = maxDepth;
+            return this;
+        }
+
+        @Override
+        public ReadLimits.Builder maxArrayLength(int maxArrayLength) throws IllegalArgumentException {
+            if (maxArrayLength < 0) throw new IllegalArgumentException("Max array length cannot be negative: " + maxArrayLength);
+            this.maxArrayLength = maxArrayLength;
+            return this;
+        }
+
+        @Override
+        public ReadLimits.Builder maxListLength(int maxListLength) throws IllegalArgumentException {
+            if (maxListLength < 0) throw new IllegalArgumentException("Max list length cannot be negative: " + maxListLength);
+            this.maxListLength = maxListLength;
+            return this;
+        }
+
+        @Override
+        public ReadLimits build() {
+            return new ReadLimitsImpl(maxBytes, maxDepth, maxArrayLength, maxListLength);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package net.thenextlvl.nbt;
+
+import net.thenextlvl.nbt.serialization.ParserException;
+import net.thenextlvl.nbt.tag.TagPath;
+
+/**
+ * Thrown when a tag doesn't match a {@link TagSchema}.
+ *
+ * @since 4.4.0
+ */
+public class SchemaViolationException extends ParserException {
+    private final String reason;
+    private String path;
+
+    public SchemaViolationException(String path, String message) {
+        super(message);
+        this.reason = message;
+        this.path = path;
+    }
+
+    /**
+     * Prepends the given key to the path while the violation unwinds through enclosing compound schemas.
+     */
+    SchemaViolationException prependKey(String key) {
+        return prepend(quote(key));
+    }
+
+    /**
+     * Prepends the given index to the path while the violation unwinds through enclosing list schemas.
+     */
+    SchemaViolationException prependIndex(int index) {
+        return prepend("[" + index + "]");
+    }
+
+    private SchemaViolationException prepend(String segment) {
+        path = path.isEmpty() || path.startsWith("[") ? segment + path : segment + "." + path;
+        return this;
+    }
+
+    /**
+     * Quotes keys that can't be written as-is in a {@link TagPath}.
+     */
+    private static String quote(String key) {
+        if (!key.isEmpty() && key.chars().noneMatch(c -> c == '.' || c == '[' || c == ']' || c == '"')) return key;
+        var builder = new StringBuilder("\"");
+        key.chars().forEach(c -> {
+            if (c == '"' || c == '\\') builder.append('\\');
+            builder.append((char) c);
+        });
+        return builder.append('"').toString();
+    }
+
+    @Override
+    public String getMessage() {
+        return path.isEmpty() ? reason : path + ": " + reason;
+    }
+
+    /**
+     * Returns the path of the offending value in the syntax of {@link TagPath#compile(String)},
+     * being empty for the validated tag itself.
+     *
+     * @return the path of the offending value
+     */
+    public String getPath() {
+        return path;
+    }
+}
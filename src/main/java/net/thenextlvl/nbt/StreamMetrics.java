@@ -0,0 +1,105 @@
+package net.thenextlvl.nbt;
+
+import org.jetbrains.annotations.Contract;
+
+/**
+ * Metrics collected while reading or writing a single NBT stream.
+ * <p>
+ * Metrics are only collected for streams created with a {@link Listener},
+ * streams without one don't pay for any bookkeeping.
+ *
+ * @see NBTInputStream#create(java.io.InputStream, java.nio.charset.Charset, Compression, Listener)
+ * @see NBTOutputStream#create(java.io.OutputStream, java.nio.charset.Charset, Compression, Listener)
+ * @since 4.4.0
+ */
+public sealed interface StreamMetrics permits StreamMetricsImpl {
+    /**
+     * Returns the amount of bytes read from or written to the underlying stream, after compression.
+     *
+     * @return the amount of compressed bytes
+     */
+    @Contract(pure = true)
+    long compressedBytes();
+
+    /**
+     * Returns the amount of raw NBT bytes decoded or encoded, before compression.
+     *
+     * @return the amount of uncompressed bytes
+     */
+    @Contract(pure = true)
+    long uncompressedBytes();
+
+    /**
+     * Returns the amount of tags of the given type that were read or written.
+     *
+     * @param typeId the type id of the tag
+     * @return the amount of tags of the given type
+     */
+    @Contract(pure = true)
+    long tagCount(byte typeId);
+
+    /**
+     * Returns the amount of tags that were read or written, including the root tags.
+     *
+     * @return the total amount of tags
+     */
+    @Contract(pure = true)
+    long tagCount();
+
+    /**
+     * Returns the deepest nesting level of any tag, root tags being at depth {@code 1}.
+     *
+     * @return the maximum depth
+     */
+    @Contract(pure = true)
+    int maxDepth();
+
+    /**
+     * Returns the amount of encoded bytes of all strings, including tag names but excluding their length prefixes.
+     *
+     * @return the amount of string bytes
+     */
+    @Contract(pure = true)
+    long stringBytes();
+
+    /**
+     * Returns the nanoseconds spent in the compression, that is inflating while reading and deflating while writing.
+     * <p>
+     * This includes time spent blocking on the underlying stream.
+     *
+     * @return the nanoseconds spent in the compression
+     */
+    @Contract(pure = true)
+    long compressionNanos();
+
+    /**
+     * Returns the nanoseconds spent parsing or encoding tags, excluding {@link #compressionNanos()}.
+     *
+     * @return the nanoseconds spent in the codec
+     */
+    @Contract(pure = true)
+    long codecNanos();
+
+    /**
+     * Receives the metrics of streams once they are closed.
+     *
+     * @since 4.4.0
+     */
+    interface Listener {
+        /**
+         * Called when an {@link NBTInputStream} is closed.
+         *
+         * @param metrics the metrics of the stream
+         */
+        default void onRead(StreamMetrics metrics) {
+        }
+
+        /**
+         * Called when an {@link NBTOutputStream} is closed.
+         *
+         * @param metrics the metrics of the stream
+         */
+        default void onWrite(StreamMetrics metrics) {
+        }
+    }
+}
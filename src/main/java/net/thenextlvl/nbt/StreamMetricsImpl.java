@@ -0,0 +1,232 @@
+package net.thenextlvl.nbt;
+
+import net.thenextlvl.nbt.tag.CompoundTag;
+import net.thenextlvl.nbt.tag.ListTag;
+import net.thenextlvl.nbt.tag.StringTag;
+import net.thenextlvl.nbt.tag.Tag;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+final class StreamMetricsImpl implements StreamMetrics {
+    private final long[] tags = new long[256];
+    long compressedBytes;
+    long uncompressedBytes;
+    long stringBytes;
+    long compressionNanos;
+    long codecNanos;
+    private int depth;
+    private int maxDepth;
+
+    @Override
+    public long compressedBytes() {
+        return compressedBytes;
+    }
+
+    @Override
+    public long uncompressedBytes() {
+        return uncompressedBytes;
+    }
+
+    @Override
+    public long tagCount(byte typeId) {
+        return tags[typeId & 0xff];
+    }
+
+    @Override
+    public long tagCount() {
+        return Arrays.stream(tags).sum();
+    }
+
+    @Override
+    public int maxDepth() {
+        return maxDepth;
+    }
+
+    @Override
+    public long stringBytes() {
+        return stringBytes;
+    }
+
+    @Override
+    public long compressionNanos() {
+        return compressionNanos;
+    }
+
+    @Override
+    public long codecNanos() {
+        return codecNanos;
+    }
+
+    void enter(byte typeId) {
+        tags[typeId & 0xff]++;
+        if (++depth > maxDepth) maxDepth = depth;
+    }
+
+    void exit() {
+        depth--;
+    }
+
+    /**
+     * Counts a tag tree that is about to be written, as the tags write themselves.
+     */
+    void count(Tag tag, Charset charset) {
+        enter(tag.getTypeId());
+        switch (tag) {
+            case CompoundTag compound -> compound.forEach((name, value) -> {
+                stringBytes += StringTag.of(name).sizeInBytes(charset) - Short.BYTES;
+                count(value, charset);
+            });
+            case ListTag<?> list -> list.forEach(value -> count(value, charset));
+            default -> {
+                if (tag.isString()) stringBytes += tag.sizeInBytes(charset) - Short.BYTES;
+            }
+        }
+        exit();
+    }
+
+    InputStream meterCompressed(InputStream input) {
+        return new FilterInputStream(input) {
+            @Override
+            public int read() throws IOException {
+                var read = super.read();
+                if (read != -1) compressedBytes++;
+                return read;
+            }
+
+            @Override
+            public int read(byte[] bytes, int offset, int length) throws IOException {
+                var read = super.read(bytes, offset, length);
+                if (read > 0) compressedBytes += read;
+                return read;
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                var skipped = super.skip(n);
+                compressedBytes += skipped;
+                return skipped;
+            }
+        };
+    }
+
+    InputStream meterUncompressed(InputStream input) {
+        return new FilterInputStream(input) {
+            @Override
+            public int read() throws IOException {
+                var start = System.nanoTime();
+                try {
+                    var read = super.read();
+                    if (read != -1) uncompressedBytes++;
+                    return read;
+                } finally {
+                    compressionNanos += System.nanoTime() - start;
+                }
+            }
+
+            @Override
+            public int read(byte[] bytes, int offset, int length) throws IOException {
+                var start = System.nanoTime();
+                try {
+                    var read = super.read(bytes, offset, length);
+                    if (read > 0) uncompressedBytes += read;
+                    return read;
+                } finally {
+                    compressionNanos += System.nanoTime() - start;
+                }
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                var start = System.nanoTime();
+                try {
+                    var skipped = super.skip(n);
+                    uncompressedBytes += skipped;
+                    return skipped;
+                } finally {
+                    compressionNanos += System.nanoTime() - start;
+                }
+            }
+        };
+    }
+
+    OutputStream meterCompressed(OutputStream output) {
+        return new FilterOutputStream(output) {
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+                compressedBytes++;
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                out.write(bytes, offset, length);
+                compressedBytes += length;
+            }
+        };
+    }
+
+    OutputStream meterUncompressed(OutputStream output) {
+        return new FilterOutputStream(output) {
+            @Override
+            public void write(int b) throws IOException {
+                var start = System.nanoTime();
+                try {
+                    out.write(b);
+                    uncompressedBytes++;
+                } finally {
+                    compressionNanos += System.nanoTime() - start;
+                }
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                var start = System.nanoTime();
+                try {
+                    out.write(bytes, offset, length);
+                    uncompressedBytes += length;
+                } finally {
+                    compressionNanos += System.nanoTime() - start;
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                var start = System.nanoTime();
+                try {
+                    out.flush();
+                } finally {
+                    compressionNanos += System.nanoTime() - start;
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                var start = System.nanoTime();
+                try {
+                    out.close();
+                } finally {
+                    compressionNanos += System.nanoTime() - start;
+                }
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "StreamMetrics{" +
+               "compressedBytes=" + compressedBytes +
+               ", uncompressedBytes=" + uncompressedBytes +
+               ", tagCount=" + tagCount() +
+               ", maxDepth=" + maxDepth +
+               ", stringBytes=" + stringBytes +
+               ", compressionNanos=" + compressionNanos +
+               ", codecNanos=" + codecNanos +
+               '}';
+    }
+}
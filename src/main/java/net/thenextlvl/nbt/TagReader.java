@@ -0,0 +1,227 @@
+package net.thenextlvl.nbt;
+
+import net.thenextlvl.nbt.tag.Tag;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.Contract;
+
+import java.io.IOException;
+
+/**
+ * Reads tags value by value from an {@link NBTInputStream}, without building a tag tree first.
+ * <p>
+ * Values inside compounds, including the root compound, may be preceded by a call to {@link #nextName()},
+ * otherwise their name is skipped. Numbers are converted between the numeric tag types,
+ * like {@link Tag#getAsInt()} does. {@link ReadLimits} are enforced just like when reading tag trees.
+ * <pre>{@code
+ * var reader = input.reader();
+ * reader.beginCompound();
+ * while (reader.hasNext()) switch (reader.nextName()) {
+ *     case "name" -> name = reader.nextString();
+ *     case "level" -> level = reader.nextInt();
+ *     default -> reader.skipValue();
+ * }
+ * reader.endCompound();
+ * }</pre>
+ *
+ * @see NBTInputStream#reader()
+ * @see TagWriter
+ * @since 4.4.0
+ */
+public sealed interface TagReader permits TagReaderImpl {
+    /**
+     * Returns the type id of the next value without consuming it,
+     * or the id of the {@code EscapeTag} if the current compound or list has no further values.
+     *
+     * @return the type id of the next value
+     * @throws IOException if an I/O error occurs
+     */
+    @Contract(mutates = "this,io")
+    byte peek() throws IOException;
+
+    /**
+     * Returns whether the current compound or list has further values.
+     *
+     * @return {@code true} if there is another value
+     * @throws IOException if an I/O error occurs
+     */
+    @Contract(mutates = "this,io")
+    boolean hasNext() throws IOException;
+
+    /**
+     * Reads the name of the next value inside a compound.
+     *
+     * @return the name of the next value
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the reader is not inside a compound or there are no further values
+     */
+    @CheckReturnValue
+    @Contract(mutates = "this,io")
+    String nextName() throws IOException, IllegalStateException;
+
+    /**
+     * Begins reading a compound, which must be ended with {@link #endCompound()}.
+     *
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the next value is not a compound
+     */
+    @Contract(mutates = "this,io")
+    void beginCompound() throws IOException, IllegalStateException;
+
+    /**
+     * Ends the current compound, skipping all of its values that were not read.
+     *
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the reader is not inside a compound
+     */
+    @Contract(mutates = "this,io")
+    void endCompound() throws IOException, IllegalStateException;
+
+    /**
+     * Begins reading a list, which must be ended with {@link #endList()}.
+     *
+     * @return the amount of elements in the list
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the next value is not a list
+     */
+    @Contract(mutates = "this,io")
+    int beginList() throws IOException, IllegalStateException;
+
+    /**
+     * Ends the current list, skipping all of its elements that were not read.
+     *
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the reader is not inside a list
+     */
+    @Contract(mutates = "this,io")
+    void endList() throws IOException, IllegalStateException;
+
+    /**
+     * Reads a number as a boolean, being {@code true} if its byte value is one, like {@link Tag#getAsBoolean()}.
+     *
+     * @return the boolean value
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the next value is not a number
+     */
+    @Contract(mutates = "this,io")
+    boolean nextBoolean() throws IOException, IllegalStateException;
+
+    /**
+     * Reads a number as a byte.
+     *
+     * @return the byte value
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the next value is not a number
+     */
+    @Contract(mutates = "this,io")
+    byte nextByte() throws IOException, IllegalStateException;
+
+    /**
+     * Reads a number as a short.
+     *
+     * @return the short value
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the next value is not a number
+     */
+    @Contract(mutates = "this,io")
+    short nextShort() throws IOException, IllegalStateException;
+
+    /**
+     * Reads a number as an int.
+     *
+     * @return the int value
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the next value is not a number
+     */
+    @Contract(mutates = "this,io")
+    int nextInt() throws IOException, IllegalStateException;
+
+    /**
+     * Reads a number as a long.
+     *
+     * @return the long value
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the next value is not a number
+     */
+    @Contract(mutates = "this,io")
+    long nextLong() throws IOException, IllegalStateException;
+
+    /**
+     * Reads a number as a float.
+     *
+     * @return the float value
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the next value is not a number
+     */
+    @Contract(mutates = "this,io")
+    float nextFloat() throws IOException, IllegalStateException;
+
+    /**
+     * Reads a number as a double.
+     *
+     * @return the double value
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the next value is not a number
+     */
+    @Contract(mutates = "this,io")
+    double nextDouble() throws IOException, IllegalStateException;
+
+    /**
+     * Reads a string.
+     *
+     * @return the string value
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the next value is not a string
+     */
+    @Contract(mutates = "this,io")
+    String nextString() throws IOException, IllegalStateException;
+
+    /**
+     * Reads a byte array.
+     *
+     * @return the byte array
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the next value is not a byte array
+     */
+    @Contract(mutates = "this,io")
+    byte[] nextByteArray() throws IOException, IllegalStateException;
+
+    /**
+     * Reads an int array.
+     *
+     * @return the int array
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the next value is not an int array
+     */
+    @Contract(mutates = "this,io")
+    int[] nextIntArray() throws IOException, IllegalStateException;
+
+    /**
+     * Reads a long array.
+     *
+     * @return the long array
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the next value is not a long array
+     */
+    @Contract(mutates = "this,io")
+    long[] nextLongArray() throws IOException, IllegalStateException;
+
+    /**
+     * Reads the next value as a tag, including all of its children.
+     *
+     * @return the tag
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if there are no further values
+     */
+    @CheckReturnValue
+    @Contract(mutates = "this,io")
+    Tag nextTag() throws IOException, IllegalStateException;
+
+    /**
+     * Skips the next value, including all of its children.
+     *
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if there are no further values
+     */
+    @Contract(mutates = "this,io")
+    void skipValue() throws IOException, IllegalStateException;
+}
@@ -0,0 +1,272 @@
+package net.thenextlvl.nbt;
+
+import net.thenextlvl.nbt.tag.ByteArrayTag;
+import net.thenextlvl.nbt.tag.ByteTag;
+import net.thenextlvl.nbt.tag.CompoundTag;
+import net.thenextlvl.nbt.tag.DoubleTag;
+import net.thenextlvl.nbt.tag.EscapeTag;
+import net.thenextlvl.nbt.tag.FloatTag;
+import net.thenextlvl.nbt.tag.IntArrayTag;
+import net.thenextlvl.nbt.tag.IntTag;
+import net.thenextlvl.nbt.tag.ListTag;
+import net.thenextlvl.nbt.tag.LongArrayTag;
+import net.thenextlvl.nbt.tag.LongTag;
+import net.thenextlvl.nbt.tag.ShortTag;
+import net.thenextlvl.nbt.tag.StringTag;
+import net.thenextlvl.nbt.tag.Tag;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+
+final class TagReaderImpl implements TagReader {
+    private static final int UNKNOWN = -1;
+
+    private final ArrayDeque<Frame> frames = new ArrayDeque<>();
+    private final NBTInputStreamImpl input;
+    /**
+     * The type of the next entry of the current compound, read ahead to detect its end.
+     */
+    private int next = UNKNOWN;
+    private boolean named;
+
+    TagReaderImpl(NBTInputStreamImpl input) {
+        this.input = input;
+        this.frames.push(new Frame(Frame.ROOT, EscapeTag.ID, 0));
+    }
+
+    @Override
+    public byte peek() throws IOException {
+        var frame = frames.element();
+        if (frame.kind == Frame.LIST) return frame.remaining > 0 ? frame.elementType : EscapeTag.ID;
+        if (next == UNKNOWN) {
+            if (frame.kind == Frame.ROOT) {
+                input.startAccounting();
+                next = input.readByte();
+                if (next != CompoundTag.ID) throw new IllegalArgumentException("Root tag must be a CompoundTag");
+            } else {
+                next = input.readByte();
+                input.account(Byte.BYTES);
+            }
+        }
+        return (byte) next;
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        return peek() != EscapeTag.ID;
+    }
+
+    @Override
+    public String nextName() throws IOException, IllegalStateException {
+        if (frames.element().kind == Frame.LIST) throw new IllegalStateException("List elements are unnamed");
+        if (!hasNext()) throw new IllegalStateException("No further values in compound");
+        if (named) throw new IllegalStateException("Name already read");
+        named = true;
+        return input.readName();
+    }
+
+    @Override
+    public void beginCompound() throws IOException, IllegalStateException {
+        begin(CompoundTag.ID);
+        input.enter(CompoundTag.ID);
+        frames.push(new Frame(Frame.COMPOUND, EscapeTag.ID, 0));
+    }
+
+    @Override
+    public void endCompound() throws IOException, IllegalStateException {
+        if (frames.element().kind != Frame.COMPOUND) throw new IllegalStateException("Not inside a compound");
+        while (hasNext()) skipValue();
+        next = UNKNOWN;
+        frames.pop();
+        input.exit();
+    }
+
+    @Override
+    public int beginList() throws IOException, IllegalStateException {
+        begin(ListTag.ID);
+        input.enter(ListTag.ID);
+        var elementType = input.readByte();
+        var size = input.readListLength(elementType);
+        frames.push(new Frame(Frame.LIST, elementType, size));
+        return size;
+    }
+
+    @Override
+    public void endList() throws IOException, IllegalStateException {
+        if (frames.element().kind != Frame.LIST) throw new IllegalStateException("Not inside a list");
+        while (hasNext()) skipValue();
+        frames.pop();
+        input.exit();
+    }
+
+    @Override
+    public boolean nextBoolean() throws IOException, IllegalStateException {
+        return nextByte() == 1;
+    }
+
+    @Override
+    public byte nextByte() throws IOException, IllegalStateException {
+        return (byte) nextLong();
+    }
+
+    @Override
+    public short nextShort() throws IOException, IllegalStateException {
+        return (short) nextLong();
+    }
+
+    @Override
+    public int nextInt() throws IOException, IllegalStateException {
+        return (int) nextLong();
+    }
+
+    @Override
+    public long nextLong() throws IOException, IllegalStateException {
+        var type = beginNumber();
+        try {
+            return switch (type) {
+                case ByteTag.ID -> input.readByte();
+                case ShortTag.ID -> input.readShort();
+                case IntTag.ID -> input.readInt();
+                case LongTag.ID -> input.readLong();
+                case FloatTag.ID -> (long) input.readFloat();
+                default -> (long) input.readDouble();
+            };
+        } finally {
+            input.exit();
+        }
+    }
+
+    @Override
+    public float nextFloat() throws IOException, IllegalStateException {
+        return (float) nextDouble();
+    }
+
+    @Override
+    public double nextDouble() throws IOException, IllegalStateException {
+        var type = beginNumber();
+        try {
+            return switch (type) {
+                case ByteTag.ID -> input.readByte();
+                case ShortTag.ID -> input.readShort();
+                case IntTag.ID -> input.readInt();
+                case LongTag.ID -> input.readLong();
+                case FloatTag.ID -> input.readFloat();
+                default -> input.readDouble();
+            };
+        } finally {
+            input.exit();
+        }
+    }
+
+    @Override
+    public String nextString() throws IOException, IllegalStateException {
+        begin(StringTag.ID);
+        input.enter(StringTag.ID);
+        try {
+            var length = input.readUnsignedShort();
+            input.onString(length);
+            var bytes = new byte[length];
+            input.readFully(bytes);
+            return new String(bytes, input.getCharset());
+        } finally {
+            input.exit();
+        }
+    }
+
+    @Override
+    public byte[] nextByteArray() throws IOException, IllegalStateException {
+        begin(ByteArrayTag.ID);
+        input.enter(ByteArrayTag.ID);
+        try {
+            var array = new byte[input.readArrayLength(Byte.BYTES)];
+            input.readFully(array);
+            return array;
+        } finally {
+            input.exit();
+        }
+    }
+
+    @Override
+    public int[] nextIntArray() throws IOException, IllegalStateException {
+        begin(IntArrayTag.ID);
+        input.enter(IntArrayTag.ID);
+        try {
+            var array = new int[input.readArrayLength(Integer.BYTES)];
+            for (var i = 0; i < array.length; i++) array[i] = input.readInt();
+            return array;
+        } finally {
+            input.exit();
+        }
+    }
+
+    @Override
+    public long[] nextLongArray() throws IOException, IllegalStateException {
+        begin(LongArrayTag.ID);
+        input.enter(LongArrayTag.ID);
+        try {
+            var array = new long[input.readArrayLength(Long.BYTES)];
+            for (var i = 0; i < array.length; i++) array[i] = input.readLong();
+            return array;
+        } finally {
+            input.exit();
+        }
+    }
+
+    @Override
+    public Tag nextTag() throws IOException, IllegalStateException {
+        return input.readTag(begin(UNKNOWN));
+    }
+
+    @Override
+    public void skipValue() throws IOException, IllegalStateException {
+        nextTag();
+    }
+
+    /**
+     * Consumes the header of the next value, skipping its name if it was not read.
+     *
+     * @param expected the expected type, or {@link #UNKNOWN} to accept any type
+     * @return the type of the value
+     */
+    private byte begin(int expected) throws IOException, IllegalStateException {
+        var type = peek();
+        if (type == EscapeTag.ID) throw new IllegalStateException("No further values");
+        if (expected != UNKNOWN && type != expected)
+            throw new IllegalStateException("Expected tag type " + expected + " but was " + type);
+        var frame = frames.element();
+        if (frame.kind == Frame.LIST) {
+            frame.remaining--;
+            return type;
+        }
+        if (!named) input.readName();
+        named = false;
+        next = UNKNOWN;
+        return type;
+    }
+
+    private byte beginNumber() throws IOException, IllegalStateException {
+        var type = peek();
+        if (type < ByteTag.ID || type > DoubleTag.ID)
+            throw new IllegalStateException("Expected a number but was tag type " + type);
+        begin(type);
+        input.account(NBTInputStreamImpl.fixedSize(type));
+        input.enter(type);
+        return type;
+    }
+
+    private static final class Frame {
+        private static final int ROOT = 0;
+        private static final int COMPOUND = 1;
+        private static final int LIST = 2;
+
+        private final int kind;
+        private final byte elementType;
+        private int remaining;
+
+        private Frame(int kind, byte elementType, int remaining) {
+            this.kind = kind;
+            this.elementType = elementType;
+            this.remaining = remaining;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import net.thenextlvl.nbt.tag.ByteArrayTag;
 import net.thenextlvl.nbt.tag.ByteTag;
 import net.thenextlvl.nbt.tag.CompoundTag;
 import net.thenextlvl.nbt.tag.DoubleTag;
+import net.thenextlvl.nbt.tag.EscapeTag;
 import net.thenextlvl.nbt.tag.FloatTag;
 import net.thenextlvl.nbt.tag.IntArrayTag;
 import net.thenextlvl.nbt.tag.IntTag;
@@ -15,12 +16,14 @@ import net.thenextlvl.nbt.tag.StringTag;
 import net.thenextlvl.nbt.tag.Tag;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 
 final class TagReaders {
     public static StringTag readString(NBTInputStream input) throws IOException {
         var length = input.readUnsignedShort();
+        if (input instanceof NBTInputStreamImpl impl) impl.onString(length);
         var bytes = new byte[length];
         input.readFully(bytes);
         var value = new String(bytes, input.getCharset());
@@ -35,8 +38,8 @@ final class TagReaders {
         return LongTag.of(input.readLong());
     }
 
-    public static LongArrayTag readLongArray(NBTInputStream input) throws IOException {
-        var length = input.readInt();
+    public static LongArrayTag readLongArray(NBTInputStreamImpl input) throws IOException {
+        var length = input.readArrayLength(Long.BYTES);
         var array = new long[length];
         for (var i = 0; i < length; i++)
             array[i] = input.readLong();
@@ -45,19 +48,15 @@ final class TagReaders {
 
     @SuppressWarnings("unchecked")
     public static <V extends Tag> ListTag<V> readList(NBTInputStreamImpl input) throws IOException {
-        var type = input.readByte();
-        var length = input.readInt();
-        var list = new LinkedList<V>();
-        for (var i = 0; i < length; i++) list.add((V) input.readTag(type));
-        return ListTag.of(type, list);
+        return (ListTag<V>) readContainer(input, ListTag.ID);
     }
 
     public static IntTag readInt(NBTInputStream input) throws IOException {
         return IntTag.of(input.readInt());
     }
 
-    public static IntArrayTag readIntArray(NBTInputStream input) throws IOException {
-        var length = input.readInt();
+    public static IntArrayTag readIntArray(NBTInputStreamImpl input) throws IOException {
+        var length = input.readArrayLength(Integer.BYTES);
         var array = new int[length];
         for (var i = 0; i < length; i++) array[i] = input.readInt();
         return IntArrayTag.of(array);
@@ -72,21 +71,96 @@ final class TagReaders {
     }
 
     public static CompoundTag readCompound(NBTInputStreamImpl input) throws IOException {
-        var value = new LinkedHashMap<String, Tag>();
+        return (CompoundTag) readContainer(input, CompoundTag.ID);
+    }
+
+    /**
+     * Reads a compound or list using an explicit stack instead of recursion,
+     * so that the nesting depth is bound by the {@link ReadLimits} rather than the thread's stack size.
+     * <p>
+     * The container itself must already be entered by the caller, nested containers are entered and exited here.
+     */
+    private static Tag readContainer(NBTInputStreamImpl input, byte type) throws IOException {
+        var stack = new ArrayDeque<Container>();
+        var container = open(input, type);
         while (true) {
-            var entry = input.readNamedTagInternal();
-            if (entry == null) break;
-            value.put(entry.getKey(), entry.getValue());
+            Tag completed;
+            if (container instanceof CompoundContainer compound) {
+                var childType = input.readByte();
+                input.account(Byte.BYTES);
+                if (childType != EscapeTag.ID) {
+                    var name = input.readName();
+                    if (input.isContainer(childType)) {
+                        compound.name = name;
+                        input.enter(childType);
+                        stack.push(container);
+                        container = open(input, childType);
+                    } else compound.values.put(name, input.readTag(childType));
+                    continue;
+                }
+                completed = CompoundTag.of(compound.values);
+            } else {
+                var list = (ListContainer) container;
+                if (list.remaining > 0) {
+                    list.remaining--;
+                    if (input.isContainer(list.type)) {
+                        input.enter(list.type);
+                        stack.push(container);
+                        container = open(input, list.type);
+                    } else list.values.add(input.readTag(list.type));
+                    continue;
+                }
+                completed = ListTag.of(list.type, list.values);
+            }
+            container = stack.poll();
+            if (container == null) return completed;
+            input.exit();
+            container.add(completed);
+        }
+    }
+
+    private static Container open(NBTInputStreamImpl input, byte type) throws IOException {
+        if (type == CompoundTag.ID) return new CompoundContainer();
+        var elementType = input.readByte();
+        return new ListContainer(elementType, input.readListLength(elementType));
+    }
+
+    private sealed interface Container permits CompoundContainer, ListContainer {
+        void add(Tag tag);
+    }
+
+    private static final class CompoundContainer implements Container {
+        private final LinkedHashMap<String, Tag> values = new LinkedHashMap<>();
+        private String name = "";
+
+        @Override
+        public void add(Tag tag) {
+            values.put(name, tag);
+        }
+    }
+
+    private static final class ListContainer implements Container {
+        private final LinkedList<Tag> values = new LinkedList<>();
+        private final byte type;
+        private int remaining;
+
+        private ListContainer(byte type, int remaining) {
+            this.type = type;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public void add(Tag tag) {
+            values.add(tag);
         }
-        return CompoundTag.of(value);
     }
 
     public static ByteTag readByte(NBTInputStream input) throws IOException {
         return ByteTag.of(input.readByte());
     }
 
-    public static ByteArrayTag readByteArray(NBTInputStream input) throws IOException {
-        var length = input.readInt();
+    public static ByteArrayTag readByteArray(NBTInputStreamImpl input) throws IOException {
+        var length = input.readArrayLength(Byte.BYTES);
         var bytes = new byte[length];
         input.readFully(bytes);
         return ByteArrayTag.of(bytes);
@@ -0,0 +1,188 @@
+package net.thenextlvl.nbt;
+
+import net.thenextlvl.nbt.tag.CompoundTag;
+import net.thenextlvl.nbt.tag.ListTag;
+import net.thenextlvl.nbt.tag.StringTag;
+import net.thenextlvl.nbt.tag.Tag;
+import org.jetbrains.annotations.Contract;
+
+import java.io.IOException;
+
+/**
+ * Describes the expected structure of tags, compiled once and reusable for any amount of validations.
+ * <p>
+ * Schemas validate either an already decoded tag, or a value while it is read from a {@link TagReader},
+ * rejecting invalid payloads as soon as the first violation is read, without decoding the rest of it.
+ * Every violation fails with a {@link SchemaViolationException} naming the path of the offending value.
+ * <pre>{@code
+ * var schema = TagSchema.compound()
+ *         .required("name", TagSchema.type(StringTag.ID))
+ *         .required("level", TagSchema.range(IntTag.ID, 0, 100))
+ *         .optional("homes", TagSchema.list(TagSchema.compound()
+ *                 .required("x", TagSchema.type(DoubleTag.ID))
+ *                 .required("z", TagSchema.type(DoubleTag.ID))
+ *                 .build(), 0, 16))
+ *         .build();
+ *
+ * var player = schema.read(input.reader());
+ * }</pre>
+ *
+ * @since 4.4.0
+ */
+public sealed interface TagSchema permits TagSchemaImpl {
+    /**
+     * Validates the given tag against this schema.
+     *
+     * @param tag the tag to validate
+     * @throws SchemaViolationException if the tag violates this schema
+     */
+    @Contract(pure = true)
+    void validate(Tag tag) throws SchemaViolationException;
+
+    /**
+     * Reads the next value from the given reader, validating it while it is read.
+     * <p>
+     * Used on a reader that wasn't read from yet, this reads the root compound.
+     *
+     * @param reader the reader to read the value from
+     * @return the validated tag
+     * @throws IOException              if an I/O error occurs
+     * @throws SchemaViolationException if the value violates this schema
+     */
+    @Contract(mutates = "param")
+    Tag read(TagReader reader) throws IOException, SchemaViolationException;
+
+    /**
+     * Returns a schema accepting any tag.
+     *
+     * @return a schema accepting any tag
+     */
+    @Contract(pure = true)
+    static TagSchema any() {
+        return TagSchemaImpl.Any.INSTANCE;
+    }
+
+    /**
+     * Returns a schema accepting any tag of the given type, for example {@link StringTag#ID}.
+     *
+     * @param type the type id of accepted tags
+     * @return a schema accepting tags of the given type
+     */
+    @Contract(value = "_ -> new", pure = true)
+    static TagSchema type(byte type) {
+        return new TagSchemaImpl.OfType(type);
+    }
+
+    /**
+     * Returns a schema accepting numbers of the given type within the given inclusive range.
+     *
+     * @param type the type id of accepted numbers
+     * @param min  the minimum value
+     * @param max  the maximum value
+     * @return a schema accepting numbers within the range
+     * @throws IllegalArgumentException if the type is not a number or the range is empty
+     */
+    @Contract(value = "_, _, _ -> new", pure = true)
+    static TagSchema range(byte type, long min, long max) throws IllegalArgumentException {
+        return new TagSchemaImpl.Range(type, min, max, min, max);
+    }
+
+    /**
+     * Returns a schema accepting numbers of the given type within the given inclusive range.
+     *
+     * @param type the type id of accepted numbers
+     * @param min  the minimum value
+     * @param max  the maximum value
+     * @return a schema accepting numbers within the range
+     * @throws IllegalArgumentException if the type is not a number or the range is empty
+     */
+    @Contract(value = "_, _, _ -> new", pure = true)
+    static TagSchema range(byte type, double min, double max) throws IllegalArgumentException {
+        return new TagSchemaImpl.Range(type, (long) Math.ceil(min), (long) Math.floor(max), min, max);
+    }
+
+    /**
+     * Returns a schema accepting lists whose elements all match the given schema.
+     *
+     * @param elements the schema of the elements
+     * @return a schema accepting lists of matching elements
+     */
+    @Contract(value = "_ -> new", pure = true)
+    static TagSchema list(TagSchema elements) {
+        return list(elements, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns a schema accepting lists of the given inclusive size range, whose elements all match the given schema.
+     * <p>
+     * The size of streamed lists is checked before any element is read.
+     *
+     * @param elements the schema of the elements
+     * @param minSize  the minimum amount of elements
+     * @param maxSize  the maximum amount of elements
+     * @return a schema accepting lists of matching elements
+     * @throws IllegalArgumentException if the size range is empty or negative
+     * @see ListTag
+     */
+    @Contract(value = "_, _, _ -> new", pure = true)
+    static TagSchema list(TagSchema elements, int minSize, int maxSize) throws IllegalArgumentException {
+        return new TagSchemaImpl.OfList((TagSchemaImpl) elements, minSize, maxSize);
+    }
+
+    /**
+     * Creates a new builder for a schema accepting compounds.
+     *
+     * @return a new compound schema builder
+     * @see CompoundTag
+     */
+    @Contract(value = " -> new", pure = true)
+    static Builder compound() {
+        return new TagSchemaImpl.Builder();
+    }
+
+    /**
+     * A builder for schemas accepting compounds with the specified keys.
+     *
+     * @since 4.4.0
+     */
+    sealed interface Builder permits TagSchemaImpl.Builder {
+        /**
+         * Adds a key that must be present, with a value matching the given schema.
+         *
+         * @param key    the key
+         * @param schema the schema of the value
+         * @return this builder
+         * @throws IllegalArgumentException if the key was already added
+         */
+        @Contract(value = "_, _ -> this", mutates = "this")
+        Builder required(String key, TagSchema schema) throws IllegalArgumentException;
+
+        /**
+         * Adds a key that may be absent, but must have a value matching the given schema if present.
+         *
+         * @param key    the key
+         * @param schema the schema of the value
+         * @return this builder
+         * @throws IllegalArgumentException if the key was already added
+         */
+        @Contract(value = "_, _ -> this", mutates = "this")
+        Builder optional(String key, TagSchema schema) throws IllegalArgumentException;
+
+        /**
+         * Sets whether keys that were not added are accepted, which they are by default.
+         *
+         * @param allowUnknownKeys whether unknown keys are accepted
+         * @return this builder
+         */
+        @Contract(value = "_ -> this", mutates = "this")
+        Builder allowUnknownKeys(boolean allowUnknownKeys);
+
+        /**
+         * Compiles the schema.
+         *
+         * @return the compiled schema
+         */
+        @Contract(value = " -> new", pure = true)
+        TagSchema build();
+    }
+}
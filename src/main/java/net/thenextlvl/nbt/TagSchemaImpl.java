@@ -0,0 +1,308 @@
+package net.thenextlvl.nbt;
+
+import net.thenextlvl.nbt.tag.ByteTag;
+import net.thenextlvl.nbt.tag.CompoundTag;
+import net.thenextlvl.nbt.tag.DoubleTag;
+import net.thenextlvl.nbt.tag.EscapeTag;
+import net.thenextlvl.nbt.tag.FloatTag;
+import net.thenextlvl.nbt.tag.ListTag;
+import net.thenextlvl.nbt.tag.Tag;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+abstract sealed class TagSchemaImpl implements TagSchema {
+    @Override
+    public final void validate(Tag tag) throws SchemaViolationException {
+        validateTag(tag);
+    }
+
+    @Override
+    public final Tag read(TagReader reader) throws IOException, SchemaViolationException {
+        return readTag(reader);
+    }
+
+    /**
+     * Validates the given tag, reporting violations relative to it.
+     * Enclosing schemas {@link SchemaViolationException#prependKey(String) prepend} their key or index while unwinding,
+     * so that no paths are built for valid tags.
+     */
+    abstract void validateTag(Tag tag) throws SchemaViolationException;
+
+    /**
+     * Reads and validates the next tag, reporting violations relative to it.
+     */
+    abstract Tag readTag(TagReader reader) throws IOException, SchemaViolationException;
+
+    /**
+     * Returns the type id of the accepted tags, or the id of the {@code EscapeTag} if any type is accepted.
+     */
+    abstract byte type();
+
+    /**
+     * Fails unless the given type is the accepted one, checked before reading a value.
+     */
+    final void checkType(byte type) throws SchemaViolationException {
+        var expected = type();
+        if (expected != EscapeTag.ID && type != expected)
+            throw new SchemaViolationException("", "Expected tag type " + expected + " but was " + type);
+    }
+
+    static final class Any extends TagSchemaImpl {
+        static final Any INSTANCE = new Any();
+
+        @Override
+        void validateTag(Tag tag) {
+        }
+
+        @Override
+        Tag readTag(TagReader reader) throws IOException {
+            return reader.nextTag();
+        }
+
+        @Override
+        byte type() {
+            return EscapeTag.ID;
+        }
+    }
+
+    static final class OfType extends TagSchemaImpl {
+        private final byte type;
+
+        OfType(byte type) {
+            this.type = type;
+        }
+
+        @Override
+        void validateTag(Tag tag) throws SchemaViolationException {
+            checkType(tag.getTypeId());
+        }
+
+        @Override
+        Tag readTag(TagReader reader) throws IOException, SchemaViolationException {
+            checkType(reader.peek());
+            return reader.nextTag();
+        }
+
+        @Override
+        byte type() {
+            return type;
+        }
+    }
+
+    static final class Range extends TagSchemaImpl {
+        private final byte type;
+        private final long min;
+        private final long max;
+        private final double floatingMin;
+        private final double floatingMax;
+
+        Range(byte type, long min, long max, double floatingMin, double floatingMax) throws IllegalArgumentException {
+            if (type < ByteTag.ID || type > DoubleTag.ID) throw new IllegalArgumentException("Not a number type: " + type);
+            if (floating(type) ? floatingMin > floatingMax : min > max)
+                throw new IllegalArgumentException("Empty range: " + floatingMin + " to " + floatingMax);
+            this.type = type;
+            this.min = min;
+            this.max = max;
+            this.floatingMin = floatingMin;
+            this.floatingMax = floatingMax;
+        }
+
+        @Override
+        void validateTag(Tag tag) throws SchemaViolationException {
+            checkType(tag.getTypeId());
+            if (floating(type)) {
+                var value = tag.getAsDouble();
+                if (!(value >= floatingMin && value <= floatingMax))
+                    throw new SchemaViolationException("", value + " is not between " + floatingMin + " and " + floatingMax);
+            } else {
+                var value = tag.getAsLong();
+                if (value < min || value > max)
+                    throw new SchemaViolationException("", value + " is not between " + min + " and " + max);
+            }
+        }
+
+        @Override
+        Tag readTag(TagReader reader) throws IOException, SchemaViolationException {
+            checkType(reader.peek());
+            var tag = reader.nextTag();
+            validateTag(tag);
+            return tag;
+        }
+
+        @Override
+        byte type() {
+            return type;
+        }
+
+        private static boolean floating(byte type) {
+            return type == FloatTag.ID || type == DoubleTag.ID;
+        }
+    }
+
+    static final class OfList extends TagSchemaImpl {
+        private final TagSchemaImpl elements;
+        private final int minSize;
+        private final int maxSize;
+
+        OfList(TagSchemaImpl elements, int minSize, int maxSize) throws IllegalArgumentException {
+            if (minSize < 0 || minSize > maxSize)
+                throw new IllegalArgumentException("Invalid size range: " + minSize + " to " + maxSize);
+            this.elements = elements;
+            this.minSize = minSize;
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        void validateTag(Tag tag) throws SchemaViolationException {
+            checkType(tag.getTypeId());
+            ListTag<?> list = tag.getAsList();
+            checkSize(list.size());
+            for (var i = 0; i < list.size(); i++) {
+                try {
+                    elements.validateTag(list.get(i));
+                } catch (SchemaViolationException e) {
+                    throw e.prependIndex(i);
+                }
+            }
+        }
+
+        @Override
+        Tag readTag(TagReader reader) throws IOException, SchemaViolationException {
+            checkType(reader.peek());
+            var size = reader.beginList();
+            checkSize(size);
+            var list = new ArrayList<Tag>();
+            for (var i = 0; i < size; i++) {
+                try {
+                    list.add(elements.readTag(reader));
+                } catch (SchemaViolationException e) {
+                    throw e.prependIndex(i);
+                }
+            }
+            reader.endList();
+            return ListTag.of(list.isEmpty() ? elements.type() : list.get(0).getTypeId(), list);
+        }
+
+        @Override
+        byte type() {
+            return ListTag.ID;
+        }
+
+        private void checkSize(int size) throws SchemaViolationException {
+            if (size < minSize || size > maxSize)
+                throw new SchemaViolationException("", "Expected " + minSize + " to " + maxSize + " elements but got " + size);
+        }
+    }
+
+    static final class OfCompound extends TagSchemaImpl {
+        private final Map<String, Entry> entries;
+        private final List<Entry> required;
+        private final boolean allowUnknownKeys;
+
+        private OfCompound(Map<String, Entry> entries, boolean allowUnknownKeys) {
+            this.entries = new HashMap<>(entries);
+            this.required = entries.values().stream().filter(Entry::required).toList();
+            this.allowUnknownKeys = allowUnknownKeys;
+        }
+
+        @Override
+        void validateTag(Tag tag) throws SchemaViolationException {
+            checkType(tag.getTypeId());
+            var seen = new boolean[entries.size()];
+            for (var value : tag.getAsCompound().entrySet()) {
+                var entry = entry(value.getKey());
+                if (entry == null) continue;
+                seen[entry.index()] = true;
+                try {
+                    entry.schema().validateTag(value.getValue());
+                } catch (SchemaViolationException e) {
+                    throw e.prependKey(value.getKey());
+                }
+            }
+            checkRequired(seen);
+        }
+
+        @Override
+        Tag readTag(TagReader reader) throws IOException, SchemaViolationException {
+            checkType(reader.peek());
+            reader.beginCompound();
+            var builder = CompoundTag.builder();
+            var seen = new boolean[entries.size()];
+            while (reader.hasNext()) {
+                var key = reader.nextName();
+                var entry = entry(key);
+                if (entry == null) {
+                    builder.put(key, reader.nextTag());
+                    continue;
+                }
+                seen[entry.index()] = true;
+                try {
+                    builder.put(key, entry.schema().readTag(reader));
+                } catch (SchemaViolationException e) {
+                    throw e.prependKey(key);
+                }
+            }
+            reader.endCompound();
+            checkRequired(seen);
+            return builder.build();
+        }
+
+        @Override
+        byte type() {
+            return CompoundTag.ID;
+        }
+
+        private @Nullable Entry entry(String key) throws SchemaViolationException {
+            var entry = entries.get(key);
+            if (entry == null && !allowUnknownKeys) throw new SchemaViolationException("", "Unknown key").prependKey(key);
+            return entry;
+        }
+
+        private void checkRequired(boolean[] seen) throws SchemaViolationException {
+            for (var entry : required) {
+                if (!seen[entry.index()]) throw new SchemaViolationException("", "Missing required key").prependKey(entry.key());
+            }
+        }
+    }
+
+    private record Entry(String key, TagSchemaImpl schema, boolean required, int index) {
+    }
+
+    static final class Builder implements TagSchema.Builder {
+        private final Map<String, Entry> entries = new LinkedHashMap<>();
+        private boolean allowUnknownKeys = true;
+
+        @Override
+        public TagSchema.Builder required(String key, TagSchema schema) throws IllegalArgumentException {
+            return add(key, schema, true);
+        }
+
+        @Override
+        public TagSchema.Builder optional(String key, TagSchema schema) throws IllegalArgumentException {
+            return add(key, schema, false);
+        }
+
+        private TagSchema.Builder add(String key, TagSchema schema, boolean required) throws IllegalArgumentException {
+            if (entries.containsKey(key)) throw new IllegalArgumentException("Duplicate key: " + key);
+            entries.put(key, new Entry(key, (TagSchemaImpl) schema, required, entries.size()));
+            return this;
+        }
+
+        @Override
+        public TagSchema.Builder allowUnknownKeys(boolean allowUnknownKeys) {
+            this.allowUnknownKeys = allowUnknownKeys;
+            return this;
+        }
+
+        @Override
+        public TagSchema build() {
+            return new OfCompound(entries, allowUnknownKeys);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package net.thenextlvl.nbt;
+
+import net.thenextlvl.nbt.tag.Tag;
+import org.jetbrains.annotations.Contract;
+
+import java.io.IOException;
+
+/**
+ * Writes tags value by value to an {@link NBTOutputStream}, without building a tag tree first.
+ * <p>
+ * Every value inside a compound, including the root compound, must be preceded by its {@link #name(String) name}.
+ * Lists announce their element type and size upfront, as the binary format stores them before the elements.
+ * Misusing the writer, like writing an unnamed compound entry or more elements than announced,
+ * fails with an {@link IllegalStateException}.
+ * <pre>{@code
+ * output.writer().name("player").beginCompound()
+ *         .name("name").value(player.name())
+ *         .name("level").value(player.level())
+ *         .endCompound();
+ * }</pre>
+ *
+ * @see NBTOutputStream#writer()
+ * @see TagReader
+ * @since 4.4.0
+ */
+public sealed interface TagWriter permits TagWriterImpl {
+    /**
+     * Sets the name of the next value written into a compound.
+     *
+     * @param name the name of the next value
+     * @return this writer
+     * @throws IllegalStateException if the writer is not inside a compound or the name was already set
+     */
+    @Contract(value = "_ -> this", mutates = "this")
+    TagWriter name(String name) throws IllegalStateException;
+
+    /**
+     * Begins a compound, which must be ended with {@link #endCompound()}.
+     *
+     * @return this writer
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if a compound is not allowed here
+     */
+    @Contract(value = " -> this", mutates = "this,io")
+    TagWriter beginCompound() throws IOException, IllegalStateException;
+
+    /**
+     * Ends the current compound.
+     *
+     * @return this writer
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the writer is not inside a compound or a name is pending
+     */
+    @Contract(value = " -> this", mutates = "this,io")
+    TagWriter endCompound() throws IOException, IllegalStateException;
+
+    /**
+     * Begins a list of the given size, which must be ended with {@link #endList()} after writing all elements.
+     *
+     * @param elementType the type id of the elements
+     * @param size        the amount of elements
+     * @return this writer
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if a list is not allowed here
+     */
+    @Contract(value = "_, _ -> this", mutates = "this,io")
+    TagWriter beginList(byte elementType, int size) throws IOException, IllegalStateException;
+
+    /**
+     * Ends the current list.
+     *
+     * @return this writer
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the writer is not inside a list or elements are missing
+     */
+    @Contract(value = " -> this", mutates = "this,io")
+    TagWriter endList() throws IOException, IllegalStateException;
+
+    /**
+     * Writes a boolean as a byte tag.
+     *
+     * @param value the value to write
+     * @return this writer
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the value is not allowed here
+     */
+    @Contract(value = "_ -> this", mutates = "this,io")
+    TagWriter value(boolean value) throws IOException, IllegalStateException;
+
+    /**
+     * Writes a byte tag.
+     *
+     * @param value the value to write
+     * @return this writer
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the value is not allowed here
+     */
+    @Contract(value = "_ -> this", mutates = "this,io")
+    TagWriter value(byte value) throws IOException, IllegalStateException;
+
+    /**
+     * Writes a short tag.
+     *
+     * @param value the value to write
+     * @return this writer
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the value is not allowed here
+     */
+    @Contract(value = "_ -> this", mutates = "this,io")
+    TagWriter value(short value) throws IOException, IllegalStateException;
+
+    /**
+     * Writes an int tag.
+     *
+     * @param value the value to write
+     * @return this writer
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the value is not allowed here
+     */
+    @Contract(value = "_ -> this", mutates = "this,io")
+    TagWriter value(int value) throws IOException, IllegalStateException;
+
+    /**
+     * Writes a long tag.
+     *
+     * @param value the value to write
+     * @return this writer
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the value is not allowed here
+     */
+    @Contract(value = "_ -> this", mutates = "this,io")
+    TagWriter value(long value) throws IOException, IllegalStateException;
+
+    /**
+     * Writes a float tag.
+     *
+     * @param value the value to write
+     * @return this writer
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the value is not allowed here
+     */
+    @Contract(value = "_ -> this", mutates = "this,io")
+    TagWriter value(float value) throws IOException, IllegalStateException;
+
+    /**
+     * Writes a double tag.
+     *
+     * @param value the value to write
+     * @return this writer
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the value is not allowed here
+     */
+    @Contract(value = "_ -> this", mutates = "this,io")
+    TagWriter value(double value) throws IOException, IllegalStateException;
+
+    /**
+     * Writes a string tag.
+     *
+     * @param value the value to write
+     * @return this writer
+     * @throws IOException           if an I/O error occurs or the encoded string is too long
+     * @throws IllegalStateException if the value is not allowed here
+     */
+    @Contract(value = "_ -> this", mutates = "this,io")
+    TagWriter value(String value) throws IOException, IllegalStateException;
+
+    /**
+     * Writes a byte array tag.
+     *
+     * @param value the value to write
+     * @return this writer
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the value is not allowed here
+     */
+    @Contract(value = "_ -> this", mutates = "this,io")
+    TagWriter value(byte[] value) throws IOException, IllegalStateException;
+
+    /**
+     * Writes an int array tag.
+     *
+     * @param value the value to write
+     * @return this writer
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the value is not allowed here
+     */
+    @Contract(value = "_ -> this", mutates = "this,io")
+    TagWriter value(int[] value) throws IOException, IllegalStateException;
+
+    /**
+     * Writes a long array tag.
+     *
+     * @param value the value to write
+     * @return this writer
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the value is not allowed here
+     */
+    @Contract(value = "_ -> this", mutates = "this,io")
+    TagWriter value(long[] value) throws IOException, IllegalStateException;
+
+    /**
+     * Writes an existing tag, including all of its children.
+     *
+     * @param tag the tag to write
+     * @return this writer
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the tag is not allowed here
+     */
+    @Contract(value = "_ -> this", mutates = "this,io")
+    TagWriter value(Tag tag) throws IOException, IllegalStateException;
+}
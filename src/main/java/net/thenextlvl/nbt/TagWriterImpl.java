@@ -0,0 +1,240 @@
+package net.thenextlvl.nbt;
+
+import net.thenextlvl.nbt.tag.ByteArrayTag;
+import net.thenextlvl.nbt.tag.ByteTag;
+import net.thenextlvl.nbt.tag.CompoundTag;
+import net.thenextlvl.nbt.tag.DoubleTag;
+import net.thenextlvl.nbt.tag.EscapeTag;
+import net.thenextlvl.nbt.tag.FloatTag;
+import net.thenextlvl.nbt.tag.IntArrayTag;
+import net.thenextlvl.nbt.tag.IntTag;
+import net.thenextlvl.nbt.tag.ListTag;
+import net.thenextlvl.nbt.tag.LongArrayTag;
+import net.thenextlvl.nbt.tag.LongTag;
+import net.thenextlvl.nbt.tag.ShortTag;
+import net.thenextlvl.nbt.tag.StringTag;
+import net.thenextlvl.nbt.tag.Tag;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+
+final class TagWriterImpl implements TagWriter {
+    private final ArrayDeque<Frame> frames = new ArrayDeque<>();
+    private final NBTOutputStreamImpl output;
+    private final @Nullable StreamMetricsImpl metrics;
+    private @Nullable String name;
+
+    TagWriterImpl(NBTOutputStreamImpl output, @Nullable StreamMetricsImpl metrics) {
+        this.output = output;
+        this.metrics = metrics;
+        this.frames.push(new Frame(Frame.ROOT, EscapeTag.ID, 0));
+    }
+
+    @Override
+    public TagWriter name(String name) throws IllegalStateException {
+        if (frames.element().kind == Frame.LIST) throw new IllegalStateException("List elements are unnamed");
+        if (this.name != null) throw new IllegalStateException("Name already set: " + this.name);
+        this.name = name;
+        return this;
+    }
+
+    @Override
+    public TagWriter beginCompound() throws IOException, IllegalStateException {
+        begin(CompoundTag.ID);
+        frames.push(new Frame(Frame.COMPOUND, EscapeTag.ID, 0));
+        return this;
+    }
+
+    @Override
+    public TagWriter endCompound() throws IOException, IllegalStateException {
+        if (frames.element().kind != Frame.COMPOUND) throw new IllegalStateException("Not inside a compound");
+        if (name != null) throw new IllegalStateException("Missing value for " + name);
+        output.writeByte(EscapeTag.ID);
+        frames.pop();
+        end();
+        return this;
+    }
+
+    @Override
+    public TagWriter beginList(byte elementType, int size) throws IOException, IllegalStateException {
+        if (size < 0) throw new IllegalArgumentException("Negative list size: " + size);
+        if (elementType == EscapeTag.ID && size > 0) throw new IllegalStateException("Missing element type of list with size " + size);
+        begin(ListTag.ID);
+        output.writeByte(elementType);
+        output.writeInt(size);
+        frames.push(new Frame(Frame.LIST, elementType, size));
+        return this;
+    }
+
+    @Override
+    public TagWriter endList() throws IOException, IllegalStateException {
+        var frame = frames.element();
+        if (frame.kind != Frame.LIST) throw new IllegalStateException("Not inside a list");
+        if (frame.remaining > 0) throw new IllegalStateException("Missing " + frame.remaining + " list elements");
+        frames.pop();
+        end();
+        return this;
+    }
+
+    @Override
+    public TagWriter value(boolean value) throws IOException, IllegalStateException {
+        return value(value ? (byte) 1 : (byte) 0);
+    }
+
+    @Override
+    public TagWriter value(byte value) throws IOException, IllegalStateException {
+        begin(ByteTag.ID);
+        output.writeByte(value);
+        end();
+        return this;
+    }
+
+    @Override
+    public TagWriter value(short value) throws IOException, IllegalStateException {
+        begin(ShortTag.ID);
+        output.writeShort(value);
+        end();
+        return this;
+    }
+
+    @Override
+    public TagWriter value(int value) throws IOException, IllegalStateException {
+        begin(IntTag.ID);
+        output.writeInt(value);
+        end();
+        return this;
+    }
+
+    @Override
+    public TagWriter value(long value) throws IOException, IllegalStateException {
+        begin(LongTag.ID);
+        output.writeLong(value);
+        end();
+        return this;
+    }
+
+    @Override
+    public TagWriter value(float value) throws IOException, IllegalStateException {
+        begin(FloatTag.ID);
+        output.writeFloat(value);
+        end();
+        return this;
+    }
+
+    @Override
+    public TagWriter value(double value) throws IOException, IllegalStateException {
+        begin(DoubleTag.ID);
+        output.writeDouble(value);
+        end();
+        return this;
+    }
+
+    @Override
+    public TagWriter value(String value) throws IOException, IllegalStateException {
+        begin(StringTag.ID);
+        writeString(value);
+        end();
+        return this;
+    }
+
+    @Override
+    public TagWriter value(byte[] value) throws IOException, IllegalStateException {
+        begin(ByteArrayTag.ID);
+        output.writeInt(value.length);
+        output.write(value);
+        end();
+        return this;
+    }
+
+    @Override
+    public TagWriter value(int[] value) throws IOException, IllegalStateException {
+        begin(IntArrayTag.ID);
+        output.writeInt(value.length);
+        for (var element : value) output.writeInt(element);
+        end();
+        return this;
+    }
+
+    @Override
+    public TagWriter value(long[] value) throws IOException, IllegalStateException {
+        begin(LongArrayTag.ID);
+        output.writeInt(value.length);
+        for (var element : value) output.writeLong(element);
+        end();
+        return this;
+    }
+
+    @Override
+    public TagWriter value(Tag tag) throws IOException, IllegalStateException {
+        if (tag instanceof EscapeTag) throw new IllegalArgumentException("EscapeTag not allowed");
+        var type = tag.getTypeId();
+        if (metrics == null) {
+            begin(type);
+            tag.write(output);
+            end();
+            return this;
+        }
+        // count the whole tree instead of only entering the tag itself
+        header(type);
+        metrics.count(tag, output.getCharset());
+        tag.write(output);
+        return this;
+    }
+
+    /**
+     * Writes the header of a value of the given type and enters it.
+     */
+    private void begin(byte type) throws IOException, IllegalStateException {
+        header(type);
+        if (metrics != null) metrics.enter(type);
+    }
+
+    /**
+     * Exits the value written last.
+     */
+    private void end() {
+        if (metrics != null) metrics.exit();
+    }
+
+    private void header(byte type) throws IOException, IllegalStateException {
+        var frame = frames.element();
+        if (frame.kind == Frame.LIST) {
+            if (frame.remaining == 0) throw new IllegalStateException("All list elements were already written");
+            if (type != frame.elementType) throw new IllegalStateException("List element type mismatch: " + type + " != " + frame.elementType);
+            frame.remaining--;
+            return;
+        }
+        if (frame.kind == Frame.ROOT && type != CompoundTag.ID) throw new IllegalStateException("Root tag must be a CompoundTag");
+        var name = this.name;
+        if (name == null) throw new IllegalStateException("Missing name of compound entry");
+        this.name = null;
+        output.writeByte(type);
+        writeString(name);
+    }
+
+    private void writeString(String value) throws IOException {
+        var bytes = value.getBytes(output.getCharset());
+        if (bytes.length > NBTOutputStreamImpl.MAX_STRING_LENGTH)
+            throw new IOException("String is too long: " + bytes.length + " bytes");
+        output.writeShort(bytes.length);
+        output.write(bytes);
+        if (metrics != null) metrics.stringBytes += bytes.length;
+    }
+
+    private static final class Frame {
+        private static final int ROOT = 0;
+        private static final int COMPOUND = 1;
+        private static final int LIST = 2;
+
+        private final int kind;
+        private final byte elementType;
+        private int remaining;
+
+        private Frame(int kind, byte elementType, int remaining) {
+            this.kind = kind;
+            this.elementType = elementType;
+            this.remaining = remaining;
+        }
+    }
+}
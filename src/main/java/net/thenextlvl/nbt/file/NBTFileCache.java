@@ -0,0 +1,91 @@
+package net.thenextlvl.nbt.file;
+
+import net.thenextlvl.nbt.Compression;
+import net.thenextlvl.nbt.tag.CompoundTag;
+import org.jetbrains.annotations.Contract;
+import org.jspecify.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Caches the decoded root tags of files, evicting the least recently used files once the estimated memory of all
+ * cached tags exceeds the {@link #getMaxWeight() maximum weight}.
+ * <p>
+ * Cached files are checked for modifications, by their last modified time and size, once the
+ * {@link #getRevalidationInterval() revalidation interval} passed, and are invalidated when written through the
+ * {@link NBTFiles} that created the cache. Concurrent requests for a file that is not cached share a single load.
+ *
+ * @see NBTFiles#cache(long, Duration)
+ * @since 4.4.0
+ */
+public sealed interface NBTFileCache permits NBTFileCacheImpl {
+    /**
+     * Returns the root tag of the given file, loading it if it is not cached or was modified.
+     *
+     * @param path        the path of the file
+     * @param compression the compression of the file
+     * @return a future completed with the root tag
+     */
+    @Contract(value = "_, _ -> new")
+    CompletableFuture<CompoundTag> get(Path path, Compression compression);
+
+    /**
+     * Returns the cached root tag of the given file without loading or revalidating it.
+     *
+     * @param path the path of the file
+     * @return the cached root tag, or {@code null} if the file is not cached
+     */
+    @Contract(pure = true)
+    @Nullable
+    CompoundTag getIfPresent(Path path);
+
+    /**
+     * Removes the given file from the cache, discarding the result of any load in progress.
+     *
+     * @param path the path of the file
+     */
+    @Contract(mutates = "this")
+    void invalidate(Path path);
+
+    /**
+     * Removes all files from the cache, discarding the results of all loads in progress.
+     */
+    @Contract(mutates = "this")
+    void invalidateAll();
+
+    /**
+     * Returns the amount of cached files.
+     *
+     * @return the amount of cached files
+     */
+    @Contract(pure = true)
+    int size();
+
+    /**
+     * Returns the estimated memory of all cached tags in bytes.
+     *
+     * @return the current weight
+     */
+    @Contract(pure = true)
+    long weight();
+
+    /**
+     * Returns the maximum estimated memory of all cached tags in bytes.
+     * <p>
+     * Tags weighing more than this on their own are returned but not cached.
+     *
+     * @return the maximum weight
+     */
+    @Contract(pure = true)
+    long getMaxWeight();
+
+    /**
+     * Returns the time after which a cached file is checked for modifications again.
+     *
+     * @return the revalidation interval
+     */
+    @Contract(pure = true)
+    Duration getRevalidationInterval();
+}
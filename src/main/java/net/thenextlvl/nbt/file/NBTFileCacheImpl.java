@@ -0,0 +1,179 @@
+package net.thenextlvl.nbt.file;
+
+import net.thenextlvl.nbt.Compression;
+import net.thenextlvl.nbt.tag.ByteArrayTag;
+import net.thenextlvl.nbt.tag.CompoundTag;
+import net.thenextlvl.nbt.tag.IntArrayTag;
+import net.thenextlvl.nbt.tag.ListTag;
+import net.thenextlvl.nbt.tag.LongArrayTag;
+import net.thenextlvl.nbt.tag.Tag;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+final class NBTFileCacheImpl implements NBTFileCache {
+    private final LinkedHashMap<Path, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Path, CompletableFuture<Entry>> loading = new HashMap<>();
+    private final NBTFilesImpl files;
+    private final long maxWeight;
+    private final Duration revalidateAfter;
+    private long weight;
+
+    NBTFileCacheImpl(NBTFilesImpl files, long maxWeight, Duration revalidateAfter) {
+        if (maxWeight < 0) throw new IllegalArgumentException("Max weight cannot be negative: " + maxWeight);
+        if (revalidateAfter.isNegative())
+            throw new IllegalArgumentException("Revalidation interval cannot be negative: " + revalidateAfter);
+        this.files = files;
+        this.maxWeight = maxWeight;
+        this.revalidateAfter = revalidateAfter;
+    }
+
+    @Override
+    public CompletableFuture<CompoundTag> get(Path path, Compression compression) {
+        var key = NBTFilesImpl.key(path);
+        CompletableFuture<Entry> load;
+        synchronized (this) {
+            var entry = entries.get(key);
+            if (entry != null && System.nanoTime() - entry.validated < revalidateAfter.toNanos())
+                return CompletableFuture.completedFuture(entry.tag);
+            load = loading.get(key);
+            if (load == null) {
+                load = files.schedule(key, () -> load(key, compression, entry));
+                loading.put(key, load);
+                var scheduled = load;
+                load.whenComplete((loaded, throwable) -> completed(key, scheduled, loaded));
+            }
+        }
+        return load.thenApply(entry -> entry.tag);
+    }
+
+    /**
+     * Reads the file unless it was not modified since the given entry was loaded.
+     */
+    private Entry load(Path path, Compression compression, @Nullable Entry cached) throws IOException {
+        var attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        if (cached != null && cached.matches(attributes)) {
+            cached.validated = System.nanoTime();
+            return cached;
+        }
+        var tag = files.read(path, compression);
+        return new Entry(tag, attributes.lastModifiedTime(), attributes.size(), estimateMemory(tag));
+    }
+
+    private synchronized void completed(Path key, CompletableFuture<Entry> load, @Nullable Entry loaded) {
+        if (!loading.remove(key, load)) return;
+        var previous = entries.remove(key);
+        if (previous != null) weight -= previous.weight;
+        if (loaded == null || loaded.weight > maxWeight) return;
+        entries.put(key, loaded);
+        weight += loaded.weight;
+        var iterator = entries.values().iterator();
+        while (weight > maxWeight && iterator.hasNext()) {
+            weight -= iterator.next().weight;
+            iterator.remove();
+        }
+    }
+
+    @Override
+    public synchronized @Nullable CompoundTag getIfPresent(Path path) {
+        var entry = entries.get(NBTFilesImpl.key(path));
+        return entry != null ? entry.tag : null;
+    }
+
+    @Override
+    public synchronized void invalidate(Path path) {
+        var key = NBTFilesImpl.key(path);
+        loading.remove(key);
+        var entry = entries.remove(key);
+        if (entry != null) weight -= entry.weight;
+    }
+
+    @Override
+    public synchronized void invalidateAll() {
+        loading.clear();
+        entries.clear();
+        weight = 0;
+    }
+
+    @Override
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized long weight() {
+        return weight;
+    }
+
+    @Override
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    @Override
+    public Duration getRevalidationInterval() {
+        return revalidateAfter;
+    }
+
+    /**
+     * Estimates the retained heap memory of the given tag in bytes, assuming compressed object pointers.
+     */
+    static long estimateMemory(Tag root) {
+        var memory = 0L;
+        var stack = new ArrayDeque<Tag>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            var tag = stack.pop();
+            switch (tag) {
+                case CompoundTag compound -> {
+                    // tag, unmodifiable wrapper, LinkedHashMap and its table
+                    memory += 16 + 16 + 56 + 16 + compound.size() * 4L * 2;
+                    for (var entry : compound.getValue().entrySet()) {
+                        // entry node and key string with its latin-1 array
+                        memory += 40 + 24 + 16 + entry.getKey().length();
+                        stack.push(entry.getValue());
+                    }
+                }
+                case ListTag<?> list -> {
+                    // tag, unmodifiable wrapper, LinkedList and one node per element
+                    memory += 24 + 16 + 32 + list.size() * 24L;
+                    list.forEach(stack::push);
+                }
+                case ByteArrayTag array -> memory += 16 + 16 + array.size();
+                case IntArrayTag array -> memory += 16 + 16 + array.size() * 4L;
+                case LongArrayTag array -> memory += 16 + 16 + array.size() * 8L;
+                default -> memory += tag.isString() ? 16 + 24 + 16 + tag.getAsString().length() : 24;
+            }
+        }
+        return memory;
+    }
+
+    private static final class Entry {
+        private final CompoundTag tag;
+        private final FileTime modified;
+        private final long size;
+        private final long weight;
+        private volatile long validated = System.nanoTime();
+
+        private Entry(CompoundTag tag, FileTime modified, long size, long weight) {
+            this.tag = tag;
+            this.modified = modified;
+            this.size = size;
+            this.weight = weight;
+        }
+
+        private boolean matches(BasicFileAttributes attributes) {
+            return modified.equals(attributes.lastModifiedTime()) && size == attributes.size();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package net.thenextlvl.nbt.file;
+
+import net.thenextlvl.nbt.Compression;
+import net.thenextlvl.nbt.ReadLimits;
+import net.thenextlvl.nbt.tag.CompoundTag;
+import org.jetbrains.annotations.Contract;
+import org.jspecify.annotations.Nullable;
+
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Reads and writes NBT files asynchronously, so that callers never block on disk.
+ * <p>
+ * Operations on the same file run one after another in the order they were submitted,
+ * so concurrent writes of a file can't interleave and reads observe all previously submitted writes.
+ * Operations on different files run concurrently, bounded by the {@link #getMaxConcurrency() maximum concurrency}.
+ * <p>
+ * Files are written into a temporary sibling that is forced to disk and atomically moved into place,
+ * so that a crash during a write leaves either the previous or the new contents behind, never a mix of both.
+ *
+ * @since 4.4.0
+ */
+public sealed interface NBTFiles permits NBTFilesImpl {
+    /**
+     * Reads the root {@code CompoundTag} of the given file.
+     *
+     * @param path        the path of the file
+     * @param compression the compression of the file
+     * @return a future completed with the tag that was read
+     */
+    @Contract(value = "_, _ -> new")
+    CompletableFuture<CompoundTag> readAsync(Path path, Compression compression);
+
+    /**
+     * Reads the root {@code CompoundTag} and name of the given file.
+     *
+     * @param path        the path of the file
+     * @param compression the compression of the file
+     * @return a future completed with a {@code Map.Entry} containing the name and tag
+     */
+    @Contract(value = "_, _ -> new")
+    CompletableFuture<Map.Entry<String, CompoundTag>> readNamedAsync(Path path, Compression compression);
+
+    /**
+     * Writes the given tag as the unnamed root of the given file, replacing its contents.
+     *
+     * @param path        the path of the file
+     * @param tag         the root tag
+     * @param compression the compression of the file
+     * @return a future completed once the file was written
+     */
+    @Contract(value = "_, _, _ -> new")
+    CompletableFuture<Void> writeAsync(Path path, CompoundTag tag, Compression compression);
+
+    /**
+     * Writes the given tag as the named root of the given file, replacing its contents.
+     *
+     * @param path        the path of the file
+     * @param name        the name of the root tag
+     * @param tag         the root tag
+     * @param compression the compression of the file
+     * @return a future completed once the file was written
+     */
+    @Contract(value = "_, _, _, _ -> new")
+    CompletableFuture<Void> writeAsync(Path path, @Nullable String name, CompoundTag tag, Compression compression);
+
+    /**
+     * Creates a new write-behind queue coalescing saves of the same file, writing them through these {@code NBTFiles}.
+     *
+     * @param delay the delay between the first pending save of a file and its write
+     * @return a new write-behind queue
+     * @see WriteBehindQueue
+     */
+    @Contract(value = "_ -> new", pure = true)
+    default WriteBehindQueue writeBehind(Duration delay) {
+        return new WriteBehindQueueImpl(this, delay);
+    }
+
+    /**
+     * Creates a new cache of decoded files, reading missing files through these {@code NBTFiles}.
+     * <p>
+     * Writes through these {@code NBTFiles}, including {@link #writeBehind(Duration) write-behind queues},
+     * invalidate the cached file.
+     *
+     * @param maxWeight       the maximum estimated memory of all cached tags in bytes
+     * @param revalidateAfter the time after which a cached file is checked for modifications again
+     * @return a new cache
+     * @throws IllegalArgumentException if {@code maxWeight} or {@code revalidateAfter} is negative
+     * @see NBTFileCache
+     */
+    @Contract(value = "_, _ -> new", pure = true)
+    NBTFileCache cache(long maxWeight, Duration revalidateAfter) throws IllegalArgumentException;
+
+    /**
+     * Returns the charset used to encode and decode files.
+     *
+     * @return the charset
+     */
+    @Contract(pure = true)
+    Charset getCharset();
+
+    /**
+     * Returns the limits enforced while reading files.
+     *
+     * @return the read limits
+     */
+    @Contract(pure = true)
+    ReadLimits getLimits();
+
+    /**
+     * Returns the maximum amount of operations running at the same time, further operations are queued.
+     *
+     * @return the maximum concurrency
+     */
+    @Contract(pure = true)
+    int getMaxConcurrency();
+
+    /**
+     * Creates a new {@code NBTFiles} running operations on virtual threads, using the default settings.
+     *
+     * @return a new {@code NBTFiles}
+     */
+    @Contract(value = " -> new", pure = true)
+    static NBTFiles create() {
+        return builder().build();
+    }
+
+    /**
+     * Creates a new builder for constructing {@code NBTFiles}.
+     *
+     * @return a new builder
+     */
+    @Contract(value = " -> new", pure = true)
+    static Builder builder() {
+        return new NBTFilesImpl.Builder();
+    }
+
+    /**
+     * Builder for constructing {@link NBTFiles}.
+     *
+     * @since 4.4.0
+     */
+    sealed interface Builder permits NBTFilesImpl.Builder {
+        /**
+         * Sets the executor running the operations, defaulting to a new virtual thread per operation.
+         *
+         * @param executor the executor
+         * @return the current builder instance for chaining
+         */
+        @Contract(value = "_ -> this", mutates = "this")
+        Builder executor(Executor executor);
+
+        /**
+         * Sets the maximum amount of operations running at the same time,
+         * defaulting to {@code 64}.
+         *
+         * @param maxConcurrency the maximum concurrency
+         * @return the current builder instance for chaining
+         * @throws IllegalArgumentException if {@code maxConcurrency} is less than {@code 1}
+         */
+        @Contract(value = "_ -> this", mutates = "this")
+        Builder maxConcurrency(int maxConcurrency) throws IllegalArgumentException;
+
+        /**
+         * Sets the charset used to encode and decode files, defaulting to UTF-8.
+         *
+         * @param charset the charset
+         * @return the current builder instance for chaining
+         */
+        @Contract(value = "_ -> this", mutates = "this")
+        Builder charset(Charset charset);
+
+        /**
+         * Sets the limits enforced while reading files, defaulting to {@link ReadLimits#defaults()}.
+         *
+         * @param limits the read limits
+         * @return the current builder instance for chaining
+         */
+        @Contract(value = "_ -> this", mutates = "this")
+        Builder limits(ReadLimits limits);
+
+        /**
+         * Builds the {@code NBTFiles}.
+         *
+         * @return a new {@code NBTFiles}
+         */
+        @Contract(value = " -> new", pure = true)
+        NBTFiles build();
+    }
+}
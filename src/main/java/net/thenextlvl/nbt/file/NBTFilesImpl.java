@@ -0,0 +1,253 @@
+package net.thenextlvl.nbt.file;
+
+import net.thenextlvl.nbt.Compression;
+import net.thenextlvl.nbt.NBTInputStream;
+import net.thenextlvl.nbt.NBTOutputStream;
+import net.thenextlvl.nbt.ReadLimits;
+import net.thenextlvl.nbt.tag.CompoundTag;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+final class NBTFilesImpl implements NBTFiles {
+    private static final int DEFAULT_MAX_CONCURRENCY = 64;
+    private static final Executor VIRTUAL_THREADS = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("NBT File I/O #", 0).factory()
+    );
+
+    private final Set<NBTFileCacheImpl> caches = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    private final Map<Path, CompletableFuture<?>> tails = new ConcurrentHashMap<>();
+    private final Queue<Operation<?>> pending = new ArrayDeque<>();
+    private final Executor executor;
+    private final int maxConcurrency;
+    private final Charset charset;
+    private final ReadLimits limits;
+    private int running;
+
+    private NBTFilesImpl(Executor executor, int maxConcurrency, Charset charset, ReadLimits limits) {
+        this.executor = executor;
+        this.maxConcurrency = maxConcurrency;
+        this.charset = charset;
+        this.limits = limits;
+    }
+
+    @Override
+    public CompletableFuture<CompoundTag> readAsync(Path path, Compression compression) {
+        return schedule(path, () -> read(path, compression));
+    }
+
+    @Override
+    public CompletableFuture<Map.Entry<String, CompoundTag>> readNamedAsync(Path path, Compression compression) {
+        return schedule(path, () -> {
+            try (var input = NBTInputStream.create(path, charset, compression)) {
+                input.setLimits(limits);
+                return input.readNamedTag();
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> writeAsync(Path path, CompoundTag tag, Compression compression) {
+        return writeAsync(path, null, tag, compression);
+    }
+
+    @Override
+    public CompletableFuture<Void> writeAsync(Path path, @Nullable String name, CompoundTag tag, Compression compression) {
+        synchronized (caches) {
+            caches.forEach(cache -> cache.invalidate(path));
+        }
+        return schedule(path, () -> {
+            writeAtomically(path, name, tag, compression);
+            return null;
+        });
+    }
+
+    @Override
+    public NBTFileCache cache(long maxWeight, Duration revalidateAfter) {
+        var cache = new NBTFileCacheImpl(this, maxWeight, revalidateAfter);
+        caches.add(cache);
+        return cache;
+    }
+
+    CompoundTag read(Path path, Compression compression) throws IOException {
+        try (var input = NBTInputStream.create(path, charset, compression)) {
+            input.setLimits(limits);
+            return input.readTag();
+        }
+    }
+
+    /**
+     * Writes the tag into a temporary sibling of the file, forces it to disk,
+     * and atomically moves it into place, so that a crash never leaves a partially written file behind.
+     */
+    private void writeAtomically(Path path, @Nullable String name, CompoundTag tag, Compression compression) throws IOException {
+        var target = path.toAbsolutePath();
+        var temp = target.resolveSibling(target.getFileName() + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+        try {
+            try (var output = NBTOutputStream.create(temp, charset, compression)) {
+                output.writeTag(name, tag);
+            }
+            try (var channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    @Override
+    public Charset getCharset() {
+        return charset;
+    }
+
+    @Override
+    public ReadLimits getLimits() {
+        return limits;
+    }
+
+    @Override
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Schedules the task after all operations previously submitted for the same file.
+     */
+    <T> CompletableFuture<T> schedule(Path path, IOTask<T> task) {
+        var key = key(path);
+        var operation = new Operation<>(task);
+        var previous = tails.put(key, operation.result);
+        if (previous == null) submit(operation);
+        else previous.whenComplete((result, throwable) -> submit(operation));
+        operation.result.whenComplete((result, throwable) -> tails.remove(key, operation.result));
+        return operation.result.copy();
+    }
+
+    static Path key(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+    private void submit(Operation<?> operation) {
+        synchronized (pending) {
+            if (running >= maxConcurrency) {
+                pending.add(operation);
+                return;
+            }
+            running++;
+        }
+        dispatch(operation);
+    }
+
+    private void release() {
+        Operation<?> next;
+        synchronized (pending) {
+            next = pending.poll();
+            if (next == null) {
+                running--;
+                return;
+            }
+        }
+        dispatch(next);
+    }
+
+    private void dispatch(Operation<?> operation) {
+        try {
+            executor.execute(operation);
+        } catch (RejectedExecutionException e) {
+            operation.result.completeExceptionally(e);
+            release();
+        }
+    }
+
+    @FunctionalInterface
+    interface IOTask<T> {
+        T call() throws IOException;
+    }
+
+    private final class Operation<T> implements Runnable {
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final IOTask<T> task;
+
+        private Operation(IOTask<T> task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            T value;
+            try {
+                value = task.call();
+            } catch (Throwable t) {
+                release();
+                result.completeExceptionally(t);
+                return;
+            }
+            release();
+            result.complete(value);
+        }
+    }
+
+    static final class Builder implements NBTFiles.Builder {
+        private Executor executor = VIRTUAL_THREADS;
+        private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+        private Charset charset = StandardCharsets.UTF_8;
+        private ReadLimits limits = ReadLimits.defaults();
+
+        @Override
+        public NBTFiles.Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        @Override
+        public NBTFiles.Builder maxConcurrency(int maxConcurrency) throws IllegalArgumentException {
+            if (maxConcurrency < 1) throw new IllegalArgumentException("Max concurrency must be at least 1: " + maxConcurrency);
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        @Override
+        public NBTFiles.Builder charset(Charset charset) {
+            this.charset = charset;
+            return this;
+        }
+
+        @Override
+        public NBTFiles.Builder limits(ReadLimits limits) {
+            this.limits = limits;
+            return this;
+        }
+
+        @Override
+        public NBTFiles build() {
+            return new NBTFilesImpl(executor, maxConcurrency, charset, limits);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package net.thenextlvl.nbt.file;
+
+import net.thenextlvl.nbt.Compression;
+import net.thenextlvl.nbt.tag.CompoundTag;
+import org.jetbrains.annotations.Contract;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Defers saves of files and coalesces repeated saves of the same file into a single write of the latest snapshot.
+ * <p>
+ * A file is written once the {@link #getDelay() delay} passed since its first pending save,
+ * when it is {@link #flush(Path) flushed} explicitly, or when the queue is {@link #close() closed}.
+ *
+ * @see NBTFiles#writeBehind(Duration)
+ * @since 4.4.0
+ */
+public sealed interface WriteBehindQueue extends AutoCloseable permits WriteBehindQueueImpl {
+    /**
+     * Schedules the given tag as the unnamed root of the given file, replacing any pending snapshot of the file.
+     *
+     * @param path        the path of the file
+     * @param tag         the root tag
+     * @param compression the compression of the file
+     * @return a future completed once this or a later snapshot of the file was written
+     * @throws IllegalStateException if the queue is closed
+     */
+    @Contract(value = "_, _, _ -> new", mutates = "this")
+    CompletableFuture<Void> save(Path path, CompoundTag tag, Compression compression) throws IllegalStateException;
+
+    /**
+     * Schedules the given tag as the named root of the given file, replacing any pending snapshot of the file.
+     *
+     * @param path        the path of the file
+     * @param name        the name of the root tag
+     * @param tag         the root tag
+     * @param compression the compression of the file
+     * @return a future completed once this or a later snapshot of the file was written
+     * @throws IllegalStateException if the queue is closed
+     */
+    @Contract(value = "_, _, _, _ -> new", mutates = "this")
+    CompletableFuture<Void> save(Path path, @Nullable String name, CompoundTag tag, Compression compression) throws IllegalStateException;
+
+    /**
+     * Writes the pending snapshot of the given file right away.
+     *
+     * @param path the path of the file
+     * @return a future completed once the file was written,
+     * or immediately if no save is pending or in progress
+     */
+    @Contract(value = "_ -> new", mutates = "this")
+    CompletableFuture<Void> flush(Path path);
+
+    /**
+     * Writes the pending snapshots of all files right away.
+     *
+     * @return a future completed once all files were written, including writes already in progress
+     */
+    @Contract(value = " -> new", mutates = "this")
+    CompletableFuture<Void> flush();
+
+    /**
+     * Returns the amount of files with a pending save.
+     *
+     * @return the amount of pending files
+     */
+    @Contract(pure = true)
+    int size();
+
+    /**
+     * Returns the delay between the first pending save of a file and its write.
+     *
+     * @return the delay
+     */
+    @Contract(pure = true)
+    Duration getDelay();
+
+    /**
+     * Rejects further saves, then writes all pending snapshots
+     * and waits for them and any writes already in progress to complete.
+     *
+     * @throws IOException if a pending snapshot could not be written
+     */
+    @Override
+    @Contract(mutates = "this")
+    void close() throws IOException;
+}
@@ -0,0 +1,126 @@
+package net.thenextlvl.nbt.file;
+
+import net.thenextlvl.nbt.Compression;
+import net.thenextlvl.nbt.tag.CompoundTag;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+final class WriteBehindQueueImpl implements WriteBehindQueue {
+    private final Map<Path, Snapshot> pending = new ConcurrentHashMap<>();
+    /**
+     * The writes of snapshots that left {@link #pending} but didn't complete yet.
+     */
+    private final Map<Path, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final NBTFiles files;
+    private final Duration delay;
+    private volatile boolean closed;
+
+    WriteBehindQueueImpl(NBTFiles files, Duration delay) {
+        if (delay.isNegative()) throw new IllegalArgumentException("Delay cannot be negative: " + delay);
+        this.files = files;
+        this.delay = delay;
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            var thread = new Thread(runnable, "NBT Write-Behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    @Override
+    public CompletableFuture<Void> save(Path path, CompoundTag tag, Compression compression) throws IllegalStateException {
+        return save(path, null, tag, compression);
+    }
+
+    @Override
+    public CompletableFuture<Void> save(Path path, @Nullable String name, CompoundTag tag, Compression compression) throws IllegalStateException {
+        if (closed) throw new IllegalStateException("Write-behind queue is closed");
+        var key = NBTFilesImpl.key(path);
+        var snapshot = new Snapshot(path, name, tag, compression, new CompletableFuture<>());
+        var merged = pending.merge(key, snapshot, (previous, next) -> next.replacing(previous));
+        if (merged == snapshot) try {
+            scheduler.schedule(() -> flushKey(key), delay.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            flushKey(key);
+        }
+        return merged.result().copy();
+    }
+
+    @Override
+    public CompletableFuture<Void> flush(Path path) {
+        return flushKey(NBTFilesImpl.key(path)).copy();
+    }
+
+    @Override
+    public CompletableFuture<Void> flush() {
+        // flush the pending snapshots first, so that their writes are in flight as well
+        return CompletableFuture.allOf(Stream.concat(
+                pending.keySet().stream().map(this::flushKey),
+                inFlight.values().stream()
+        ).toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Writes the pending snapshot of the given file,
+     * returning a future completing once all writes of that file that are in flight completed.
+     */
+    private CompletableFuture<Void> flushKey(Path key) {
+        var snapshot = pending.remove(key);
+        if (snapshot == null) return inFlight.getOrDefault(key, CompletableFuture.completedFuture(null));
+        var writes = inFlight.compute(key, (ignored, previous) ->
+                previous != null ? CompletableFuture.allOf(previous, snapshot.result()) : snapshot.result());
+        writes.whenComplete((ignored, throwable) -> inFlight.remove(key, writes));
+        files.writeAsync(snapshot.path(), snapshot.name(), snapshot.tag(), snapshot.compression())
+                .whenComplete((ignored, throwable) -> {
+                    if (throwable != null) snapshot.result().completeExceptionally(throwable);
+                    else snapshot.result().complete(null);
+                });
+        return writes;
+    }
+
+    @Override
+    public int size() {
+        return pending.size();
+    }
+
+    @Override
+    public Duration getDelay() {
+        return delay;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        scheduler.shutdown();
+        try {
+            flush().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException cause) throw cause;
+            throw e;
+        }
+    }
+
+    /**
+     * The latest snapshot of a file, sharing its result with all snapshots it replaced.
+     */
+    private record Snapshot(
+            Path path, @Nullable String name, CompoundTag tag, Compression compression,
+            CompletableFuture<Void> result
+    ) {
+        private Snapshot replacing(Snapshot previous) {
+            return new Snapshot(path, name, tag, compression, previous.result);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package net.thenextlvl.nbt.serialization;
+
+import net.thenextlvl.nbt.tag.CompoundTag;
+import net.thenextlvl.nbt.tag.Tag;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Serializes records by their components and classes annotated with {@link NBTSerializable} by their fields.
+ * <p>
+ * The layout of a type is computed once, values are then read and written through method handles
+ * instead of reflection on every call.
+ */
+final class AutomaticAdapter<T> implements TagAdapter<T> {
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final ClassValue<Optional<AutomaticAdapter<?>>> ADAPTERS = new ClassValue<>() {
+        @Override
+        protected Optional<AutomaticAdapter<?>> computeValue(Class<?> type) {
+            return Optional.ofNullable(create(type));
+        }
+    };
+
+    private final Class<T> type;
+    private final Property[] properties;
+    private final MethodHandle constructor;
+    private final boolean record;
+
+    private AutomaticAdapter(Class<T> type, Property[] properties, MethodHandle constructor, boolean record) {
+        this.type = type;
+        this.properties = properties;
+        this.constructor = constructor;
+        this.record = record;
+    }
+
+    /**
+     * Returns the adapter of the given type if it is a record or annotated with {@link NBTSerializable}.
+     * <p>
+     * The layout of each type is only computed once.
+     *
+     * @param type the type to adapt
+     * @return the adapter, or {@code null} if the type is not serialized automatically
+     * @throws ParserException if the layout of the type is not accessible
+     */
+    @SuppressWarnings("unchecked")
+    static <T> @Nullable AutomaticAdapter<T> get(Class<T> type) throws ParserException {
+        return (AutomaticAdapter<T>) ADAPTERS.get(type).orElse(null);
+    }
+
+    private static <T> @Nullable AutomaticAdapter<T> create(Class<T> type) throws ParserException {
+        try {
+            if (type.isRecord()) return ofRecord(type);
+            if (type.isAnnotationPresent(NBTSerializable.class)) return ofClass(type);
+            return null;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new ParserException("Cannot serialize " + type.getName() + " automatically, "
+                                      + "make sure its package is open to net.thenextlvl.nbt", e);
+        }
+    }
+
+    private static <T> AutomaticAdapter<T> ofRecord(Class<T> type) throws ReflectiveOperationException {
+        var components = type.getRecordComponents();
+        var properties = new Property[components.length];
+        var parameters = new Class<?>[components.length];
+        for (var i = 0; i < components.length; i++) {
+            var component = components[i];
+            var getter = unreflect(component.getAccessor()).asType(GETTER);
+            properties[i] = new Property(component.getName(), component.getGenericType(),
+                    defaultValue(component.getType()), getter, null);
+            parameters[i] = component.getType();
+        }
+        var constructor = unreflect(type.getDeclaredConstructor(parameters))
+                .asSpreader(Object[].class, components.length)
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        return new AutomaticAdapter<>(type, properties, constructor, true);
+    }
+
+    private static <T> AutomaticAdapter<T> ofClass(Class<T> type) throws ReflectiveOperationException {
+        var properties = new ArrayList<Property>();
+        for (Class<?> declaring = type; declaring != null && declaring != Object.class; declaring = declaring.getSuperclass()) {
+            for (var field : declaring.getDeclaredFields()) {
+                var modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) continue;
+                accessible(field);
+                var lookup = MethodHandles.lookup();
+                properties.add(new Property(field.getName(), field.getGenericType(), defaultValue(field.getType()),
+                        lookup.unreflectGetter(field).asType(GETTER), lookup.unreflectSetter(field).asType(SETTER)));
+            }
+        }
+        var constructor = unreflect(type.getDeclaredConstructor()).asType(MethodType.methodType(Object.class));
+        return new AutomaticAdapter<>(type, properties.toArray(Property[]::new), constructor, false);
+    }
+
+    private static MethodHandle unreflect(Method method) throws IllegalAccessException {
+        accessible(method);
+        return MethodHandles.lookup().unreflect(method);
+    }
+
+    private static MethodHandle unreflect(Constructor<?> constructor) throws IllegalAccessException {
+        accessible(constructor);
+        return MethodHandles.lookup().unreflectConstructor(constructor);
+    }
+
+    private static void accessible(AccessibleObject object) throws IllegalAccessException {
+        if (!object.trySetAccessible()) throw new IllegalAccessException("Cannot access " + object);
+    }
+
+    private static @Nullable Object defaultValue(Class<?> type) {
+        return type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+    }
+
+    @Override
+    public Tag serialize(T object, TagSerializationContext context) throws ParserException {
+        var builder = CompoundTag.builder();
+        for (var property : properties) {
+            var value = property.get(object);
+            if (value != null) builder.put(property.name(), context.serialize(value, property.type()));
+        }
+        return builder.build();
+    }
+
+    @Override
+    public T deserialize(Tag tag, TagDeserializationContext context) throws ParserException {
+        if (!tag.isCompound()) throw new ParserException("Expected a compound tag for " + type.getName() + ": " + tag);
+        var compound = tag.getAsCompound();
+        return record ? deserializeRecord(compound, context) : deserializeClass(compound, context);
+    }
+
+    private T deserializeRecord(CompoundTag compound, TagDeserializationContext context) throws ParserException {
+        var values = new Object[properties.length];
+        for (var i = 0; i < properties.length; i++) {
+            var property = properties[i];
+            var value = compound.get(property.name());
+            values[i] = value != null ? context.deserialize(value, property.type()) : property.defaultValue();
+        }
+        try {
+            return type.cast((Object) constructor.invokeExact(values));
+        } catch (Throwable t) {
+            throw new ParserException("Failed to create " + type.getName() + " from " + Arrays.toString(values), t);
+        }
+    }
+
+    /**
+     * Creates an instance and only assigns the fields present in the compound,
+     * keeping the initial values of missing fields.
+     */
+    private T deserializeClass(CompoundTag compound, TagDeserializationContext context) throws ParserException {
+        Object instance;
+        try {
+            instance = (Object) constructor.invokeExact();
+        } catch (Throwable t) {
+            throw new ParserException("Failed to create " + type.getName(), t);
+        }
+        for (var property : properties) {
+            var value = compound.get(property.name());
+            if (value != null) property.set(instance, context.deserialize(value, property.type()));
+        }
+        return type.cast(instance);
+    }
+
+    private record Property(
+            String name, Type type, @Nullable Object defaultValue,
+            MethodHandle getter, @Nullable MethodHandle setter
+    ) {
+        private @Nullable Object get(Object instance) throws ParserException {
+            try {
+                return (Object) getter.invokeExact(instance);
+            } catch (Throwable t) {
+                throw new ParserException("Failed to read " + name + " of " + instance.getClass().getName(), t);
+            }
+        }
+
+        private void set(Object instance, @Nullable Object value) throws ParserException {
+            if (setter != null) try {
+                setter.invokeExact(instance, value);
+            } catch (Throwable t) {
+                throw new ParserException("Failed to assign " + name + " of " + instance.getClass().getName(), t);
+            }
+        }
+    }
+}
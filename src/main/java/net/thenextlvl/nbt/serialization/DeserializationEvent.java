@@ -0,0 +1,38 @@
+package net.thenextlvl.nbt.serialization;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+import net.thenextlvl.nbt.tag.Tag;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.reflect.Type;
+
+/**
+ * Flight recorder event for deserializations exceeding the configured threshold.
+ * <p>
+ * Nested deserializations emit their own events, so the slowest adapter in a tree can be told apart from its callers.
+ */
+@Enabled(false)
+@Threshold("10 ms")
+@Name("net.thenextlvl.nbt.Deserialization")
+@Label("NBT Deserialization")
+@Category({"NBT", "Serialization"})
+final class DeserializationEvent extends Event {
+    @Label("Type")
+    @Nullable String type;
+
+    @Label("Tag Type")
+    byte tagType;
+
+    void commit(Type type, Tag tag) {
+        end();
+        if (!shouldCommit()) return;
+        this.type = type.getTypeName();
+        this.tagType = tag.getTypeId();
+        commit();
+    }
+}
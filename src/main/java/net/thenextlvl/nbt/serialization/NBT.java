@@ -1,9 +1,12 @@
 package net.thenextlvl.nbt.serialization;
 
+import net.thenextlvl.nbt.TagReader;
+import net.thenextlvl.nbt.TagWriter;
 import net.thenextlvl.nbt.tag.Tag;
 import org.jetbrains.annotations.Contract;
 
 import java.lang.reflect.Type;
+import java.util.function.Consumer;
 
 /**
  * The NBT class provides methods to serialize and deserialize objects to and from NBT tags,
@@ -28,6 +31,43 @@ public sealed interface NBT extends TagSerializationContext, TagDeserializationC
     @Contract(pure = true)
     int getIndents();
 
+    /**
+     * Returns whether the built-in adapters serialize into their compact encodings.
+     *
+     * @return true if compact encoding is enabled, false otherwise
+     * @see Builder#setCompactEncoding(boolean)
+     * @since 4.4.0
+     */
+    @Contract(pure = true)
+    boolean isCompactEncoding();
+
+    /**
+     * Returns whether adapters can be registered on this instance after it was built.
+     *
+     * @return true if this instance is extensible, false otherwise
+     * @see Builder#setExtensible(boolean)
+     * @since 4.4.0
+     */
+    @Contract(pure = true)
+    boolean isExtensible();
+
+    /**
+     * Registers further adapters on this extensible instance, for example for classes loaded after it was built.
+     * <p>
+     * The given consumer registers the adapters on a builder like the one this instance was built with,
+     * but only accepts registrations; changing other settings or building it fails.
+     * All registrations become visible at once when the consumer returns,
+     * without blocking concurrent serialization and without forgetting the adapters resolved for unrelated types.
+     * Registrations are applied one after another if called concurrently.
+     *
+     * @param registrations the consumer registering the adapters
+     * @throws UnsupportedOperationException if this instance is not extensible or the consumer changes other settings
+     * @see Builder#setExtensible(boolean)
+     * @since 4.4.0
+     */
+    @Contract(mutates = "this")
+    void registerAdapters(Consumer<? super Builder> registrations) throws UnsupportedOperationException;
+
     /**
      * Returns a string representation of the given Tag.
      *
@@ -119,6 +159,65 @@ public sealed interface NBT extends TagSerializationContext, TagDeserializationC
         @Contract(value = "_, _ -> this", mutates = "this")
         <T> Builder registerTypeAdapter(Type type, TagSerializer<T> serializer);
 
+        /**
+         * Registers a custom stream adapter for both streaming serialization and deserialization of the specified type.
+         * <p>
+         * Stream adapters are used by {@link TagSerializationContext#write(Object, Type, TagWriter)}
+         * and {@link TagDeserializationContext#read(TagReader, Type)} for exactly the registered type.
+         * Other types are streamed through their regular adapters instead.
+         *
+         * @param <T>     the type of the objects handled by the adapter
+         * @param type    the type for which the adapter is to be registered
+         * @param adapter the instance of TagStreamAdapter to handle both streaming serialization and deserialization
+         * @return the current builder instance for chaining
+         * @since 4.4.0
+         */
+        @Contract(value = "_, _ -> this", mutates = "this")
+        <T> Builder registerStreamAdapter(Type type, TagStreamAdapter<T> adapter);
+
+        /**
+         * Registers a custom stream deserializer for the specified type.
+         *
+         * @param <T>          the type of the objects handled by the deserializer
+         * @param type         the type for which the deserializer is to be registered
+         * @param deserializer the instance of TagStreamDeserializer to handle reading the specified type
+         * @return the current builder instance for chaining
+         * @see #registerStreamAdapter(Type, TagStreamAdapter)
+         * @since 4.4.0
+         */
+        @Contract(value = "_, _ -> this", mutates = "this")
+        <T> Builder registerStreamAdapter(Type type, TagStreamDeserializer<T> deserializer);
+
+        /**
+         * Registers a custom stream serializer for the specified type.
+         *
+         * @param <T>        the type of the objects to be serialized
+         * @param type       the type for which the serializer is to be registered
+         * @param serializer the instance of TagStreamSerializer to handle writing the specified type
+         * @return the current builder instance for chaining
+         * @see #registerStreamAdapter(Type, TagStreamAdapter)
+         * @since 4.4.0
+         */
+        @Contract(value = "_, _ -> this", mutates = "this")
+        <T> Builder registerStreamAdapter(Type type, TagStreamSerializer<T> serializer);
+
+        /**
+         * Registers the adapters generated by the {@code nbt-processor} annotation processor
+         * for the classes annotated with {@link NBTSerializable}, as listed in the index of every jar
+         * visible to the given class loader.
+         * <p>
+         * Generated adapters read and write fields directly, without any reflection.
+         * Classes in named modules must export their package to {@code net.thenextlvl.nbt},
+         * or register the generated adapters themselves.
+         *
+         * @param loader the class loader to find the index and adapters with
+         * @return the current builder instance for chaining
+         * @throws IllegalStateException if the index can't be read or an adapter can't be created
+         * @since 4.4.0
+         */
+        @Contract(value = "_ -> this", mutates = "this")
+        Builder registerGeneratedAdapters(ClassLoader loader) throws IllegalStateException;
+
         /**
          * Sets whether the NBT output should be formatted with indentation and line breaks.
          *
@@ -139,6 +238,32 @@ public sealed interface NBT extends TagSerializationContext, TagDeserializationC
         @Contract(value = "_ -> this", mutates = "this")
         Builder setIndents(int indents);
 
+        /**
+         * Sets whether the built-in adapters should serialize into compact encodings,
+         * {@link java.util.UUID UUIDs} as an int array of four ints, like the game itself does,
+         * and resolved {@link java.net.InetSocketAddress addresses} as a byte array of the raw address followed by the port.
+         * <p>
+         * The built-in deserializers accept both encodings regardless of this setting,
+         * so existing data stays readable. Custom adapters registered for these types are not replaced.
+         *
+         * @param compactEncoding whether to enable compact encoding
+         * @return the current builder instance for chaining
+         * @since 4.4.0
+         */
+        @Contract(value = "_ -> this", mutates = "this")
+        Builder setCompactEncoding(boolean compactEncoding);
+
+        /**
+         * Sets whether adapters can be registered on the built instance using {@link NBT#registerAdapters(Consumer)},
+         * instead of building a new instance.
+         *
+         * @param extensible whether the built instance should be extensible
+         * @return the current builder instance for chaining
+         * @since 4.4.0
+         */
+        @Contract(value = "_ -> this", mutates = "this")
+        Builder setExtensible(boolean extensible);
+
         /**
          * Constructs and returns an instance of NBT using the configured serializers and deserializers.
          *
@@ -0,0 +1,29 @@
+package net.thenextlvl.nbt.serialization;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class to be serialized automatically into a {@code CompoundTag} of its fields
+ * when no adapter is registered for it.
+ * <p>
+ * All non-static, non-transient fields declared by the class and its superclasses are serialized by their name.
+ * The class must declare a constructor without parameters, which is used to create instances while deserializing.
+ * Records are serialized by their components without requiring this annotation.
+ * <p>
+ * Classes in named modules must open their package to {@code net.thenextlvl.nbt}.
+ * <p>
+ * The {@code nbt-processor} annotation processor generates adapters for annotated types at compile time,
+ * which are registered with {@link NBT.Builder#registerGeneratedAdapters(ClassLoader)}.
+ *
+ * @see NBT#serialize(Object)
+ * @since 4.4.0
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface NBTSerializable {
+}
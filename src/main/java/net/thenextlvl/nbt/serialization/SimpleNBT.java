@@ -1,14 +1,24 @@
 package net.thenextlvl.nbt.serialization;
 
+import net.thenextlvl.nbt.TagReader;
+import net.thenextlvl.nbt.TagWriter;
 import net.thenextlvl.nbt.serialization.adapters.AddressAdapter;
+import net.thenextlvl.nbt.serialization.adapters.ArrayAdapter;
 import net.thenextlvl.nbt.serialization.adapters.BooleanAdapter;
 import net.thenextlvl.nbt.serialization.adapters.ByteAdapter;
+import net.thenextlvl.nbt.serialization.adapters.ByteArrayAdapter;
+import net.thenextlvl.nbt.serialization.adapters.CollectionAdapter;
 import net.thenextlvl.nbt.serialization.adapters.DoubleAdapter;
 import net.thenextlvl.nbt.serialization.adapters.DurationAdapter;
+import net.thenextlvl.nbt.serialization.adapters.EnumAdapter;
 import net.thenextlvl.nbt.serialization.adapters.FileAdapter;
 import net.thenextlvl.nbt.serialization.adapters.FloatAdapter;
+import net.thenextlvl.nbt.serialization.adapters.IntArrayAdapter;
 import net.thenextlvl.nbt.serialization.adapters.IntegerAdapter;
 import net.thenextlvl.nbt.serialization.adapters.LongAdapter;
+import net.thenextlvl.nbt.serialization.adapters.LongArrayAdapter;
+import net.thenextlvl.nbt.serialization.adapters.MapAdapter;
+import net.thenextlvl.nbt.serialization.adapters.OptionalAdapter;
 import net.thenextlvl.nbt.serialization.adapters.PathAdapter;
 import net.thenextlvl.nbt.serialization.adapters.ShortAdapter;
 import net.thenextlvl.nbt.serialization.adapters.StringAdapter;
@@ -17,50 +27,171 @@ import net.thenextlvl.nbt.tag.CompoundTag;
 import net.thenextlvl.nbt.tag.IterableTag;
 import net.thenextlvl.nbt.tag.ListTag;
 import net.thenextlvl.nbt.tag.Tag;
+import org.jspecify.annotations.Nullable;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
 import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 final class SimpleNBT implements NBT {
-    private final SerializationRegistry registry;
+    /**
+     * The current registry, replaced as a whole when adapters are registered on an extensible instance,
+     * so that lookups never have to lock.
+     */
+    private volatile SerializationRegistry registry;
+    private final HierarchyCache<TagDeserializer<?>> hierarchyDeserializers = new HierarchyCache<>(SerializationRegistry::hierarchyDeserializers);
+    private final HierarchyCache<TagSerializer<?>> hierarchySerializers = new HierarchyCache<>(SerializationRegistry::hierarchySerializers);
+    private final Map<Type, Optional<TagAdapter<Object>>> composedAdapters = new ConcurrentHashMap<>();
+    private final Object registrationLock = new Object();
     private final boolean prettyPrinting;
+    private final boolean compactEncoding;
+    private final boolean extensible;
     private final int indents;
 
-    private SimpleNBT(SerializationRegistry registry, boolean prettyPrinting, int indents) {
+    private SimpleNBT(SerializationRegistry registry, boolean prettyPrinting, boolean compactEncoding, boolean extensible, int indents) {
         this.registry = registry;
         this.prettyPrinting = prettyPrinting;
+        this.compactEncoding = compactEncoding;
+        this.extensible = extensible;
         this.indents = indents;
     }
 
     @Override
-    @SuppressWarnings("unchecked")
+    public void registerAdapters(Consumer<? super NBT.Builder> registrations) throws UnsupportedOperationException {
+        if (!extensible) throw new UnsupportedOperationException("Adapters can only be registered on extensible instances");
+        synchronized (registrationLock) {
+            var previous = registry;
+            var builder = new Builder(previous.mutableCopy());
+            registrations.accept(builder);
+            var updated = builder.registry.immutableCopy(compactEncoding).succeeding(previous);
+            registry = updated;
+            invalidateComposedAdapters(previous, updated);
+        }
+    }
+
+    /**
+     * Removes the composed adapters of all types that mention a type whose adapters changed,
+     * keeping the adapters of unrelated types.
+     */
+    private void invalidateComposedAdapters(SerializationRegistry previous, SerializationRegistry updated) {
+        var types = new HashSet<Type>();
+        types.addAll(changed(previous.serializers(), updated.serializers()));
+        types.addAll(changed(previous.deserializers(), updated.deserializers()));
+        var hierarchy = new HashSet<Class<?>>();
+        hierarchy.addAll(changed(previous.hierarchySerializers(), updated.hierarchySerializers()));
+        hierarchy.addAll(changed(previous.hierarchyDeserializers(), updated.hierarchyDeserializers()));
+        if (types.isEmpty() && hierarchy.isEmpty()) return;
+        composedAdapters.keySet().removeIf(type -> mentions(type, mentioned -> types.contains(mentioned)
+                || mentioned instanceof Class<?> clazz && hierarchy.stream().anyMatch(changed -> changed.isAssignableFrom(clazz))));
+    }
+
+    /**
+     * Returns the keys whose values differ between the given maps.
+     */
+    private static <K> Set<K> changed(Map<K, ?> previous, Map<K, ?> updated) {
+        var keys = new HashSet<K>();
+        updated.forEach((key, value) -> {
+            if (previous.get(key) != value) keys.add(key);
+        });
+        previous.keySet().forEach(key -> {
+            if (!updated.containsKey(key)) keys.add(key);
+        });
+        return keys;
+    }
+
+    private static boolean mentions(Type type, Predicate<Type> predicate) {
+        if (predicate.test(type)) return true;
+        return switch (type) {
+            case ParameterizedType parameterized -> Arrays.stream(parameterized.getActualTypeArguments())
+                    .anyMatch(argument -> mentions(argument, predicate));
+            case GenericArrayType array -> mentions(array.getGenericComponentType(), predicate);
+            case WildcardType wildcard -> Arrays.stream(wildcard.getUpperBounds())
+                    .anyMatch(bound -> mentions(bound, predicate));
+            case Class<?> clazz -> clazz.isArray() && mentions(clazz.getComponentType(), predicate);
+            default -> false;
+        };
+    }
+
+    @Override
     public <T> T deserialize(Tag tag, Class<T> type) throws ParserException {
+        var event = new DeserializationEvent();
+        event.begin();
+        try {
+            return deserializeClass(tag, type);
+        } finally {
+            event.commit(type, tag);
+        }
+    }
+
+    @Override
+    public <T> T deserialize(Tag tag, Type type) throws ParserException {
+        var event = new DeserializationEvent();
+        event.begin();
+        try {
+            return deserializeType(tag, type);
+        } finally {
+            event.commit(type, tag);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T deserializeClass(Tag tag, Class<T> type) throws ParserException {
         var deserializer = registry.hierarchyDeserializers.get(type);
         if (deserializer != null) return (T) deserializer.deserialize(tag, this);
-        return registry.hierarchyDeserializers.entrySet().stream()
-                .filter(entry -> type.isAssignableFrom(entry.getKey()))
-                .findAny()
-                .map(entry -> (T) entry.getValue().deserialize(tag, this))
-                .orElseGet(() -> {
-                    var typed = (TagDeserializer<Object>) registry.deserializers.get(type);
-                    if (typed != null) return (T) typed.deserialize(tag, this);
-                    throw new ParserException("No tag deserializer registered for type: " + type);
-                });
+        var typed = registry.deserializers.get(type);
+        if (typed != null) return (T) typed.deserialize(tag, this);
+        // adapters of supertypes only apply after the exact ones, and may not produce an instance of the type
+        var inherited = hierarchyDeserializers.lookup(type);
+        if (inherited != null) {
+            var object = inherited.deserialize(tag, this);
+            if (object == null || type.isPrimitive() || type.isInstance(object)) return (T) object;
+            throw new ParserException("Hierarchy deserializer produced " + object.getClass().getName()
+                                      + " instead of " + type.getName());
+        }
+        var composed = composedAdapter(type);
+        if (composed != null) return (T) composed.deserialize(tag, this);
+        var automatic = AutomaticAdapter.get(type);
+        if (automatic != null) return automatic.deserialize(tag, this);
+        throw new ParserException("No tag deserializer registered for type: " + type);
     }
 
-
-    @Override
     @SuppressWarnings("unchecked")
-    public <T> T deserialize(Tag tag, Type type) throws ParserException {
+    private <T> T deserializeType(Tag tag, Type type) throws ParserException {
         var deserializer = registry.deserializers.get(type);
         if (deserializer != null) return (T) deserializer.deserialize(tag, this);
-        if (type instanceof Class<?> clazz) return (T) deserialize(tag, clazz);
+        if (type instanceof Class<?> clazz) return (T) deserializeClass(tag, clazz);
+        var composed = composedAdapter(type);
+        if (composed != null) return (T) composed.deserialize(tag, this);
         throw new ParserException("No tag deserializer registered for type: " + type);
     }
 
@@ -74,16 +205,15 @@ final class SimpleNBT implements NBT {
     public Tag serialize(Object object, Class<?> type) throws ParserException {
         var serializer = (TagSerializer<Object>) registry.hierarchySerializers.get(type);
         if (serializer != null) return serializer.serialize(object, this);
-        return registry.hierarchySerializers.entrySet().stream()
-                .filter(entry -> entry.getKey().isInstance(object))
-                .findAny()
-                .map(entry -> (TagSerializer<Object>) entry.getValue())
-                .map(value -> value.serialize(object, this))
-                .orElseGet(() -> {
-                    var typed = (TagSerializer<Object>) registry.serializers.get(type);
-                    if (typed != null) return typed.serialize(object, this);
-                    throw new ParserException("No tag serializer registered for type: " + object.getClass());
-                });
+        var resolved = (TagSerializer<Object>) hierarchySerializers.lookup(object.getClass());
+        if (resolved != null) return resolved.serialize(object, this);
+        var typed = (TagSerializer<Object>) registry.serializers.get(type);
+        if (typed != null) return typed.serialize(object, this);
+        var composed = composedAdapter(type);
+        if (composed != null) return composed.serialize(object, this);
+        var automatic = (AutomaticAdapter<Object>) AutomaticAdapter.get(object.getClass());
+        if (automatic != null) return automatic.serialize(object, this);
+        throw new ParserException("No tag serializer registered for type: " + object.getClass());
     }
 
     @Override
@@ -92,9 +222,198 @@ final class SimpleNBT implements NBT {
         var serializer = (TagSerializer<Object>) registry.serializers.get(type);
         if (serializer != null) return serializer.serialize(object, this);
         if (type instanceof Class<?> clazz) return serialize(object, clazz);
+        var composed = composedAdapter(type);
+        if (composed != null) return composed.serialize(object, this);
         throw new ParserException("No tag serializer registered for type: " + type);
     }
 
+    @Override
+    public void write(Object object, TagWriter writer) throws IOException, ParserException {
+        write(object, object.getClass(), writer);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void write(Object object, Type type, TagWriter writer) throws IOException, ParserException {
+        var serializer = (TagStreamSerializer<Object>) registry.streamSerializers.get(type);
+        if (serializer != null) serializer.serialize(object, writer, this);
+        else writer.value(serialize(object, type));
+    }
+
+    @Override
+    public <T> T read(TagReader reader, Class<T> type) throws IOException, ParserException {
+        return read(reader, (Type) type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T read(TagReader reader, Type type) throws IOException, ParserException {
+        var deserializer = registry.streamDeserializers.get(type);
+        if (deserializer != null) return (T) deserializer.deserialize(reader, this);
+        return deserialize(reader.nextTag(), type);
+    }
+
+    /**
+     * Returns the adapter composed for enums, collections, maps with string keys, optionals and arrays of the given type,
+     * caching it per type so that the adapters of their elements are only resolved once.
+     */
+    private @Nullable TagAdapter<Object> composedAdapter(Type type) {
+        var adapter = composedAdapters.get(type);
+        if (adapter != null) return adapter.orElse(null);
+        var registry = this.registry;
+        // not computeIfAbsent, composing nested types recursively looks up their elements
+        adapter = Optional.ofNullable(compose(type));
+        var previous = composedAdapters.putIfAbsent(type, adapter);
+        // adapters registered meanwhile may have been invalidated before this one was cached
+        if (previous == null && registry != this.registry) composedAdapters.remove(type, adapter);
+        return (previous != null ? previous : adapter).orElse(null);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private @Nullable TagAdapter<Object> compose(Type type) {
+        var raw = rawType(type);
+        if (raw.isArray()) {
+            var component = type instanceof GenericArrayType array ? array.getGenericComponentType() : raw.getComponentType();
+            return new ArrayAdapter(raw.getComponentType(), element(component));
+        }
+        if (Enum.class.isAssignableFrom(raw) && raw != Enum.class) {
+            // constants with a body are instances of an anonymous subclass of their enum,
+            // resolved like their enum so that adapters registered for it take precedence
+            if (!raw.isEnum()) return new ElementAdapter(raw.getSuperclass(), null, null);
+            return new EnumAdapter(raw);
+        }
+        if (raw == Optional.class) return (TagAdapter) new OptionalAdapter(element(typeArgument(type, 0)));
+        if (Collection.class.isAssignableFrom(raw))
+            return (TagAdapter) new CollectionAdapter(raw, element(typeArgument(type, 0)), collectionFactory(raw));
+        if (Map.class.isAssignableFrom(raw)) {
+            var key = typeArgument(type, 0);
+            if (key != String.class && key != Object.class) return null;
+            return (TagAdapter) new MapAdapter(raw, element(typeArgument(type, 1)), mapFactory(raw));
+        }
+        return null;
+    }
+
+    /**
+     * Resolves the adapter of the elements of a composed type,
+     * falling back to this context for types that are resolved by the runtime class of each element.
+     */
+    @SuppressWarnings("unchecked")
+    private TagAdapter<Object> element(Type type) {
+        var serializer = (TagSerializer<Object>) registry.serializers.get(type);
+        var deserializer = (TagDeserializer<Object>) registry.deserializers.get(type);
+        var composed = type instanceof Class<?> clazz && !clazz.isArray() ? null : composedAdapter(type);
+        return new ElementAdapter(type,
+                serializer != null ? serializer : composed,
+                deserializer != null ? deserializer : composed);
+    }
+
+    private static Class<?> rawType(Type type) {
+        return switch (type) {
+            case Class<?> clazz -> clazz;
+            case ParameterizedType parameterized -> rawType(parameterized.getRawType());
+            case GenericArrayType array -> rawType(array.getGenericComponentType()).arrayType();
+            case WildcardType wildcard -> rawType(wildcard.getUpperBounds()[0]);
+            default -> Object.class;
+        };
+    }
+
+    private static Type typeArgument(Type type, int index) {
+        if (!(type instanceof ParameterizedType parameterized)) return Object.class;
+        return switch (parameterized.getActualTypeArguments()[index]) {
+            case WildcardType wildcard -> wildcard.getUpperBounds()[0];
+            case TypeVariable<?> ignored -> Object.class;
+            case Type argument -> argument;
+        };
+    }
+
+    private static @Nullable Supplier<? extends Collection<Object>> collectionFactory(Class<?> type) {
+        if (type.isAssignableFrom(ArrayList.class)) return ArrayList::new;
+        if (type.isAssignableFrom(LinkedHashSet.class)) return LinkedHashSet::new;
+        if (type.isAssignableFrom(TreeSet.class)) return TreeSet::new;
+        if (type.isAssignableFrom(ArrayDeque.class)) return ArrayDeque::new;
+        if (type.isAssignableFrom(LinkedList.class)) return LinkedList::new;
+        return null;
+    }
+
+    private static @Nullable Supplier<? extends Map<Object, Object>> mapFactory(Class<?> type) {
+        if (type.isAssignableFrom(LinkedHashMap.class)) return LinkedHashMap::new;
+        if (type.isAssignableFrom(TreeMap.class)) return TreeMap::new;
+        if (type.isAssignableFrom(ConcurrentHashMap.class)) return ConcurrentHashMap::new;
+        return null;
+    }
+
+    /**
+     * Caches the hierarchy adapter resolved for the most specific supertype of each class,
+     * remembering classes without any adapter as well.
+     * <p>
+     * Every resolution remembers the generation of the registry it is valid for.
+     * After adapters were registered at runtime, a class is only resolved again
+     * if one of the changed hierarchy adapters applies to it.
+     */
+    private final class HierarchyCache<T> extends ClassValue<Resolution<T>> {
+        private final Function<SerializationRegistry, Map<Class<?>, T>> adapters;
+
+        private HierarchyCache(Function<SerializationRegistry, Map<Class<?>, T>> adapters) {
+            this.adapters = adapters;
+        }
+
+        @Override
+        protected Resolution<T> computeValue(Class<?> type) {
+            var registry = SimpleNBT.this.registry;
+            return new Resolution<>(resolve(adapters.apply(registry), type), registry.generation());
+        }
+
+        private @Nullable T lookup(Class<?> type) {
+            var registry = SimpleNBT.this.registry;
+            var resolution = get(type);
+            if (resolution.generation == registry.generation()) return resolution.adapter;
+            if (registry.changedSince(resolution.generation, type)) {
+                remove(type);
+                return get(type).adapter;
+            }
+            resolution.generation = registry.generation();
+            return resolution.adapter;
+        }
+    }
+
+    private static final class Resolution<T> {
+        private final @Nullable T adapter;
+        private volatile long generation;
+
+        private Resolution(@Nullable T adapter, long generation) {
+            this.adapter = adapter;
+            this.generation = generation;
+        }
+    }
+
+    /**
+     * Resolves the adapter registered for the most specific supertype of the given type, including itself.
+     * <p>
+     * Supertypes are visited breadth-first, superclasses before interfaces in declaration order,
+     * so that ties between unrelated interfaces are broken deterministically.
+     */
+    private static <T> @Nullable T resolve(Map<Class<?>, T> adapters, Class<?> type) {
+        if (adapters.isEmpty()) return null;
+        var candidates = new ArrayList<Class<?>>();
+        var visited = new HashSet<Class<?>>();
+        var queue = new ArrayDeque<Class<?>>();
+        queue.add(type);
+        while (!queue.isEmpty()) {
+            var current = queue.poll();
+            if (!visited.add(current)) continue;
+            if (adapters.containsKey(current)) candidates.add(current);
+            if (current.getSuperclass() != null) queue.add(current.getSuperclass());
+            queue.addAll(Arrays.asList(current.getInterfaces()));
+        }
+        if (!type.isPrimitive() && visited.add(Object.class) && adapters.containsKey(Object.class))
+            candidates.add(Object.class);
+        for (var candidate : candidates) {
+            if (candidates.stream().noneMatch(other -> other != candidate && candidate.isAssignableFrom(other)))
+                return adapters.get(candidate);
+        }
+        return null;
+    }
+
     @Override
     public boolean isPrettyPrinting() {
         return prettyPrinting;
@@ -105,6 +424,16 @@ final class SimpleNBT implements NBT {
         return indents;
     }
 
+    @Override
+    public boolean isCompactEncoding() {
+        return compactEncoding;
+    }
+
+    @Override
+    public boolean isExtensible() {
+        return extensible;
+    }
+
     @Override
     public String toString(Tag tag) {
         return prettyPrinting ? "\"\": " + prettify(tag, 0) : tag.toString();
@@ -149,11 +478,50 @@ final class SimpleNBT implements NBT {
         };
     }
 
+    private record ElementAdapter(
+            Type type,
+            @Nullable TagSerializer<Object> serializer,
+            @Nullable TagDeserializer<Object> deserializer
+    ) implements TagAdapter<Object> {
+        @Override
+        public Object deserialize(Tag tag, TagDeserializationContext context) throws ParserException {
+            if (deserializer != null) return deserializer.deserialize(tag, context);
+            return context.deserialize(tag, type);
+        }
+
+        @Override
+        public Tag serialize(Object object, TagSerializationContext context) throws ParserException {
+            if (serializer != null) return serializer.serialize(object, context);
+            return type == Object.class ? context.serialize(object) : context.serialize(object, type);
+        }
+    }
+
     static final class Builder implements NBT.Builder {
-        private final SerializationRegistry registry = new SerializationRegistry();
+        /**
+         * The index written by the annotation processor, listing one type and its adapter per line.
+         */
+        private static final String GENERATED_ADAPTERS = "META-INF/net.thenextlvl.nbt/tag-adapters";
+
+        private final SerializationRegistry registry;
+        /**
+         * Whether this builder only registers adapters on an already built extensible instance.
+         */
+        private final boolean registering;
         private boolean prettyPrinting = false;
+        private boolean compactEncoding = false;
+        private boolean extensible = false;
         private int indents = 4;
 
+        Builder() {
+            this.registry = new SerializationRegistry();
+            this.registering = false;
+        }
+
+        private Builder(SerializationRegistry registry) {
+            this.registry = registry;
+            this.registering = true;
+        }
+
         @Override
         public <T> NBT.Builder registerTypeHierarchyAdapter(Class<?> type, TagAdapter<T> adapter) {
             registry.registerTypeHierarchyAdapter(type, adapter);
@@ -190,21 +558,93 @@ final class SimpleNBT implements NBT {
             return this;
         }
 
+        @Override
+        public <T> NBT.Builder registerStreamAdapter(Type type, TagStreamAdapter<T> adapter) {
+            registry.registerStreamAdapter(type, adapter);
+            return this;
+        }
+
+        @Override
+        public <T> NBT.Builder registerStreamAdapter(Type type, TagStreamDeserializer<T> deserializer) {
+            registry.registerStreamAdapter(type, deserializer);
+            return this;
+        }
+
+        @Override
+        public <T> NBT.Builder registerStreamAdapter(Type type, TagStreamSerializer<T> serializer) {
+            registry.registerStreamAdapter(type, serializer);
+            return this;
+        }
+
+        @Override
+        public NBT.Builder registerGeneratedAdapters(ClassLoader loader) throws IllegalStateException {
+            try {
+                var resources = loader.getResources(GENERATED_ADAPTERS);
+                while (resources.hasMoreElements()) {
+                    var resource = resources.nextElement();
+                    try (var reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+                        String line;
+                        while ((line = reader.readLine()) != null) {
+                            line = line.strip();
+                            if (!line.isEmpty() && !line.startsWith("#")) registerGeneratedAdapter(loader, line);
+                        }
+                    }
+                }
+                return this;
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to read " + GENERATED_ADAPTERS, e);
+            }
+        }
+
+        private void registerGeneratedAdapter(ClassLoader loader, String entry) throws IllegalStateException {
+            var separator = entry.indexOf(' ');
+            if (separator == -1) throw new IllegalStateException("Malformed entry in " + GENERATED_ADAPTERS + ": " + entry);
+            var type = entry.substring(0, separator);
+            var adapter = entry.substring(separator + 1).strip();
+            try {
+                var instance = Class.forName(adapter, true, loader).getConstructor().newInstance();
+                registry.registerTypeAdapter(Class.forName(type, false, loader), (TagAdapter<?>) instance);
+            } catch (ReflectiveOperationException | ClassCastException e) {
+                throw new IllegalStateException("Failed to create generated adapter " + adapter + " for " + type, e);
+            }
+        }
+
         @Override
         public NBT.Builder setPrettyPrinting(boolean prettyPrinting) {
+            checkConfigurable();
             this.prettyPrinting = prettyPrinting;
             return this;
         }
 
         @Override
         public NBT.Builder setIndents(int indents) {
+            checkConfigurable();
             this.indents = indents;
             return this;
         }
 
+        @Override
+        public NBT.Builder setCompactEncoding(boolean compactEncoding) {
+            checkConfigurable();
+            this.compactEncoding = compactEncoding;
+            return this;
+        }
+
+        @Override
+        public NBT.Builder setExtensible(boolean extensible) {
+            checkConfigurable();
+            this.extensible = extensible;
+            return this;
+        }
+
         @Override
         public NBT build() {
-            return new SimpleNBT(registry.immutableCopy(), prettyPrinting, indents);
+            checkConfigurable();
+            return new SimpleNBT(registry.immutableCopy(compactEncoding), prettyPrinting, compactEncoding, extensible, indents);
+        }
+
+        private void checkConfigurable() throws UnsupportedOperationException {
+            if (registering) throw new UnsupportedOperationException("Only adapters can be registered on a built instance");
         }
     }
 
@@ -212,10 +652,40 @@ final class SimpleNBT implements NBT {
             Map<Class<?>, TagDeserializer<?>> hierarchyDeserializers,
             Map<Class<?>, TagSerializer<?>> hierarchySerializers,
             Map<Type, TagDeserializer<?>> deserializers,
-            Map<Type, TagSerializer<?>> serializers
+            Map<Type, TagSerializer<?>> serializers,
+            Map<Type, TagStreamDeserializer<?>> streamDeserializers,
+            Map<Type, TagStreamSerializer<?>> streamSerializers,
+            long generation,
+            Map<Class<?>, Long> hierarchyGenerations
     ) {
+        /**
+         * The built-in adapters that write and read their values directly,
+         * only used for as long as they are the tag adapters registered for their type.
+         */
+        private static final Map<Class<?>, TagStreamAdapter<?>> BUILT_IN_STREAM_ADAPTERS = Map.ofEntries(
+                Map.entry(Boolean.class, BooleanAdapter.INSTANCE),
+                Map.entry(Byte.class, ByteAdapter.INSTANCE),
+                Map.entry(Double.class, DoubleAdapter.INSTANCE),
+                Map.entry(Float.class, FloatAdapter.INSTANCE),
+                Map.entry(Integer.class, IntegerAdapter.INSTANCE),
+                Map.entry(Long.class, LongAdapter.INSTANCE),
+                Map.entry(Short.class, ShortAdapter.INSTANCE),
+                Map.entry(String.class, StringAdapter.INSTANCE),
+                Map.entry(UUID.class, UUIDAdapter.INSTANCE),
+                Map.entry(byte[].class, ByteArrayAdapter.INSTANCE),
+                Map.entry(int[].class, IntArrayAdapter.INSTANCE),
+                Map.entry(long[].class, LongArrayAdapter.INSTANCE),
+                Map.entry(boolean.class, BooleanAdapter.INSTANCE),
+                Map.entry(byte.class, ByteAdapter.INSTANCE),
+                Map.entry(double.class, DoubleAdapter.INSTANCE),
+                Map.entry(float.class, FloatAdapter.INSTANCE),
+                Map.entry(int.class, IntegerAdapter.INSTANCE),
+                Map.entry(long.class, LongAdapter.INSTANCE),
+                Map.entry(short.class, ShortAdapter.INSTANCE)
+        );
+
         public SerializationRegistry() {
-            this(new HashMap<>(), new HashMap<>(), new HashMap<>(), new HashMap<>());
+            this(new HashMap<>(), new HashMap<>(), new HashMap<>(), new HashMap<>(), new HashMap<>(), new HashMap<>(), 0, Map.of());
             registerTypeAdapter(Boolean.class, BooleanAdapter.INSTANCE);
             registerTypeAdapter(Byte.class, ByteAdapter.INSTANCE);
             registerTypeAdapter(Double.class, DoubleAdapter.INSTANCE);
@@ -229,6 +699,9 @@ final class SimpleNBT implements NBT {
             registerTypeAdapter(Short.class, ShortAdapter.INSTANCE);
             registerTypeAdapter(String.class, StringAdapter.INSTANCE);
             registerTypeAdapter(UUID.class, UUIDAdapter.INSTANCE);
+            registerTypeAdapter(byte[].class, ByteArrayAdapter.INSTANCE);
+            registerTypeAdapter(int[].class, IntArrayAdapter.INSTANCE);
+            registerTypeAdapter(long[].class, LongArrayAdapter.INSTANCE);
             registerTypeAdapter(boolean.class, BooleanAdapter.INSTANCE);
             registerTypeAdapter(byte.class, ByteAdapter.INSTANCE);
             registerTypeAdapter(double.class, DoubleAdapter.INSTANCE);
@@ -236,6 +709,7 @@ final class SimpleNBT implements NBT {
             registerTypeAdapter(int.class, IntegerAdapter.INSTANCE);
             registerTypeAdapter(long.class, LongAdapter.INSTANCE);
             registerTypeAdapter(short.class, ShortAdapter.INSTANCE);
+            BUILT_IN_STREAM_ADAPTERS.forEach(this::registerStreamAdapter);
         }
 
         public void registerTypeHierarchyAdapter(Class<?> clazz, TagAdapter<?> adapter) {
@@ -264,13 +738,91 @@ final class SimpleNBT implements NBT {
             serializers.put(type, serializer);
         }
 
-        public SerializationRegistry immutableCopy() {
+        public void registerStreamAdapter(Type type, TagStreamAdapter<?> adapter) {
+            streamDeserializers.put(type, adapter);
+            streamSerializers.put(type, adapter);
+        }
+
+        public void registerStreamAdapter(Type type, TagStreamDeserializer<?> deserializer) {
+            streamDeserializers.put(type, deserializer);
+        }
+
+        public void registerStreamAdapter(Type type, TagStreamSerializer<?> serializer) {
+            streamSerializers.put(type, serializer);
+        }
+
+        public SerializationRegistry immutableCopy(boolean compactEncoding) {
+            var serializers = new HashMap<>(this.serializers);
+            var streamSerializers = new HashMap<>(this.streamSerializers);
+            var streamDeserializers = new HashMap<>(this.streamDeserializers);
+            if (compactEncoding) {
+                // only replace the built-in serializers, keeping custom ones
+                serializers.replace(InetSocketAddress.class, AddressAdapter.INSTANCE, AddressAdapter.COMPACT);
+                serializers.replace(UUID.class, UUIDAdapter.INSTANCE, UUIDAdapter.COMPACT);
+                streamSerializers.replace(UUID.class, UUIDAdapter.INSTANCE, UUIDAdapter.COMPACT);
+            }
+            retainBuiltInStreamAdapters(streamSerializers, serializers);
+            retainBuiltInStreamAdapters(streamDeserializers, deserializers);
             return new SerializationRegistry(
                     Map.copyOf(hierarchyDeserializers),
                     Map.copyOf(hierarchySerializers),
                     Map.copyOf(deserializers),
-                    Map.copyOf(serializers)
+                    Map.copyOf(serializers),
+                    Map.copyOf(streamDeserializers),
+                    Map.copyOf(streamSerializers),
+                    generation,
+                    hierarchyGenerations
+            );
+        }
+
+        /**
+         * Removes the built-in stream adapters of types whose tag adapters were replaced,
+         * so that streaming never bypasses a custom adapter.
+         */
+        private static void retainBuiltInStreamAdapters(Map<Type, ?> stream, Map<Type, ?> adapters) {
+            stream.entrySet().removeIf(entry -> (BUILT_IN_STREAM_ADAPTERS.containsValue(entry.getValue())
+                                                 || entry.getValue() == UUIDAdapter.COMPACT)
+                                                && adapters.get(entry.getKey()) != entry.getValue());
+        }
+
+        public SerializationRegistry mutableCopy() {
+            return new SerializationRegistry(
+                    new HashMap<>(hierarchyDeserializers),
+                    new HashMap<>(hierarchySerializers),
+                    new HashMap<>(deserializers),
+                    new HashMap<>(serializers),
+                    new HashMap<>(streamDeserializers),
+                    new HashMap<>(streamSerializers),
+                    generation,
+                    hierarchyGenerations
             );
         }
+
+        /**
+         * Returns this registry as the next generation after the given one,
+         * remembering in which generation each changed hierarchy adapter was registered.
+         */
+        public SerializationRegistry succeeding(SerializationRegistry previous) {
+            var generation = previous.generation() + 1;
+            var hierarchyGenerations = new HashMap<>(previous.hierarchyGenerations());
+            changed(previous.hierarchySerializers(), hierarchySerializers).forEach(type -> hierarchyGenerations.put(type, generation));
+            changed(previous.hierarchyDeserializers(), hierarchyDeserializers).forEach(type -> hierarchyGenerations.put(type, generation));
+            return new SerializationRegistry(
+                    hierarchyDeserializers, hierarchySerializers,
+                    deserializers, serializers,
+                    streamDeserializers, streamSerializers,
+                    generation, Map.copyOf(hierarchyGenerations)
+            );
+        }
+
+        /**
+         * Returns whether a hierarchy adapter applying to the given type changed after the given generation.
+         */
+        public boolean changedSince(long generation, Class<?> type) {
+            for (var entry : hierarchyGenerations.entrySet()) {
+                if (entry.getValue() > generation && entry.getKey().isAssignableFrom(type)) return true;
+            }
+            return false;
+        }
     }
 }
@@ -1,8 +1,10 @@
 package net.thenextlvl.nbt.serialization;
 
+import net.thenextlvl.nbt.TagReader;
 import net.thenextlvl.nbt.tag.Tag;
 import org.jetbrains.annotations.Contract;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
 
 /**
@@ -32,4 +34,35 @@ public sealed interface TagDeserializationContext permits NBT {
      */
     @Contract(pure = true)
     <T> T deserialize(Tag tag, Type type) throws ParserException;
+
+    /**
+     * Reads a single value from the reader and deserializes it to an object of the specified type.
+     *
+     * @param reader the reader to read the value from
+     * @param type   the class of the object to be returned
+     * @param <T>    the type of the object to be returned
+     * @return an object of the specified type deserialized from the read value
+     * @throws IOException     if an I/O error occurs
+     * @throws ParserException if an error occurs during deserialization
+     * @see #read(TagReader, Type)
+     * @since 4.4.0
+     */
+    @Contract(mutates = "param1")
+    <T> T read(TagReader reader, Class<T> type) throws IOException, ParserException;
+
+    /**
+     * Reads a single value from the reader and deserializes it to an object of the specified type.
+     * <p>
+     * Types without a registered {@link TagStreamDeserializer} are read as a tag, which is then deserialized.
+     *
+     * @param reader the reader to read the value from
+     * @param type   the type of the object to be returned
+     * @param <T>    the type of the object to be returned
+     * @return an object of the specified type deserialized from the read value
+     * @throws IOException     if an I/O error occurs
+     * @throws ParserException if an error occurs during deserialization
+     * @since 4.4.0
+     */
+    @Contract(mutates = "param1")
+    <T> T read(TagReader reader, Type type) throws IOException, ParserException;
 }
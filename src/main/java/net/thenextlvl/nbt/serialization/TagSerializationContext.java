@@ -1,8 +1,10 @@
 package net.thenextlvl.nbt.serialization;
 
+import net.thenextlvl.nbt.TagWriter;
 import net.thenextlvl.nbt.tag.Tag;
 import org.jetbrains.annotations.Contract;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
 
 /**
@@ -40,4 +42,32 @@ public sealed interface TagSerializationContext permits NBT {
      */
     @Contract(value = "_, _ -> new", pure = true)
     Tag serialize(Object object, Type type) throws ParserException;
+
+    /**
+     * Serializes the given object directly into the writer as a single value, based on its class.
+     *
+     * @param object the object to be serialized
+     * @param writer the writer to write the value to
+     * @throws IOException     if an I/O error occurs
+     * @throws ParserException if an error occurs during serialization
+     * @see #write(Object, Type, TagWriter)
+     * @since 4.4.0
+     */
+    @Contract(mutates = "param2")
+    void write(Object object, TagWriter writer) throws IOException, ParserException;
+
+    /**
+     * Serializes the given object directly into the writer as a single value, based on the specified type.
+     * <p>
+     * Types without a registered {@link TagStreamSerializer} are serialized into a tag, which is then written.
+     *
+     * @param object the object to be serialized
+     * @param type   the type of the object to be serialized
+     * @param writer the writer to write the value to
+     * @throws IOException     if an I/O error occurs
+     * @throws ParserException if an error occurs during serialization
+     * @since 4.4.0
+     */
+    @Contract(mutates = "param3")
+    void write(Object object, Type type, TagWriter writer) throws IOException, ParserException;
 }
@@ -0,0 +1,11 @@
+package net.thenextlvl.nbt.serialization;
+
+/**
+ * Combines functionality of {@link TagStreamDeserializer} and {@link TagStreamSerializer}
+ * for streaming both serialization and deserialization of the specified type.
+ *
+ * @param <T> the type of objects handled by this adapter
+ * @since 4.4.0
+ */
+public interface TagStreamAdapter<T> extends TagStreamDeserializer<T>, TagStreamSerializer<T> {
+}
@@ -0,0 +1,31 @@
+package net.thenextlvl.nbt.serialization;
+
+import net.thenextlvl.nbt.TagReader;
+import org.jetbrains.annotations.Contract;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Interface for deserializing objects of type {@code T} directly from a {@link TagReader},
+ * without creating intermediate tags.
+ *
+ * @param <T> the type into which the read value should be deserialized
+ * @see TagDeserializationContext#read(TagReader, Type)
+ * @since 4.4.0
+ */
+public interface TagStreamDeserializer<T> {
+    /**
+     * Reads a single value from the reader and deserializes it.
+     * <p>
+     * Inside a compound, the name of the value was already read by the caller.
+     *
+     * @param reader  the reader to read the value from
+     * @param context the context used for deserializing nested objects
+     * @return the deserialized object
+     * @throws IOException     if an I/O error occurs
+     * @throws ParserException if an error occurs during deserialization
+     */
+    @Contract(mutates = "param1")
+    T deserialize(TagReader reader, TagDeserializationContext context) throws IOException, ParserException;
+}
@@ -0,0 +1,31 @@
+package net.thenextlvl.nbt.serialization;
+
+import net.thenextlvl.nbt.TagWriter;
+import org.jetbrains.annotations.Contract;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Interface for serializing objects of type {@code T} directly into a {@link TagWriter},
+ * without creating intermediate tags.
+ *
+ * @param <T> the type of the objects to be serialized
+ * @see TagSerializationContext#write(Object, Type, TagWriter)
+ * @since 4.4.0
+ */
+public interface TagStreamSerializer<T> {
+    /**
+     * Writes the given object into the writer as a single value.
+     * <p>
+     * Inside a compound, the name of the value was already written by the caller.
+     *
+     * @param object  the object to be serialized
+     * @param writer  the writer to write the value to
+     * @param context the context used for serializing nested objects
+     * @throws IOException     if an I/O error occurs
+     * @throws ParserException if an error occurs during serialization
+     */
+    @Contract(mutates = "param2")
+    void serialize(T object, TagWriter writer, TagSerializationContext context) throws IOException, ParserException;
+}
@@ -4,29 +4,61 @@ import net.thenextlvl.nbt.serialization.ParserException;
 import net.thenextlvl.nbt.serialization.TagAdapter;
 import net.thenextlvl.nbt.serialization.TagDeserializationContext;
 import net.thenextlvl.nbt.serialization.TagSerializationContext;
+import net.thenextlvl.nbt.tag.ByteArrayTag;
 import net.thenextlvl.nbt.tag.CompoundTag;
 import net.thenextlvl.nbt.tag.Tag;
 import org.jetbrains.annotations.ApiStatus;
 
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
 
 @ApiStatus.Internal
 public final class AddressAdapter implements TagAdapter<InetSocketAddress> {
-    public static final AddressAdapter INSTANCE = new AddressAdapter();
+    public static final AddressAdapter INSTANCE = new AddressAdapter(false);
+    public static final AddressAdapter COMPACT = new AddressAdapter(true);
 
-    private AddressAdapter() {
+    private final boolean compact;
+
+    private AddressAdapter(boolean compact) {
+        this.compact = compact;
     }
 
     @Override
     public InetSocketAddress deserialize(Tag tag, TagDeserializationContext context) throws ParserException {
+        if (tag.isByteArray()) return deserialize(tag.getAsByteArray());
         var root = tag.getAsCompound();
         var hostname = root.get("hostname").getAsString();
         var port = root.get("port").getAsInt();
         return new InetSocketAddress(hostname, port);
     }
 
+    /**
+     * Reads the raw address followed by the port as an unsigned short.
+     */
+    private InetSocketAddress deserialize(byte[] bytes) throws ParserException {
+        if (bytes.length != 6 && bytes.length != 18)
+            throw new ParserException("Address must consist of 6 or 18 bytes, but got " + bytes.length);
+        try {
+            var address = InetAddress.getByAddress(Arrays.copyOf(bytes, bytes.length - 2));
+            var port = (bytes[bytes.length - 2] & 0xFF) << 8 | bytes[bytes.length - 1] & 0xFF;
+            return new InetSocketAddress(address, port);
+        } catch (UnknownHostException e) {
+            throw new ParserException("Invalid address", e);
+        }
+    }
+
     @Override
     public Tag serialize(InetSocketAddress address, TagSerializationContext context) throws ParserException {
+        // unresolved addresses have no raw address to write, and resolving them here would block
+        if (compact && !address.isUnresolved()) {
+            var raw = address.getAddress().getAddress();
+            var bytes = Arrays.copyOf(raw, raw.length + 2);
+            bytes[raw.length] = (byte) (address.getPort() >> 8);
+            bytes[raw.length + 1] = (byte) address.getPort();
+            return ByteArrayTag.of(bytes);
+        }
         return CompoundTag.builder()
                 .put("hostname", address.getHostName())
                 .put("port", address.getPort())
@@ -0,0 +1,54 @@
+package net.thenextlvl.nbt.serialization.adapters;
+
+import net.thenextlvl.nbt.serialization.ParserException;
+import net.thenextlvl.nbt.serialization.TagAdapter;
+import net.thenextlvl.nbt.serialization.TagDeserializationContext;
+import net.thenextlvl.nbt.serialization.TagSerializationContext;
+import net.thenextlvl.nbt.tag.EscapeTag;
+import net.thenextlvl.nbt.tag.ListTag;
+import net.thenextlvl.nbt.tag.Tag;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.lang.reflect.Array;
+
+/**
+ * Adapts arrays to {@link ListTag ListTags}, using an element adapter resolved once for the component type.
+ */
+@ApiStatus.Internal
+public final class ArrayAdapter implements TagAdapter<Object> {
+    private final Class<?> componentType;
+    private final TagAdapter<Object> element;
+
+    /**
+     * Constructs an {@code ArrayAdapter} for arrays of the given component type.
+     *
+     * @param componentType the component type of the arrays
+     * @param element       the adapter of the elements
+     */
+    public ArrayAdapter(Class<?> componentType, TagAdapter<Object> element) {
+        this.componentType = componentType;
+        this.element = element;
+    }
+
+    @Override
+    public Object deserialize(Tag tag, TagDeserializationContext context) throws ParserException {
+        var list = tag.<Tag>getAsList();
+        var array = Array.newInstance(componentType, list.size());
+        for (var i = 0; i < list.size(); i++) {
+            Array.set(array, i, element.deserialize(list.get(i), context));
+        }
+        return array;
+    }
+
+    @Override
+    public Tag serialize(Object array, TagSerializationContext context) throws ParserException {
+        var length = Array.getLength(array);
+        var builder = ListTag.builder();
+        for (var i = 0; i < length; i++) {
+            var value = Array.get(array, i);
+            if (value == null) throw new ParserException("Arrays with null elements cannot be serialized");
+            builder.add(element.serialize(value, context));
+        }
+        return builder.isEmpty() ? ListTag.empty(EscapeTag.ID) : builder.build();
+    }
+}
@@ -1,15 +1,20 @@
 package net.thenextlvl.nbt.serialization.adapters;
 
+import net.thenextlvl.nbt.TagReader;
+import net.thenextlvl.nbt.TagWriter;
 import net.thenextlvl.nbt.serialization.ParserException;
 import net.thenextlvl.nbt.serialization.TagAdapter;
 import net.thenextlvl.nbt.serialization.TagDeserializationContext;
 import net.thenextlvl.nbt.serialization.TagSerializationContext;
+import net.thenextlvl.nbt.serialization.TagStreamAdapter;
 import net.thenextlvl.nbt.tag.ByteTag;
 import net.thenextlvl.nbt.tag.Tag;
 import org.jetbrains.annotations.ApiStatus;
 
+import java.io.IOException;
+
 @ApiStatus.Internal
-public final class BooleanAdapter implements TagAdapter<Boolean> {
+public final class BooleanAdapter implements TagAdapter<Boolean>, TagStreamAdapter<Boolean> {
     public static final BooleanAdapter INSTANCE = new BooleanAdapter();
 
     private BooleanAdapter() {
@@ -24,4 +29,14 @@ public final class BooleanAdapter implements TagAdapter<Boolean> {
     public Tag serialize(Boolean object, TagSerializationContext context) throws ParserException {
         return ByteTag.of(object ? (byte) 1 : 0);
     }
+
+    @Override
+    public Boolean deserialize(TagReader reader, TagDeserializationContext context) throws IOException {
+        return reader.nextBoolean();
+    }
+
+    @Override
+    public void serialize(Boolean object, TagWriter writer, TagSerializationContext context) throws IOException {
+        writer.value(object);
+    }
 }
@@ -1,15 +1,20 @@
 package net.thenextlvl.nbt.serialization.adapters;
 
+import net.thenextlvl.nbt.TagReader;
+import net.thenextlvl.nbt.TagWriter;
 import net.thenextlvl.nbt.serialization.ParserException;
 import net.thenextlvl.nbt.serialization.TagAdapter;
 import net.thenextlvl.nbt.serialization.TagDeserializationContext;
 import net.thenextlvl.nbt.serialization.TagSerializationContext;
+import net.thenextlvl.nbt.serialization.TagStreamAdapter;
 import net.thenextlvl.nbt.tag.ByteTag;
 import net.thenextlvl.nbt.tag.Tag;
 import org.jetbrains.annotations.ApiStatus;
 
+import java.io.IOException;
+
 @ApiStatus.Internal
-public final class ByteAdapter implements TagAdapter<Byte> {
+public final class ByteAdapter implements TagAdapter<Byte>, TagStreamAdapter<Byte> {
     public static final ByteAdapter INSTANCE = new ByteAdapter();
 
     private ByteAdapter() {
@@ -24,4 +29,14 @@ public final class ByteAdapter implements TagAdapter<Byte> {
     public Tag serialize(Byte object, TagSerializationContext context) throws ParserException {
         return ByteTag.of(object);
     }
+
+    @Override
+    public Byte deserialize(TagReader reader, TagDeserializationContext context) throws IOException {
+        return reader.nextByte();
+    }
+
+    @Override
+    public void serialize(Byte object, TagWriter writer, TagSerializationContext context) throws IOException {
+        writer.value(object);
+    }
 }
@@ -0,0 +1,42 @@
+package net.thenextlvl.nbt.serialization.adapters;
+
+import net.thenextlvl.nbt.TagReader;
+import net.thenextlvl.nbt.TagWriter;
+import net.thenextlvl.nbt.serialization.ParserException;
+import net.thenextlvl.nbt.serialization.TagAdapter;
+import net.thenextlvl.nbt.serialization.TagDeserializationContext;
+import net.thenextlvl.nbt.serialization.TagSerializationContext;
+import net.thenextlvl.nbt.serialization.TagStreamAdapter;
+import net.thenextlvl.nbt.tag.ByteArrayTag;
+import net.thenextlvl.nbt.tag.Tag;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.io.IOException;
+
+@ApiStatus.Internal
+public final class ByteArrayAdapter implements TagAdapter<byte[]>, TagStreamAdapter<byte[]> {
+    public static final ByteArrayAdapter INSTANCE = new ByteArrayAdapter();
+
+    private ByteArrayAdapter() {
+    }
+
+    @Override
+    public byte[] deserialize(Tag tag, TagDeserializationContext context) throws ParserException {
+        return tag.getAsByteArray();
+    }
+
+    @Override
+    public Tag serialize(byte[] array, TagSerializationContext context) throws ParserException {
+        return ByteArrayTag.of(array);
+    }
+
+    @Override
+    public byte[] deserialize(TagReader reader, TagDeserializationContext context) throws IOException {
+        return reader.nextByteArray();
+    }
+
+    @Override
+    public void serialize(byte[] array, TagWriter writer, TagSerializationContext context) throws IOException {
+        writer.value(array);
+    }
+}
@@ -0,0 +1,55 @@
+package net.thenextlvl.nbt.serialization.adapters;
+
+import net.thenextlvl.nbt.serialization.ParserException;
+import net.thenextlvl.nbt.serialization.TagAdapter;
+import net.thenextlvl.nbt.serialization.TagDeserializationContext;
+import net.thenextlvl.nbt.serialization.TagSerializationContext;
+import net.thenextlvl.nbt.tag.EscapeTag;
+import net.thenextlvl.nbt.tag.ListTag;
+import net.thenextlvl.nbt.tag.Tag;
+import org.jetbrains.annotations.ApiStatus;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Adapts collections to {@link ListTag ListTags}, using an element adapter resolved once for the element type.
+ */
+@ApiStatus.Internal
+public final class CollectionAdapter implements TagAdapter<Collection<Object>> {
+    private final Class<?> type;
+    private final TagAdapter<Object> element;
+    private final @Nullable Supplier<? extends Collection<Object>> factory;
+
+    /**
+     * Constructs a {@code CollectionAdapter} for the given collection type.
+     *
+     * @param type    the raw collection type
+     * @param element the adapter of the elements
+     * @param factory the factory creating deserialized collections, or {@code null} if the type can't be created
+     */
+    public CollectionAdapter(Class<?> type, TagAdapter<Object> element, @Nullable Supplier<? extends Collection<Object>> factory) {
+        this.type = type;
+        this.element = element;
+        this.factory = factory;
+    }
+
+    @Override
+    public Collection<Object> deserialize(Tag tag, TagDeserializationContext context) throws ParserException {
+        if (factory == null) throw new ParserException("No tag deserializer registered for type: " + type);
+        var collection = factory.get();
+        for (var value : tag.<Tag>getAsList()) collection.add(element.deserialize(value, context));
+        return collection;
+    }
+
+    @Override
+    public Tag serialize(Collection<Object> collection, TagSerializationContext context) throws ParserException {
+        var builder = ListTag.builder();
+        for (var value : collection) {
+            if (value == null) throw new ParserException("Collections with null elements cannot be serialized");
+            builder.add(element.serialize(value, context));
+        }
+        return builder.isEmpty() ? ListTag.empty(EscapeTag.ID) : builder.build();
+    }
+}
@@ -1,15 +1,20 @@
 package net.thenextlvl.nbt.serialization.adapters;
 
+import net.thenextlvl.nbt.TagReader;
+import net.thenextlvl.nbt.TagWriter;
 import net.thenextlvl.nbt.serialization.ParserException;
 import net.thenextlvl.nbt.serialization.TagAdapter;
 import net.thenextlvl.nbt.serialization.TagDeserializationContext;
 import net.thenextlvl.nbt.serialization.TagSerializationContext;
+import net.thenextlvl.nbt.serialization.TagStreamAdapter;
 import net.thenextlvl.nbt.tag.DoubleTag;
 import net.thenextlvl.nbt.tag.Tag;
 import org.jetbrains.annotations.ApiStatus;
 
+import java.io.IOException;
+
 @ApiStatus.Internal
-public final class DoubleAdapter implements TagAdapter<Double> {
+public final class DoubleAdapter implements TagAdapter<Double>, TagStreamAdapter<Double> {
     public static final DoubleAdapter INSTANCE = new DoubleAdapter();
 
     private DoubleAdapter() {
@@ -24,4 +29,14 @@ public final class DoubleAdapter implements TagAdapter<Double> {
     public Tag serialize(Double object, TagSerializationContext context) throws ParserException {
         return DoubleTag.of(object);
     }
+
+    @Override
+    public Double deserialize(TagReader reader, TagDeserializationContext context) throws IOException {
+        return reader.nextDouble();
+    }
+
+    @Override
+    public void serialize(Double object, TagWriter writer, TagSerializationContext context) throws IOException {
+        writer.value(object);
+    }
 }
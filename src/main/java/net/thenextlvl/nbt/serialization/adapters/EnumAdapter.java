@@ -4,11 +4,25 @@ import net.thenextlvl.nbt.serialization.ParserException;
 import net.thenextlvl.nbt.serialization.TagAdapter;
 import net.thenextlvl.nbt.serialization.TagDeserializationContext;
 import net.thenextlvl.nbt.serialization.TagSerializationContext;
+import net.thenextlvl.nbt.tag.ByteTag;
+import net.thenextlvl.nbt.tag.IntTag;
 import net.thenextlvl.nbt.tag.StringTag;
 import net.thenextlvl.nbt.tag.Tag;
 
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Serializes enum constants by their name, or by their ordinal for a more compact encoding.
+ * <p>
+ * The tags of all constants are created upfront and shared, and names are resolved without {@link Enum#valueOf}.
+ * Both names and ordinals are accepted when deserializing, regardless of the encoding.
+ */
 public final class EnumAdapter<T extends Enum<T>> implements TagAdapter<T> {
     private final Class<T> enumClass;
+    private final T[] constants;
+    private final Map<String, T> names;
+    private final Tag[] tags;
 
     /**
      * Constructs an {@code EnumAdapter} for the provided enum class type.
@@ -16,16 +30,48 @@ public final class EnumAdapter<T extends Enum<T>> implements TagAdapter<T> {
      * @param enumClass the {@code Class} representing the specific enum type handled by this adapter
      */
     public EnumAdapter(final Class<T> enumClass) {
+        this(enumClass, false);
+    }
+
+    /**
+     * Constructs an {@code EnumAdapter} for the provided enum class type,
+     * encoding constants either by their name or by their ordinal.
+     * <p>
+     * Ordinals are encoded as a {@link ByteTag} if all of them fit into a byte, otherwise as an {@link IntTag}.
+     * Data encoded by ordinal only stays valid as long as the order of the constants doesn't change.
+     *
+     * @param enumClass the {@code Class} representing the specific enum type handled by this adapter
+     * @param ordinal   whether to encode constants by their ordinal instead of their name
+     * @since 4.4.0
+     */
+    public EnumAdapter(final Class<T> enumClass, final boolean ordinal) {
         this.enumClass = enumClass;
+        this.constants = enumClass.getEnumConstants();
+        this.names = new HashMap<>(constants.length * 4 / 3 + 1);
+        this.tags = new Tag[constants.length];
+        for (final var constant : constants) {
+            names.put(constant.name(), constant);
+            tags[constant.ordinal()] = !ordinal ? StringTag.of(constant.name())
+                    : constants.length <= Byte.MAX_VALUE + 1 ? ByteTag.of((byte) constant.ordinal())
+                    : IntTag.of(constant.ordinal());
+        }
     }
 
     @Override
     public T deserialize(final Tag tag, final TagDeserializationContext context) throws ParserException {
-        return Enum.valueOf(this.enumClass, tag.getAsString());
+        if (tag.isNumber()) {
+            final var ordinal = tag.getAsInt();
+            if (ordinal >= 0 && ordinal < constants.length) return constants[ordinal];
+            throw new ParserException("No constant with ordinal " + ordinal + " in " + enumClass.getName());
+        }
+        final var name = tag.getAsString();
+        final var constant = names.get(name);
+        if (constant != null) return constant;
+        throw new ParserException("No constant " + name + " in " + enumClass.getName());
     }
 
     @Override
     public Tag serialize(final T object, final TagSerializationContext context) throws ParserException {
-        return StringTag.of(object.name());
+        return tags[object.ordinal()];
     }
 }
@@ -1,15 +1,20 @@
 package net.thenextlvl.nbt.serialization.adapters;
 
+import net.thenextlvl.nbt.TagReader;
+import net.thenextlvl.nbt.TagWriter;
 import net.thenextlvl.nbt.serialization.ParserException;
 import net.thenextlvl.nbt.serialization.TagAdapter;
 import net.thenextlvl.nbt.serialization.TagDeserializationContext;
 import net.thenextlvl.nbt.serialization.TagSerializationContext;
+import net.thenextlvl.nbt.serialization.TagStreamAdapter;
 import net.thenextlvl.nbt.tag.FloatTag;
 import net.thenextlvl.nbt.tag.Tag;
 import org.jetbrains.annotations.ApiStatus;
 
+import java.io.IOException;
+
 @ApiStatus.Internal
-public final class FloatAdapter implements TagAdapter<Float> {
+public final class FloatAdapter implements TagAdapter<Float>, TagStreamAdapter<Float> {
     public static final FloatAdapter INSTANCE = new FloatAdapter();
 
     private FloatAdapter() {
@@ -24,4 +29,14 @@ public final class FloatAdapter implements TagAdapter<Float> {
     public Tag serialize(Float object, TagSerializationContext context) throws ParserException {
         return FloatTag.of(object);
     }
+
+    @Override
+    public Float deserialize(TagReader reader, TagDeserializationContext context) throws IOException {
+        return reader.nextFloat();
+    }
+
+    @Override
+    public void serialize(Float object, TagWriter writer, TagSerializationContext context) throws IOException {
+        writer.value(object);
+    }
 }
@@ -0,0 +1,42 @@
+package net.thenextlvl.nbt.serialization.adapters;
+
+import net.thenextlvl.nbt.TagReader;
+import net.thenextlvl.nbt.TagWriter;
+import net.thenextlvl.nbt.serialization.ParserException;
+import net.thenextlvl.nbt.serialization.TagAdapter;
+import net.thenextlvl.nbt.serialization.TagDeserializationContext;
+import net.thenextlvl.nbt.serialization.TagSerializationContext;
+import net.thenextlvl.nbt.serialization.TagStreamAdapter;
+import net.thenextlvl.nbt.tag.IntArrayTag;
+import net.thenextlvl.nbt.tag.Tag;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.io.IOException;
+
+@ApiStatus.Internal
+public final class IntArrayAdapter implements TagAdapter<int[]>, TagStreamAdapter<int[]> {
+    public static final IntArrayAdapter INSTANCE = new IntArrayAdapter();
+
+    private IntArrayAdapter() {
+    }
+
+    @Override
+    public int[] deserialize(Tag tag, TagDeserializationContext context) throws ParserException {
+        return tag.getAsIntArray();
+    }
+
+    @Override
+    public Tag serialize(int[] array, TagSerializationContext context) throws ParserException {
+        return IntArrayTag.of(array);
+    }
+
+    @Override
+    public int[] deserialize(TagReader reader, TagDeserializationContext context) throws IOException {
+        return reader.nextIntArray();
+    }
+
+    @Override
+    public void serialize(int[] array, TagWriter writer, TagSerializationContext context) throws IOException {
+        writer.value(array);
+    }
+}
@@ -1,15 +1,20 @@
 package net.thenextlvl.nbt.serialization.adapters;
 
+import net.thenextlvl.nbt.TagReader;
+import net.thenextlvl.nbt.TagWriter;
 import net.thenextlvl.nbt.serialization.ParserException;
 import net.thenextlvl.nbt.serialization.TagAdapter;
 import net.thenextlvl.nbt.serialization.TagDeserializationContext;
 import net.thenextlvl.nbt.serialization.TagSerializationContext;
+import net.thenextlvl.nbt.serialization.TagStreamAdapter;
 import net.thenextlvl.nbt.tag.IntTag;
 import net.thenextlvl.nbt.tag.Tag;
 import org.jetbrains.annotations.ApiStatus;
 
+import java.io.IOException;
+
 @ApiStatus.Internal
-public final class IntegerAdapter implements TagAdapter<Integer> {
+public final class IntegerAdapter implements TagAdapter<Integer>, TagStreamAdapter<Integer> {
     public static final IntegerAdapter INSTANCE = new IntegerAdapter();
 
     private IntegerAdapter() {
@@ -24,4 +29,14 @@ public final class IntegerAdapter implements TagAdapter<Integer> {
     public Tag serialize(Integer object, TagSerializationContext context) throws ParserException {
         return IntTag.of(object);
     }
+
+    @Override
+    public Integer deserialize(TagReader reader, TagDeserializationContext context) throws IOException {
+        return reader.nextInt();
+    }
+
+    @Override
+    public void serialize(Integer object, TagWriter writer, TagSerializationContext context) throws IOException {
+        writer.value(object);
+    }
 }
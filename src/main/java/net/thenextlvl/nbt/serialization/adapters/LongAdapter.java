@@ -1,15 +1,20 @@
 package net.thenextlvl.nbt.serialization.adapters;
 
+import net.thenextlvl.nbt.TagReader;
+import net.thenextlvl.nbt.TagWriter;
 import net.thenextlvl.nbt.serialization.ParserException;
 import net.thenextlvl.nbt.serialization.TagAdapter;
 import net.thenextlvl.nbt.serialization.TagDeserializationContext;
 import net.thenextlvl.nbt.serialization.TagSerializationContext;
+import net.thenextlvl.nbt.serialization.TagStreamAdapter;
 import net.thenextlvl.nbt.tag.LongTag;
 import net.thenextlvl.nbt.tag.Tag;
 import org.jetbrains.annotations.ApiStatus;
 
+import java.io.IOException;
+
 @ApiStatus.Internal
-public final class LongAdapter implements TagAdapter<Long> {
+public final class LongAdapter implements TagAdapter<Long>, TagStreamAdapter<Long> {
     public static final LongAdapter INSTANCE = new LongAdapter();
 
     private LongAdapter() {
@@ -24,4 +29,14 @@ public final class LongAdapter implements TagAdapter<Long> {
     public Tag serialize(Long object, TagSerializationContext context) throws ParserException {
         return LongTag.of(object);
     }
+
+    @Override
+    public Long deserialize(TagReader reader, TagDeserializationContext context) throws IOException {
+        return reader.nextLong();
+    }
+
+    @Override
+    public void serialize(Long object, TagWriter writer, TagSerializationContext context) throws IOException {
+        writer.value(object);
+    }
 }
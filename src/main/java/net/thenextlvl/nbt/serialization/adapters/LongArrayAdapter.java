@@ -0,0 +1,42 @@
+package net.thenextlvl.nbt.serialization.adapters;
+
+import net.thenextlvl.nbt.TagReader;
+import net.thenextlvl.nbt.TagWriter;
+import net.thenextlvl.nbt.serialization.ParserException;
+import net.thenextlvl.nbt.serialization.TagAdapter;
+import net.thenextlvl.nbt.serialization.TagDeserializationContext;
+import net.thenextlvl.nbt.serialization.TagSerializationContext;
+import net.thenextlvl.nbt.serialization.TagStreamAdapter;
+import net.thenextlvl.nbt.tag.LongArrayTag;
+import net.thenextlvl.nbt.tag.Tag;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.io.IOException;
+
+@ApiStatus.Internal
+public final class LongArrayAdapter implements TagAdapter<long[]>, TagStreamAdapter<long[]> {
+    public static final LongArrayAdapter INSTANCE = new LongArrayAdapter();
+
+    private LongArrayAdapter() {
+    }
+
+    @Override
+    public long[] deserialize(Tag tag, TagDeserializationContext context) throws ParserException {
+        return tag.getAsLongArray();
+    }
+
+    @Override
+    public Tag serialize(long[] array, TagSerializationContext context) throws ParserException {
+        return LongArrayTag.of(array);
+    }
+
+    @Override
+    public long[] deserialize(TagReader reader, TagDeserializationContext context) throws IOException {
+        return reader.nextLongArray();
+    }
+
+    @Override
+    public void serialize(long[] array, TagWriter writer, TagSerializationContext context) throws IOException {
+        writer.value(array);
+    }
+}
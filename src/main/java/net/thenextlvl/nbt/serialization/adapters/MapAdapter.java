@@ -0,0 +1,56 @@
+package net.thenextlvl.nbt.serialization.adapters;
+
+import net.thenextlvl.nbt.serialization.ParserException;
+import net.thenextlvl.nbt.serialization.TagAdapter;
+import net.thenextlvl.nbt.serialization.TagDeserializationContext;
+import net.thenextlvl.nbt.serialization.TagSerializationContext;
+import net.thenextlvl.nbt.tag.CompoundTag;
+import net.thenextlvl.nbt.tag.Tag;
+import org.jetbrains.annotations.ApiStatus;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Adapts maps with string keys to {@link CompoundTag CompoundTags},
+ * using a value adapter resolved once for the value type.
+ */
+@ApiStatus.Internal
+public final class MapAdapter implements TagAdapter<Map<Object, Object>> {
+    private final Class<?> type;
+    private final TagAdapter<Object> value;
+    private final @Nullable Supplier<? extends Map<Object, Object>> factory;
+
+    /**
+     * Constructs a {@code MapAdapter} for the given map type.
+     *
+     * @param type    the raw map type
+     * @param value   the adapter of the values
+     * @param factory the factory creating deserialized maps, or {@code null} if the type can't be created
+     */
+    public MapAdapter(Class<?> type, TagAdapter<Object> value, @Nullable Supplier<? extends Map<Object, Object>> factory) {
+        this.type = type;
+        this.value = value;
+        this.factory = factory;
+    }
+
+    @Override
+    public Map<Object, Object> deserialize(Tag tag, TagDeserializationContext context) throws ParserException {
+        if (factory == null) throw new ParserException("No tag deserializer registered for type: " + type);
+        var map = factory.get();
+        for (var entry : tag.getAsCompound().entrySet()) map.put(entry.getKey(), value.deserialize(entry.getValue(), context));
+        return map;
+    }
+
+    @Override
+    public Tag serialize(Map<Object, Object> map, TagSerializationContext context) throws ParserException {
+        var builder = CompoundTag.builder();
+        for (var entry : map.entrySet()) {
+            if (!(entry.getKey() instanceof String key))
+                throw new ParserException("Only maps with string keys can be serialized: " + entry.getKey());
+            if (entry.getValue() != null) builder.put(key, value.serialize(entry.getValue(), context));
+        }
+        return builder.build();
+    }
+}
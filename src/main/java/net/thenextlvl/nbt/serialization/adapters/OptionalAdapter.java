@@ -0,0 +1,43 @@
+package net.thenextlvl.nbt.serialization.adapters;
+
+import net.thenextlvl.nbt.serialization.ParserException;
+import net.thenextlvl.nbt.serialization.TagAdapter;
+import net.thenextlvl.nbt.serialization.TagDeserializationContext;
+import net.thenextlvl.nbt.serialization.TagSerializationContext;
+import net.thenextlvl.nbt.tag.EscapeTag;
+import net.thenextlvl.nbt.tag.ListTag;
+import net.thenextlvl.nbt.tag.Tag;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.Optional;
+
+/**
+ * Adapts optionals to {@link ListTag ListTags} holding none or a single element,
+ * using an element adapter resolved once for the element type.
+ */
+@ApiStatus.Internal
+public final class OptionalAdapter implements TagAdapter<Optional<Object>> {
+    private final TagAdapter<Object> element;
+
+    /**
+     * Constructs an {@code OptionalAdapter} for optionals of the given element adapter.
+     *
+     * @param element the adapter of the element
+     */
+    public OptionalAdapter(TagAdapter<Object> element) {
+        this.element = element;
+    }
+
+    @Override
+    public Optional<Object> deserialize(Tag tag, TagDeserializationContext context) throws ParserException {
+        var list = tag.<Tag>getAsList();
+        if (list.size() > 1) throw new ParserException("Expected at most one element, got " + list.size());
+        return list.isEmpty() ? Optional.empty() : Optional.of(element.deserialize(list.get(0), context));
+    }
+
+    @Override
+    public Tag serialize(Optional<Object> optional, TagSerializationContext context) throws ParserException {
+        if (optional.isEmpty()) return ListTag.empty(EscapeTag.ID);
+        return ListTag.of(element.serialize(optional.get(), context));
+    }
+}
@@ -1,15 +1,20 @@
 package net.thenextlvl.nbt.serialization.adapters;
 
+import net.thenextlvl.nbt.TagReader;
+import net.thenextlvl.nbt.TagWriter;
 import net.thenextlvl.nbt.serialization.ParserException;
 import net.thenextlvl.nbt.serialization.TagAdapter;
 import net.thenextlvl.nbt.serialization.TagDeserializationContext;
 import net.thenextlvl.nbt.serialization.TagSerializationContext;
+import net.thenextlvl.nbt.serialization.TagStreamAdapter;
 import net.thenextlvl.nbt.tag.ShortTag;
 import net.thenextlvl.nbt.tag.Tag;
 import org.jetbrains.annotations.ApiStatus;
 
+import java.io.IOException;
+
 @ApiStatus.Internal
-public final class ShortAdapter implements TagAdapter<Short> {
+public final class ShortAdapter implements TagAdapter<Short>, TagStreamAdapter<Short> {
     public static final ShortAdapter INSTANCE = new ShortAdapter();
 
     private ShortAdapter() {
@@ -24,4 +29,14 @@ public final class ShortAdapter implements TagAdapter<Short> {
     public Tag serialize(Short object, TagSerializationContext context) throws ParserException {
         return ShortTag.of(object);
     }
+
+    @Override
+    public Short deserialize(TagReader reader, TagDeserializationContext context) throws IOException {
+        return reader.nextShort();
+    }
+
+    @Override
+    public void serialize(Short object, TagWriter writer, TagSerializationContext context) throws IOException {
+        writer.value(object);
+    }
 }
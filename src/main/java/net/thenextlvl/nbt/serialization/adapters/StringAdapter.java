@@ -1,15 +1,20 @@
 package net.thenextlvl.nbt.serialization.adapters;
 
+import net.thenextlvl.nbt.TagReader;
+import net.thenextlvl.nbt.TagWriter;
 import net.thenextlvl.nbt.serialization.ParserException;
 import net.thenextlvl.nbt.serialization.TagAdapter;
 import net.thenextlvl.nbt.serialization.TagDeserializationContext;
 import net.thenextlvl.nbt.serialization.TagSerializationContext;
+import net.thenextlvl.nbt.serialization.TagStreamAdapter;
 import net.thenextlvl.nbt.tag.StringTag;
 import net.thenextlvl.nbt.tag.Tag;
 import org.jetbrains.annotations.ApiStatus;
 
+import java.io.IOException;
+
 @ApiStatus.Internal
-public final class StringAdapter implements TagAdapter<String> {
+public final class StringAdapter implements TagAdapter<String>, TagStreamAdapter<String> {
     public static final StringAdapter INSTANCE = new StringAdapter();
 
     private StringAdapter() {
@@ -24,4 +29,14 @@ public final class StringAdapter implements TagAdapter<String> {
     public Tag serialize(String object, TagSerializationContext context) throws ParserException {
         return StringTag.of(object);
     }
+
+    @Override
+    public String deserialize(TagReader reader, TagDeserializationContext context) throws IOException {
+        return reader.nextString();
+    }
+
+    @Override
+    public void serialize(String object, TagWriter writer, TagSerializationContext context) throws IOException {
+        writer.value(object);
+    }
 }
@@ -1,23 +1,34 @@
 package net.thenextlvl.nbt.serialization.adapters;
 
+import net.thenextlvl.nbt.TagReader;
+import net.thenextlvl.nbt.TagWriter;
+import net.thenextlvl.nbt.serialization.ParserException;
 import net.thenextlvl.nbt.serialization.TagAdapter;
 import net.thenextlvl.nbt.serialization.TagDeserializationContext;
 import net.thenextlvl.nbt.serialization.TagSerializationContext;
+import net.thenextlvl.nbt.serialization.TagStreamAdapter;
 import net.thenextlvl.nbt.tag.CompoundTag;
+import net.thenextlvl.nbt.tag.IntArrayTag;
 import net.thenextlvl.nbt.tag.Tag;
 import org.jetbrains.annotations.ApiStatus;
 
+import java.io.IOException;
 import java.util.UUID;
 
 @ApiStatus.Internal
-public final class UUIDAdapter implements TagAdapter<UUID> {
-    public static final UUIDAdapter INSTANCE = new UUIDAdapter();
+public final class UUIDAdapter implements TagAdapter<UUID>, TagStreamAdapter<UUID> {
+    public static final UUIDAdapter INSTANCE = new UUIDAdapter(false);
+    public static final UUIDAdapter COMPACT = new UUIDAdapter(true);
 
-    private UUIDAdapter() {
+    private final boolean compact;
+
+    private UUIDAdapter(boolean compact) {
+        this.compact = compact;
     }
 
     @Override
-    public UUID deserialize(Tag tag, TagDeserializationContext context) {
+    public UUID deserialize(Tag tag, TagDeserializationContext context) throws ParserException {
+        if (tag.isIntArray()) return fromInts(tag.getAsIntArray());
         var compound = tag.getAsCompound();
         var most = compound.get("most").getAsLong();
         var least = compound.get("least").getAsLong();
@@ -26,9 +37,48 @@ public final class UUIDAdapter implements TagAdapter<UUID> {
 
     @Override
     public Tag serialize(UUID uuid, TagSerializationContext context) {
+        if (compact) return IntArrayTag.of(toInts(uuid));
         return CompoundTag.builder()
                 .put("most", uuid.getMostSignificantBits())
                 .put("least", uuid.getLeastSignificantBits())
                 .build();
     }
+
+    @Override
+    public UUID deserialize(TagReader reader, TagDeserializationContext context) throws IOException, ParserException {
+        if (reader.peek() == IntArrayTag.ID) return fromInts(reader.nextIntArray());
+        Long most = null, least = null;
+        reader.beginCompound();
+        while (reader.hasNext()) switch (reader.nextName()) {
+            case "most" -> most = reader.nextLong();
+            case "least" -> least = reader.nextLong();
+            default -> reader.skipValue();
+        }
+        reader.endCompound();
+        if (most == null || least == null) throw new ParserException("UUID must consist of most and least bits");
+        return new UUID(most, least);
+    }
+
+    @Override
+    public void serialize(UUID uuid, TagWriter writer, TagSerializationContext context) throws IOException {
+        if (compact) writer.value(toInts(uuid));
+        else writer.beginCompound()
+                .name("most").value(uuid.getMostSignificantBits())
+                .name("least").value(uuid.getLeastSignificantBits())
+                .endCompound();
+    }
+
+    private static UUID fromInts(int[] ints) throws ParserException {
+        if (ints.length != 4) throw new ParserException("UUID must consist of 4 ints, but got " + ints.length);
+        return new UUID(
+                (long) ints[0] << 32 | ints[1] & 0xFFFFFFFFL,
+                (long) ints[2] << 32 | ints[3] & 0xFFFFFFFFL
+        );
+    }
+
+    private static int[] toInts(UUID uuid) {
+        var most = uuid.getMostSignificantBits();
+        var least = uuid.getLeastSignificantBits();
+        return new int[]{(int) (most >> 32), (int) most, (int) (least >> 32), (int) least};
+    }
 }
@@ -4,6 +4,7 @@ import net.thenextlvl.nbt.NBTOutputStream;
 import org.jetbrains.annotations.Contract;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.Arrays;
 
 final class ByteArrayTagImpl extends ValueTagImpl<byte[]> implements ByteArrayTag {
@@ -49,6 +50,11 @@ final class ByteArrayTagImpl extends ValueTagImpl<byte[]> implements ByteArrayTa
         outputStream.write(value);
     }
 
+    @Override
+    public long sizeInBytes(final Charset charset) {
+        return Integer.BYTES + (long) value.length;
+    }
+
     @Override
     public boolean equals(final Object object) {
         if (this == object) return true;
@@ -3,6 +3,7 @@ package net.thenextlvl.nbt.tag;
 import net.thenextlvl.nbt.NBTOutputStream;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 
 final class ByteTagImpl extends NumberTagImpl<Byte> implements ByteTag {
     public ByteTagImpl(Byte value) {
@@ -24,6 +25,11 @@ final class ByteTagImpl extends NumberTagImpl<Byte> implements ByteTag {
         outputStream.write(value);
     }
 
+    @Override
+    public long sizeInBytes(Charset charset) {
+        return Byte.BYTES;
+    }
+
     @Override
     public String toString() {
         return value + "b";
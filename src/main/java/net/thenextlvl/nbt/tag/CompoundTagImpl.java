@@ -2,8 +2,10 @@ package net.thenextlvl.nbt.tag;
 
 import net.thenextlvl.nbt.NBTOutputStream;
 import org.jspecify.annotations.NullUnmarked;
+import org.jspecify.annotations.Nullable;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -12,6 +14,8 @@ import java.util.Set;
 import java.util.function.BiConsumer;
 
 final class CompoundTagImpl extends ValueTagImpl<Map<String, Tag>> implements CompoundTag {
+    private volatile @Nullable CachedSize cachedSize;
+
     public CompoundTagImpl(final Map<String, Tag> value) {
         super(Collections.unmodifiableMap(new LinkedHashMap<>(value)));
     }
@@ -102,8 +106,19 @@ final class CompoundTagImpl extends ValueTagImpl<Map<String, Tag>> implements Co
 
     @Override
     public void write(final NBTOutputStream outputStream) throws IOException {
-        for (final var entry : entrySet()) outputStream.writeTag(entry.getKey(), entry.getValue());
-        EscapeTagImpl.INSTANCE.write(outputStream);
+        NestedTagWriter.write(this, outputStream);
+    }
+
+    @Override
+    public long sizeInBytes(final Charset charset) {
+        final var cached = cachedSize;
+        if (cached != null && cached.charset().equals(charset)) return cached.size();
+        long size = Byte.BYTES;
+        for (final var entry : entrySet()) size += Byte.BYTES + Short.BYTES
+                + StringTagImpl.encodedLength(entry.getKey(), charset)
+                + entry.getValue().sizeInBytes(charset);
+        cachedSize = new CachedSize(charset, size);
+        return size;
     }
 
     public static CompoundTag.Builder builder() {
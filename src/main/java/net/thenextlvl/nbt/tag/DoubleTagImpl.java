@@ -3,6 +3,7 @@ package net.thenextlvl.nbt.tag;
 import net.thenextlvl.nbt.NBTOutputStream;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 
 final class DoubleTagImpl extends NumberTagImpl<Double> implements DoubleTag {
     public DoubleTagImpl(Double value) {
@@ -23,4 +24,9 @@ final class DoubleTagImpl extends NumberTagImpl<Double> implements DoubleTag {
     public void write(NBTOutputStream outputStream) throws IOException {
         outputStream.writeDouble(value);
     }
+
+    @Override
+    public long sizeInBytes(Charset charset) {
+        return Double.BYTES;
+    }
 }
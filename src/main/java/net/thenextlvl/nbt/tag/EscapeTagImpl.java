@@ -3,6 +3,7 @@ package net.thenextlvl.nbt.tag;
 import net.thenextlvl.nbt.NBTOutputStream;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 
 final class EscapeTagImpl implements EscapeTag {
     public static final EscapeTag INSTANCE = new EscapeTagImpl();
@@ -20,6 +21,11 @@ final class EscapeTagImpl implements EscapeTag {
         outputStream.writeByte(getTypeId());
     }
 
+    @Override
+    public long sizeInBytes(Charset charset) {
+        return Byte.BYTES;
+    }
+
     @Override
     public String toString() {
         return "EscapeTag.INSTANCE";
@@ -3,6 +3,7 @@ package net.thenextlvl.nbt.tag;
 import net.thenextlvl.nbt.NBTOutputStream;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 
 final class FloatTagImpl extends NumberTagImpl<Float> implements FloatTag {
     public FloatTagImpl(Float value) {
@@ -24,6 +25,11 @@ final class FloatTagImpl extends NumberTagImpl<Float> implements FloatTag {
         outputStream.writeFloat(value);
     }
 
+    @Override
+    public long sizeInBytes(Charset charset) {
+        return Float.BYTES;
+    }
+
     @Override
     public String toString() {
         return value + "f";
@@ -3,6 +3,7 @@ package net.thenextlvl.nbt.tag;
 import net.thenextlvl.nbt.NBTOutputStream;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.Arrays;
 
 final class IntArrayTagImpl extends ValueTagImpl<int[]> implements IntArrayTag {
@@ -46,6 +47,11 @@ final class IntArrayTagImpl extends ValueTagImpl<int[]> implements IntArrayTag {
         for (final var i : value) outputStream.writeInt(i);
     }
 
+    @Override
+    public long sizeInBytes(final Charset charset) {
+        return Integer.BYTES + (long) value.length * Integer.BYTES;
+    }
+
     @Override
     public boolean equals(final Object object) {
         if (this == object) return true;
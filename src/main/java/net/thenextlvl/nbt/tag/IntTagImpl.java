@@ -3,6 +3,7 @@ package net.thenextlvl.nbt.tag;
 import net.thenextlvl.nbt.NBTOutputStream;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 
 final class IntTagImpl extends NumberTagImpl<Integer> implements IntTag {
     public IntTagImpl(Integer value) {
@@ -23,4 +24,9 @@ final class IntTagImpl extends NumberTagImpl<Integer> implements IntTag {
     public void write(NBTOutputStream outputStream) throws IOException {
         outputStream.writeInt(value);
     }
+
+    @Override
+    public long sizeInBytes(Charset charset) {
+        return Integer.BYTES;
+    }
 }
@@ -5,6 +5,7 @@ import org.jetbrains.annotations.Unmodifiable;
 import org.jspecify.annotations.Nullable;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -18,6 +19,7 @@ import java.util.function.UnaryOperator;
 
 final class ListTagImpl<T extends Tag> extends ValueTagImpl<@Unmodifiable List<T>> implements ListTag<T> {
     private final byte contentTypeId;
+    private volatile @Nullable CachedSize cachedSize;
 
     private ListTagImpl(List<T> value, byte contentTypeId) {
         super(Collections.unmodifiableList(new LinkedList<>(value)));
@@ -180,9 +182,17 @@ final class ListTagImpl<T extends Tag> extends ValueTagImpl<@Unmodifiable List<T
 
     @Override
     public void write(NBTOutputStream outputStream) throws IOException {
-        outputStream.writeByte(contentTypeId);
-        outputStream.writeInt(value.size());
-        for (var tag : value) tag.write(outputStream);
+        NestedTagWriter.write(this, outputStream);
+    }
+
+    @Override
+    public long sizeInBytes(Charset charset) {
+        var cached = cachedSize;
+        if (cached != null && cached.charset().equals(charset)) return cached.size();
+        long size = Byte.BYTES + Integer.BYTES;
+        for (var tag : value) size += tag.sizeInBytes(charset);
+        cachedSize = new CachedSize(charset, size);
+        return size;
     }
 
     @Override
@@ -3,6 +3,7 @@ package net.thenextlvl.nbt.tag;
 import net.thenextlvl.nbt.NBTOutputStream;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.Arrays;
 
 final class LongArrayTagImpl extends ValueTagImpl<long[]> implements LongArrayTag {
@@ -42,10 +43,15 @@ final class LongArrayTagImpl extends ValueTagImpl<long[]> implements LongArrayTa
 
     @Override
     public void write(NBTOutputStream outputStream) throws IOException {
-        outputStream.writeLong(value.length);
+        outputStream.writeInt(value.length);
         for (var l : value) outputStream.writeLong(l);
     }
 
+    @Override
+    public long sizeInBytes(Charset charset) {
+        return Integer.BYTES + (long) value.length * Long.BYTES;
+    }
+
     @Override
     public boolean equals(Object object) {
         if (this == object) return true;
@@ -3,6 +3,7 @@ package net.thenextlvl.nbt.tag;
 import net.thenextlvl.nbt.NBTOutputStream;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 
 final class LongTagImpl extends NumberTagImpl<Long> implements LongTag {
     public LongTagImpl(Long value) {
@@ -24,6 +25,11 @@ final class LongTagImpl extends NumberTagImpl<Long> implements LongTag {
         outputStream.writeLong(value);
     }
 
+    @Override
+    public long sizeInBytes(Charset charset) {
+        return Long.BYTES;
+    }
+
     @Override
     public String toString() {
         return value + "l";
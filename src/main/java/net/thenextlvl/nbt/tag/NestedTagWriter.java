@@ -0,0 +1,69 @@
+package net.thenextlvl.nbt.tag;
+
+import net.thenextlvl.nbt.NBTOutputStream;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Writes compounds and lists using an explicit stack instead of recursion,
+ * so that the nesting depth is not bound by the thread's stack size.
+ */
+final class NestedTagWriter {
+    private static final int MAX_NAME_LENGTH = 0xffff;
+
+    private NestedTagWriter() {
+    }
+
+    static void write(Tag tag, NBTOutputStream outputStream) throws IOException {
+        var stack = new ArrayDeque<Iterator<?>>();
+        stack.push(open(tag, outputStream));
+        while (!stack.isEmpty()) {
+            var iterator = stack.peek();
+            if (!iterator.hasNext()) {
+                stack.pop();
+                if (iterator instanceof CompoundIterator) outputStream.writeByte(EscapeTag.ID);
+                continue;
+            }
+            Tag child;
+            if (iterator instanceof CompoundIterator compound) {
+                var entry = compound.next();
+                child = entry.getValue();
+                if (child instanceof EscapeTag) throw new IllegalArgumentException("EscapeTag not allowed");
+                var name = entry.getKey().getBytes(outputStream.getCharset());
+                if (name.length > MAX_NAME_LENGTH) throw new IOException("Tag name is too long: " + name.length + " bytes");
+                outputStream.writeByte(child.getTypeId());
+                outputStream.writeShort(name.length);
+                outputStream.write(name);
+            } else child = (Tag) iterator.next();
+            if (child instanceof CompoundTag || child instanceof ListTag<?>) {
+                stack.push(open(child, outputStream));
+            } else child.write(outputStream);
+        }
+    }
+
+    /**
+     * Writes the header of the given container and returns an iterator over its children.
+     */
+    private static Iterator<?> open(Tag tag, NBTOutputStream outputStream) throws IOException {
+        if (tag instanceof CompoundTag compound) return new CompoundIterator(compound.getValue().entrySet().iterator());
+        var list = (ListTag<?>) tag;
+        outputStream.writeByte(list.getContentTypeId());
+        outputStream.writeInt(list.size());
+        return list.iterator();
+    }
+
+    private record CompoundIterator(Iterator<Map.Entry<String, Tag>> entries) implements Iterator<Map.Entry<String, Tag>> {
+        @Override
+        public boolean hasNext() {
+            return entries.hasNext();
+        }
+
+        @Override
+        public Map.Entry<String, Tag> next() {
+            return entries.next();
+        }
+    }
+}
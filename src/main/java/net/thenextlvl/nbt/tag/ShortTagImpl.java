@@ -3,6 +3,7 @@ package net.thenextlvl.nbt.tag;
 import net.thenextlvl.nbt.NBTOutputStream;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 
 final class ShortTagImpl extends NumberTagImpl<Short> implements ShortTag {
     public ShortTagImpl(Short value) {
@@ -24,6 +25,11 @@ final class ShortTagImpl extends NumberTagImpl<Short> implements ShortTag {
         outputStream.writeShort(value);
     }
 
+    @Override
+    public long sizeInBytes(Charset charset) {
+        return Short.BYTES;
+    }
+
     @Override
     public String toString() {
         return value + "s";
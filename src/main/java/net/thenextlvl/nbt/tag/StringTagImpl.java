@@ -3,6 +3,8 @@ package net.thenextlvl.nbt.tag;
 import net.thenextlvl.nbt.NBTOutputStream;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 final class StringTagImpl extends ValueTagImpl<String> implements StringTag {
     public StringTagImpl(final String value) {
@@ -32,6 +34,38 @@ final class StringTagImpl extends ValueTagImpl<String> implements StringTag {
         outputStream.write(bytes);
     }
 
+    @Override
+    public long sizeInBytes(final Charset charset) {
+        return Short.BYTES + encodedLength(value, charset);
+    }
+
+    /**
+     * Computes the length of {@code value} encoded with {@code charset},
+     * without encoding it for the common charsets.
+     */
+    static int encodedLength(final String value, final Charset charset) {
+        if (charset.equals(StandardCharsets.UTF_8)) return utf8Length(value);
+        if (charset.equals(StandardCharsets.ISO_8859_1) || charset.equals(StandardCharsets.US_ASCII))
+            return value.codePointCount(0, value.length());
+        if (charset.equals(StandardCharsets.UTF_16BE) || charset.equals(StandardCharsets.UTF_16LE)) return value.length() * 2;
+        return value.getBytes(charset).length;
+    }
+
+    private static int utf8Length(final String value) {
+        var length = value.length();
+        for (var i = 0; i < value.length(); i++) {
+            final var c = value.charAt(i);
+            if (c < 0x80) continue;
+            if (c < 0x800) length++;
+            else if (!Character.isSurrogate(c)) length += 2;
+            else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 2; // four bytes for two chars
+                i++;
+            } // unpaired surrogates are replaced by a single '?'
+        }
+        return length;
+    }
+
     @Override
     public String toString() {
         return shouldQuote(value) ? '"' + value + '"' : value;
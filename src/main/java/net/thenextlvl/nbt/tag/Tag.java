@@ -1,9 +1,13 @@
 package net.thenextlvl.nbt.tag;
 
+import net.thenextlvl.nbt.Compression;
 import net.thenextlvl.nbt.NBTOutputStream;
 import org.jetbrains.annotations.Contract;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
 
 /**
  * Represents a generic tag with various utility methods to interact with different tag types.
@@ -26,6 +30,40 @@ public interface Tag {
     @Contract(mutates = "param1")
     void write(NBTOutputStream output) throws IOException;
 
+    /**
+     * Computes the exact amount of bytes {@link #write(NBTOutputStream)} writes using the given charset,
+     * without writing the tag.
+     * <p>
+     * The built-in tags compute their size arithmetically, compounds and lists cache it per charset.
+     * Other implementations fall back to counting the bytes written to an uncompressed stream.
+     *
+     * @param charset the charset used to encode strings
+     * @return the size of the encoded tag in bytes
+     * @see NBTOutputStream#sizeInBytes(String, Tag, Charset)
+     * @since 4.4.0
+     */
+    @Contract(pure = true)
+    default long sizeInBytes(Charset charset) {
+        var size = new long[1];
+        var counter = new OutputStream() {
+            @Override
+            public void write(int b) {
+                size[0]++;
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+                size[0] += length;
+            }
+        };
+        try (var output = NBTOutputStream.create(counter, charset, Compression.NONE)) {
+            write(output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return size[0];
+    }
+
     /**
      * Checks whether the current tag is an instance of CompoundTag.
      *
@@ -0,0 +1,111 @@
+package net.thenextlvl.nbt.tag;
+
+import org.jetbrains.annotations.Contract;
+import org.jspecify.annotations.NullUnmarked;
+
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * A path to a nested tag, parsed once and reusable for looking up the same value in any amount of tags.
+ * <p>
+ * Paths consist of compound keys separated by dots and list indices in square brackets,
+ * like {@code Level.Sections[3].BlockStates}.
+ * Keys containing dots, brackets or quotes are quoted with double quotes, escaping quotes and backslashes
+ * with a backslash, like {@code "minecraft:custom.data".value}. The empty path refers to the tag itself.
+ * <pre>{@code
+ * var blockStates = TagPath.compile("Level.Sections[3].BlockStates");
+ * for (var chunk : chunks) process(blockStates.get(chunk));
+ * }</pre>
+ *
+ * @since 4.4.0
+ */
+public sealed interface TagPath permits TagPathImpl {
+    /**
+     * Parses the given path.
+     *
+     * @param path the path to parse
+     * @return the compiled path
+     * @throws IllegalArgumentException if the path is malformed
+     */
+    @Contract(value = "_ -> new", pure = true)
+    static TagPath compile(String path) throws IllegalArgumentException {
+        return TagPathImpl.parse(path);
+    }
+
+    /**
+     * Looks up the tag at this path, starting at the given tag.
+     *
+     * @param tag the tag to start at
+     * @param <T> the type of the tag extending Tag
+     * @return the tag at this path, or null if a key is absent or an index is out of bounds
+     * @throws UnsupportedOperationException if a tag along the path is not a compound or list as expected
+     */
+    @NullUnmarked
+    @Contract(pure = true)
+    <T extends Tag> T get(Tag tag) throws UnsupportedOperationException;
+
+    /**
+     * Looks up the tag at this path, starting at the given tag.
+     *
+     * @param tag the tag to start at
+     * @param <T> the type of the tag extending Tag
+     * @return an Optional containing the tag at this path, or an empty Optional if it doesn't exist
+     * @throws UnsupportedOperationException if a tag along the path is not a compound or list as expected
+     */
+    @Contract(pure = true)
+    <T extends Tag> Optional<T> optional(Tag tag) throws UnsupportedOperationException;
+
+    /**
+     * Looks up the number at this path as an int.
+     *
+     * @param tag the tag to start at
+     * @return the int value
+     * @throws NoSuchElementException        if the tag at this path doesn't exist
+     * @throws UnsupportedOperationException if the tag at this path is not a number
+     */
+    @Contract(pure = true)
+    int getInt(Tag tag) throws NoSuchElementException, UnsupportedOperationException;
+
+    /**
+     * Looks up the number at this path as a long.
+     *
+     * @param tag the tag to start at
+     * @return the long value
+     * @throws NoSuchElementException        if the tag at this path doesn't exist
+     * @throws UnsupportedOperationException if the tag at this path is not a number
+     */
+    @Contract(pure = true)
+    long getLong(Tag tag) throws NoSuchElementException, UnsupportedOperationException;
+
+    /**
+     * Looks up the number at this path as a double.
+     *
+     * @param tag the tag to start at
+     * @return the double value
+     * @throws NoSuchElementException        if the tag at this path doesn't exist
+     * @throws UnsupportedOperationException if the tag at this path is not a number
+     */
+    @Contract(pure = true)
+    double getDouble(Tag tag) throws NoSuchElementException, UnsupportedOperationException;
+
+    /**
+     * Looks up the string at this path.
+     *
+     * @param tag the tag to start at
+     * @return the string value
+     * @throws NoSuchElementException        if the tag at this path doesn't exist
+     * @throws UnsupportedOperationException if the tag at this path is not a string
+     */
+    @Contract(pure = true)
+    String getString(Tag tag) throws NoSuchElementException, UnsupportedOperationException;
+
+    /**
+     * Returns the normalized form of this path, which compiles to an equal path.
+     *
+     * @return the normalized path
+     */
+    @Override
+    @Contract(pure = true)
+    String toString();
+}
@@ -0,0 +1,173 @@
+package net.thenextlvl.nbt.tag;
+
+import org.jspecify.annotations.NullUnmarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+final class TagPathImpl implements TagPath {
+    /**
+     * The key of each segment, or null for list indices.
+     */
+    private final @Nullable String[] keys;
+    private final int[] indices;
+    private final String path;
+
+    private TagPathImpl(@Nullable String[] keys, int[] indices) {
+        this.keys = keys;
+        this.indices = indices;
+        this.path = normalize(keys, indices);
+    }
+
+    static TagPath parse(String path) throws IllegalArgumentException {
+        var keys = new ArrayList<@Nullable String>();
+        var indices = new ArrayList<Integer>();
+        var i = 0;
+        while (i < path.length()) {
+            var c = path.charAt(i);
+            if (c == '[') {
+                var end = path.indexOf(']', i);
+                if (end == -1) throw malformed(path, i, "Unclosed index");
+                keys.add(null);
+                indices.add(parseIndex(path, i + 1, end));
+                i = end + 1;
+            } else {
+                if (c == '.') {
+                    if (keys.isEmpty()) throw malformed(path, i, "Leading dot");
+                    if (++i == path.length()) throw malformed(path, i, "Trailing dot");
+                    c = path.charAt(i);
+                } else if (!keys.isEmpty()) throw malformed(path, i, "Missing dot before key");
+                var key = new StringBuilder();
+                if (c == '"') {
+                    while (true) {
+                        if (++i == path.length()) throw malformed(path, i, "Unclosed quote");
+                        c = path.charAt(i);
+                        if (c == '"') break;
+                        if (c == '\\') {
+                            if (++i == path.length()) throw malformed(path, i, "Unclosed quote");
+                            c = path.charAt(i);
+                        }
+                        key.append(c);
+                    }
+                    i++;
+                } else {
+                    while (i < path.length() && (c = path.charAt(i)) != '.' && c != '[') {
+                        if (c == ']' || c == '"') throw malformed(path, i, "Unexpected " + c);
+                        key.append(c);
+                        i++;
+                    }
+                    if (key.isEmpty()) throw malformed(path, i, "Empty key");
+                }
+                keys.add(key.toString());
+                indices.add(-1);
+            }
+        }
+        return new TagPathImpl(keys.toArray(String[]::new), indices.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private static int parseIndex(String path, int start, int end) throws IllegalArgumentException {
+        if (start == end) throw malformed(path, start, "Empty index");
+        var index = 0L;
+        for (var i = start; i < end; i++) {
+            var c = path.charAt(i);
+            if (c < '0' || c > '9') throw malformed(path, i, "Invalid index");
+            index = index * 10 + (c - '0');
+            if (index > Integer.MAX_VALUE) throw malformed(path, start, "Index too large");
+        }
+        return (int) index;
+    }
+
+    private static IllegalArgumentException malformed(String path, int position, String message) {
+        return new IllegalArgumentException(message + " at position " + position + " of path: " + path);
+    }
+
+    private static String normalize(@Nullable String[] keys, int[] indices) {
+        var builder = new StringBuilder();
+        for (var i = 0; i < keys.length; i++) {
+            var key = keys[i];
+            if (key == null) {
+                builder.append('[').append(indices[i]).append(']');
+                continue;
+            }
+            if (i > 0) builder.append('.');
+            if (!key.isEmpty() && key.chars().noneMatch(c -> c == '.' || c == '[' || c == ']' || c == '"')) {
+                builder.append(key);
+                continue;
+            }
+            builder.append('"');
+            key.chars().forEach(c -> {
+                if (c == '"' || c == '\\') builder.append('\\');
+                builder.append((char) c);
+            });
+            builder.append('"');
+        }
+        return builder.toString();
+    }
+
+    @Override
+    @NullUnmarked
+    @SuppressWarnings("unchecked")
+    public <T extends Tag> T get(Tag tag) throws UnsupportedOperationException {
+        var current = tag;
+        for (var i = 0; i < keys.length; i++) {
+            var key = keys[i];
+            if (key != null) {
+                current = current.getAsCompound().get(key);
+                if (current == null) return null;
+            } else {
+                var list = current.getAsList();
+                if (indices[i] >= list.size()) return null;
+                current = list.get(indices[i]);
+            }
+        }
+        return (T) current;
+    }
+
+    @Override
+    public <T extends Tag> Optional<T> optional(Tag tag) throws UnsupportedOperationException {
+        return Optional.ofNullable(get(tag));
+    }
+
+    @Override
+    public int getInt(Tag tag) throws NoSuchElementException, UnsupportedOperationException {
+        return require(tag).getAsInt();
+    }
+
+    @Override
+    public long getLong(Tag tag) throws NoSuchElementException, UnsupportedOperationException {
+        return require(tag).getAsLong();
+    }
+
+    @Override
+    public double getDouble(Tag tag) throws NoSuchElementException, UnsupportedOperationException {
+        return require(tag).getAsDouble();
+    }
+
+    @Override
+    public String getString(Tag tag) throws NoSuchElementException, UnsupportedOperationException {
+        return require(tag).getAsString();
+    }
+
+    private Tag require(Tag tag) throws NoSuchElementException, UnsupportedOperationException {
+        Tag value = get(tag);
+        if (value == null) throw new NoSuchElementException("No tag at path: " + path);
+        return value;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        return o instanceof TagPathImpl other && path.equals(other.path);
+    }
+
+    @Override
+    public int hashCode() {
+        return path.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+}
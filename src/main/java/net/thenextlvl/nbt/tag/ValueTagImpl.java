@@ -1,5 +1,6 @@
 package net.thenextlvl.nbt.tag;
 
+import java.nio.charset.Charset;
 import java.util.Objects;
 
 abstract class ValueTagImpl<T> implements ValueTag<T> {
@@ -31,4 +32,10 @@ abstract class ValueTagImpl<T> implements ValueTag<T> {
     public String toString() {
         return String.valueOf(value);
     }
+
+    /**
+     * The size of an immutable tag tree, cached for the charset it was computed with.
+     */
+    protected record CachedSize(Charset charset, long size) {
+    }
 }
@@ -1,14 +1,33 @@
 package net.thenextlvl.nbt.test;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
 import net.thenextlvl.nbt.Compression;
 import net.thenextlvl.nbt.NBTInputStream;
 import net.thenextlvl.nbt.NBTOutputStream;
+import net.thenextlvl.nbt.ReadLimitException;
+import net.thenextlvl.nbt.ReadLimits;
+import net.thenextlvl.nbt.SchemaViolationException;
+import net.thenextlvl.nbt.StreamMetrics;
+import net.thenextlvl.nbt.TagSchema;
+import net.thenextlvl.nbt.TagReader;
+import net.thenextlvl.nbt.TagWriter;
+import net.thenextlvl.nbt.file.NBTFiles;
 import net.thenextlvl.nbt.serialization.NBT;
+import net.thenextlvl.nbt.serialization.NBTSerializable;
 import net.thenextlvl.nbt.serialization.ParserException;
+import net.thenextlvl.nbt.serialization.TagAdapter;
+import net.thenextlvl.nbt.serialization.TagDeserializationContext;
+import net.thenextlvl.nbt.serialization.TagDeserializer;
+import net.thenextlvl.nbt.serialization.TagSerializationContext;
+import net.thenextlvl.nbt.serialization.TagSerializer;
+import net.thenextlvl.nbt.serialization.TagStreamAdapter;
+import net.thenextlvl.nbt.serialization.adapters.EnumAdapter;
 import net.thenextlvl.nbt.tag.ByteArrayTag;
 import net.thenextlvl.nbt.tag.ByteTag;
 import net.thenextlvl.nbt.tag.CompoundTag;
 import net.thenextlvl.nbt.tag.DoubleTag;
+import net.thenextlvl.nbt.tag.EscapeTag;
 import net.thenextlvl.nbt.tag.FloatTag;
 import net.thenextlvl.nbt.tag.IntArrayTag;
 import net.thenextlvl.nbt.tag.IntTag;
@@ -19,29 +38,63 @@ import net.thenextlvl.nbt.tag.NumberTag;
 import net.thenextlvl.nbt.tag.ShortTag;
 import net.thenextlvl.nbt.tag.StringTag;
 import net.thenextlvl.nbt.tag.Tag;
+import net.thenextlvl.nbt.tag.TagPath;
+import net.thenextlvl.nbt.test.corpus.CorpusGenerator;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.lang.reflect.Type;
 import java.math.BigDecimal;
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.DayOfWeek;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -216,6 +269,652 @@ public class NBTFileTest {
         });
     }
 
+    @MethodSource("compressions")
+    @ParameterizedTest(name = "[{index}] {0}")
+    public void testCompressionRoundTrip(final Compression compression) throws IOException {
+        final var random = new Random(42);
+        final var noise = new byte[100_000];
+        random.nextBytes(noise);
+        final var pattern = new int[50_000];
+        for (int i = 0; i < pattern.length; i++) pattern[i] = i % 17;
+
+        final var contents = CompoundTag.builder()
+                .put("noise", noise)
+                .put("pattern", pattern)
+                .put("string", "Hello World! ".repeat(1000))
+                .put("empty", CompoundTag.empty())
+                .build();
+
+        final var bytes = new ByteArrayOutputStream();
+        try (final var nbt = NBTOutputStream.create(bytes, compression)) {
+            nbt.writeTag("root", contents);
+        }
+
+        try (final var reader = NBTInputStream.create(new ByteArrayInputStream(bytes.toByteArray()), compression)) {
+            assertEquals(Map.entry("root", contents), reader.readNamedTag());
+        }
+    }
+
+    @Test
+    public void testParallelGzipCompression() throws IOException {
+        final var random = new Random(42);
+        final var noise = new byte[50_000];
+        random.nextBytes(noise);
+        final var builder = CompoundTag.builder().put("noise", noise);
+        for (int i = 0; i < 5_000; i++) builder.put("entry-" + i, "value " + random.nextInt(100));
+        final var contents = builder.build();
+
+        final var compression = Compression.parallelGzip(ForkJoinPool.commonPool(), 4096);
+        final var bytes = toBytes(contents, compression);
+        try (final var reader = NBTInputStream.create(new ByteArrayInputStream(bytes), Compression.GZIP)) {
+            assertEquals(contents, reader.readTag());
+        }
+        try (final var input = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            assertEquals(toBytes(contents, Compression.NONE).length, input.readAllBytes().length);
+        }
+        final var empty = toBytes(CompoundTag.empty(), compression);
+        try (final var reader = NBTInputStream.create(new ByteArrayInputStream(empty), Compression.AUTO)) {
+            assertEquals(CompoundTag.empty(), reader.readTag());
+        }
+    }
+
+    @MethodSource("compressions")
+    @ParameterizedTest(name = "[{index}] {0}")
+    public void testCompressionDetection(final Compression compression) throws IOException {
+        final var contents = CompoundTag.builder().put("string", "Hello World!").put("int", 42).build();
+        final var bytes = toBytes(contents, compression);
+
+        final var input = new BufferedInputStream(new ByteArrayInputStream(bytes));
+        assertEquals(compression, Compression.detect(input));
+        assertEquals(bytes.length, input.available(), "detection must not consume input");
+
+        try (final var reader = NBTInputStream.create(new ByteArrayInputStream(bytes), Compression.AUTO)) {
+            assertEquals(contents, reader.readTag());
+        }
+        assertThrows(IllegalArgumentException.class, () -> Compression.detect(new ByteArrayInputStream(bytes) {
+            @Override
+            public boolean markSupported() {
+                return false;
+            }
+        }));
+    }
+
+    @Test
+    public void testLZ4RejectsCorruptedData() throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        try (final var nbt = NBTOutputStream.create(bytes, Compression.LZ4)) {
+            nbt.writeTag(null, CompoundTag.builder().put("string", "Hello World! ".repeat(100)).build());
+        }
+        final var corrupted = bytes.toByteArray();
+        corrupted[30] ^= 0x55;
+
+        assertThrows(IOException.class, () -> {
+            try (final var reader = NBTInputStream.create(new ByteArrayInputStream(corrupted), Compression.LZ4)) {
+                reader.readTag();
+            }
+        });
+    }
+
+    @Test
+    public void testDictionaryCompression() throws IOException {
+        final var samples = new ArrayList<byte[]>();
+        final var random = new Random(42);
+        for (int i = 0; i < 200; i++) samples.add(toBytes(playerData(random), Compression.NONE));
+
+        final var dictionary = Compression.dictionary(Compression.trainDictionary(samples, 4096));
+        final var contents = playerData(random);
+        final var compressed = toBytes(contents, dictionary);
+        assertTrue(compressed.length < toBytes(contents, Compression.ZLIB).length, "dictionary should improve the ratio");
+
+        try (final var reader = NBTInputStream.create(new ByteArrayInputStream(compressed), dictionary)) {
+            assertEquals(contents, reader.readTag());
+        }
+        try (final var reader = NBTInputStream.create(new ByteArrayInputStream(toBytes(contents, Compression.ZLIB)), dictionary)) {
+            assertEquals(contents, reader.readTag());
+        }
+        assertThrows(IOException.class, () -> {
+            try (final var reader = NBTInputStream.create(new ByteArrayInputStream(compressed), Compression.dictionary(new byte[]{1, 2, 3}))) {
+                reader.readTag();
+            }
+        });
+    }
+
+    private static CompoundTag playerData(final Random random) {
+        return CompoundTag.builder()
+                .put("uuid", new UUID(random.nextLong(), random.nextLong()).toString())
+                .put("health", random.nextFloat() * 20)
+                .put("food", random.nextInt(20))
+                .put("position", CompoundTag.builder()
+                        .put("x", random.nextDouble() * 1000)
+                        .put("y", random.nextInt(256))
+                        .put("z", random.nextDouble() * 1000)
+                        .build())
+                .put("gamemode", "survival")
+                .put("dimension", "minecraft:overworld")
+                .build();
+    }
+
+    private static byte[] toBytes(final Tag tag, final Compression compression) throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        try (final var nbt = NBTOutputStream.create(bytes, compression)) {
+            nbt.writeTag(null, tag);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Test
+    public void testSizeInBytes() throws IOException {
+        final var contents = CompoundTag.builder()
+                .put("byte", (byte) 1)
+                .put("short", (short) 2)
+                .put("long", 3L)
+                .put("double", 4d)
+                .put("bytes", new byte[]{1, 2, 3})
+                .put("ints", new int[]{1, 2, 3})
+                .put("longs", new long[]{1, 2, 3})
+                .put("ascii", "Hello World!")
+                .put("unicode", "\u00e4\u00f6\u00fc \u20ac \uD83D\uDE00 \uD800")
+                .put("list", ListTag.of(StringTag.of("a"), StringTag.of("\u00df")))
+                .put("nested", CompoundTag.builder().put("\u00fc", CompoundTag.empty()).build())
+                .build();
+
+        for (final var charset : new Charset[]{StandardCharsets.UTF_8, StandardCharsets.UTF_16, StandardCharsets.ISO_8859_1}) {
+            final var bytes = new ByteArrayOutputStream();
+            try (final var nbt = NBTOutputStream.create(bytes, charset, Compression.NONE)) {
+                nbt.writeTag("root", contents);
+            }
+            assertEquals(bytes.size(), NBTOutputStream.sizeInBytes("root", contents, charset), charset.name());
+            assertEquals(contents.sizeInBytes(charset), contents.sizeInBytes(charset), "cached size must be stable");
+        }
+
+        final var longs = CompoundTag.builder().put("longs", new long[]{1, 2, 3}).build();
+        try (final var reader = NBTInputStream.create(new ByteArrayInputStream(toBytes(longs, Compression.NONE)), Compression.NONE)) {
+            assertEquals(longs, reader.readTag());
+        }
+    }
+
+    @Test
+    public void testEncodeIntoBuffer() throws IOException {
+        final var contents = CompoundTag.builder()
+                .put("string", "Hello World!")
+                .put("longs", new long[]{1, 2, 3})
+                .put("list", ListTag.of(IntTag.of(1), IntTag.of(2)))
+                .build();
+        final var expected = new ByteArrayOutputStream();
+        try (final var nbt = NBTOutputStream.create(expected, Compression.NONE)) {
+            nbt.writeTag("root", contents);
+        }
+        assertArrayEquals(expected.toByteArray(), NBTOutputStream.toByteArray("root", contents));
+
+        final var buffer = ByteBuffer.allocateDirect(256).order(ByteOrder.LITTLE_ENDIAN).position(10);
+        final var slice = NBTOutputStream.encode(buffer, "root", contents, StandardCharsets.UTF_8);
+        assertEquals(10 + expected.size(), buffer.position());
+        final var bytes = new byte[slice.remaining()];
+        slice.get(bytes);
+        assertArrayEquals(expected.toByteArray(), bytes);
+
+        final var small = ByteBuffer.allocate(16);
+        assertThrows(BufferOverflowException.class, () -> NBTOutputStream.encode(small, "root", contents, StandardCharsets.UTF_8));
+        assertEquals(0, small.position());
+    }
+
+    @Test
+    public void testGeneratedCorpusRoundTrip() throws IOException {
+        final var generator = CorpusGenerator.builder().seed(1337).sections(4).items(100).build();
+        assertEquals(generator.generate(CorpusGenerator.Kind.TREE, 3), generator.generate(CorpusGenerator.Kind.TREE, 3));
+        assertNotEquals(generator.generate(CorpusGenerator.Kind.TREE, 3), generator.generate(CorpusGenerator.Kind.TREE, 4));
+
+        final var directory = Files.createTempDirectory("nbt-corpus");
+        try {
+            final var files = generator.write(directory, 2);
+            assertEquals(CorpusGenerator.COMPRESSIONS.size() * CorpusGenerator.Kind.values().length * 2, files.size());
+            for (final var kind : CorpusGenerator.Kind.values()) {
+                for (final var compression : CorpusGenerator.COMPRESSIONS.keySet()) {
+                    final var file = directory.resolve(compression).resolve(kind.name().toLowerCase(Locale.ROOT) + "-1.nbt");
+                    try (final var reader = NBTInputStream.create(file, Compression.AUTO)) {
+                        assertEquals(generator.generate(kind, 1), reader.readTag(), file.toString());
+                    }
+                }
+            }
+        } finally {
+            try (final var walk = Files.walk(directory)) {
+                for (final var file : walk.sorted(Comparator.reverseOrder()).toList()) Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void testStreamMetrics() throws IOException {
+        final var contents = CompoundTag.builder()
+                .put("string", "Hello World!")
+                .put("list", ListTag.of(IntTag.of(1), IntTag.of(2)))
+                .put("nested", CompoundTag.builder().put("deeper", CompoundTag.builder().put("value", 1L).build()).build())
+                .build();
+        final var metrics = new ArrayList<StreamMetrics>();
+        final StreamMetrics.Listener listener = new StreamMetrics.Listener() {
+            @Override
+            public void onRead(final StreamMetrics read) {
+                metrics.add(read);
+            }
+
+            @Override
+            public void onWrite(final StreamMetrics written) {
+                metrics.add(written);
+            }
+        };
+
+        final var bytes = new ByteArrayOutputStream();
+        try (final var nbt = NBTOutputStream.create(bytes, StandardCharsets.UTF_8, Compression.GZIP, listener)) {
+            nbt.writeTag("root", contents);
+        }
+        try (final var reader = NBTInputStream.create(new ByteArrayInputStream(bytes.toByteArray()), StandardCharsets.UTF_8, Compression.GZIP, listener)) {
+            assertEquals(contents, reader.readTag());
+        }
+
+        assertEquals(2, metrics.size());
+        for (final var metric : metrics) {
+            assertEquals(bytes.size(), metric.compressedBytes(), "compressed bytes");
+            assertEquals(NBTOutputStream.sizeInBytes("root", contents, StandardCharsets.UTF_8), metric.uncompressedBytes(), "uncompressed bytes");
+            assertEquals(8, metric.tagCount());
+            assertEquals(3, metric.tagCount(CompoundTag.ID));
+            assertEquals(2, metric.tagCount(IntTag.ID));
+            assertEquals(4, metric.maxDepth());
+            assertEquals("rootstringHello World!listnesteddeepervalue".length(), metric.stringBytes());
+        }
+    }
+
+    @Test
+    public void testFlightRecorderEvents() throws IOException {
+        final var contents = CompoundTag.builder()
+                .put("uuid", IntArrayTag.of(1, 2, 3, 4))
+                .put("list", ListTag.of(IntTag.of(1), IntTag.of(2)))
+                .build();
+        final var directory = Files.createTempDirectory("nbt-jfr");
+        final var file = directory.resolve("level.dat");
+        final var dump = directory.resolve("recording.jfr");
+        try (final var recording = new Recording()) {
+            recording.enable("net.thenextlvl.nbt.FileRead");
+            recording.enable("net.thenextlvl.nbt.FileWrite");
+            recording.enable("net.thenextlvl.nbt.Deserialization").withThreshold(Duration.ZERO);
+            recording.start();
+            try (final var nbt = NBTOutputStream.create(file, StandardCharsets.UTF_8, Compression.GZIP)) {
+                nbt.writeTag("root", contents);
+            }
+            try (final var reader = NBTInputStream.create(file, StandardCharsets.UTF_8, Compression.GZIP)) {
+                assertEquals(contents, reader.readTag());
+            }
+            final var nbt = NBT.builder().build();
+            nbt.deserialize(nbt.serialize(new UUID(1, 2)), UUID.class);
+            recording.stop();
+            recording.dump(dump);
+
+            final var events = RecordingFile.readAllEvents(dump);
+            for (final var name : List.of("net.thenextlvl.nbt.FileRead", "net.thenextlvl.nbt.FileWrite")) {
+                final var event = events.stream()
+                        .filter(recorded -> recorded.getEventType().getName().equals(name))
+                        .findFirst().orElseThrow(() -> new AssertionError("Missing event " + name));
+                assertEquals(file.toString(), event.getString("path"));
+                assertEquals(Files.size(file), event.getLong("compressedBytes"));
+                assertEquals(NBTOutputStream.sizeInBytes("root", contents, StandardCharsets.UTF_8), event.getLong("uncompressedBytes"));
+                assertEquals(5, event.getLong("tagCount"));
+            }
+            assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("net.thenextlvl.nbt.Deserialization")
+                                                          && UUID.class.getTypeName().equals(event.getString("type"))));
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(dump);
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void testReadLimits() throws IOException {
+        final var contents = CompoundTag.builder()
+                .put("name", "Steve")
+                .put("inventory", ListTag.of(IntTag.of(1), IntTag.of(2), IntTag.of(3)))
+                .put("heightmap", LongArrayTag.of(new long[16]))
+                .build();
+        final var bytes = NBTOutputStream.toByteArray("root", contents);
+        final var size = bytes.length;
+
+        try (final var reader = NBTInputStream.create(new ByteArrayInputStream(bytes), Compression.NONE)) {
+            reader.setLimits(ReadLimits.builder().maxBytes(size).maxArrayLength(16).maxListLength(3).maxDepth(3).build());
+            assertEquals(contents, reader.readTag());
+        }
+        for (final var limits : List.of(
+                ReadLimits.builder().maxBytes(size - 1).build(),
+                ReadLimits.builder().maxArrayLength(15).build(),
+                ReadLimits.builder().maxListLength(2).build(),
+                ReadLimits.builder().maxDepth(2).build()
+        )) try (final var reader = NBTInputStream.create(new ByteArrayInputStream(bytes), Compression.NONE)) {
+            reader.setLimits(limits);
+            assertThrows(ReadLimitException.class, reader::readTag, limits.toString());
+        }
+
+        final var hostile = ByteBuffer.allocate(12)
+                .put(CompoundTag.ID).putShort((short) 0)
+                .put(ByteArrayTag.ID).putShort((short) 0)
+                .putInt(Integer.MAX_VALUE - 8)
+                .array();
+        try (final var reader = NBTInputStream.create(new ByteArrayInputStream(hostile), Compression.NONE)) {
+            reader.setLimits(ReadLimits.builder().maxBytes(1024).build());
+            assertThrows(ReadLimitException.class, reader::readTag);
+        }
+
+        Tag nested = CompoundTag.empty();
+        for (var i = 0; i < ReadLimits.DEFAULT_MAX_DEPTH; i++) nested = ListTag.of(nested);
+        final var deep = NBTOutputStream.toByteArray("root", CompoundTag.builder().put("deep", nested).build());
+        try (final var reader = NBTInputStream.create(new ByteArrayInputStream(deep), Compression.NONE)) {
+            assertEquals(ReadLimits.defaults(), reader.getLimits());
+            assertThrows(ReadLimitException.class, reader::readTag);
+        }
+        try (final var reader = NBTInputStream.create(new ByteArrayInputStream(deep), Compression.NONE)) {
+            reader.setLimits(ReadLimits.unlimited());
+            assertEquals(ReadLimits.DEFAULT_MAX_DEPTH + 2, depth(reader.readTag()));
+        }
+    }
+
+    @Test
+    public void testDeeplyNestedRoundTrip() throws IOException {
+        final var depth = 100_000;
+        Tag nested = CompoundTag.builder().put("leaf", 1).build();
+        for (var i = 0; i < depth; i++) nested = i % 2 == 0
+                ? ListTag.of(nested)
+                : CompoundTag.builder().put("level", i).put("child", nested).build();
+
+        final var bytes = new ByteArrayOutputStream();
+        try (final var nbt = NBTOutputStream.create(bytes, Compression.NONE)) {
+            nbt.writeTag("root", CompoundTag.builder().put("deep", nested).build());
+        }
+        try (final var reader = NBTInputStream.create(new ByteArrayInputStream(bytes.toByteArray()), Compression.NONE)) {
+            reader.setLimits(ReadLimits.unlimited());
+            Tag tag = reader.readTag().get("deep");
+            for (var i = depth - 1; i >= 0; i--) tag = i % 2 == 0
+                    ? tag.getAsList().get(0)
+                    : tag.getAsCompound().get("child");
+            assertEquals(CompoundTag.builder().put("leaf", 1).build(), tag);
+        }
+    }
+
+    @Test
+    public void testAsyncFiles() throws IOException {
+        final var directory = Files.createTempDirectory("nbt-async");
+        final var pool = Executors.newFixedThreadPool(8);
+        try {
+            final var files = NBTFiles.builder().executor(pool).build();
+            final var file = directory.resolve("player.dat");
+            final var writes = new ArrayList<CompletableFuture<Void>>();
+            for (var i = 0; i < 50; i++) writes.add(files.writeAsync(file, "player",
+                    CompoundTag.builder().put("revision", i).put("payload", ByteArrayTag.of(new byte[i * 1024])).build(),
+                    Compression.GZIP));
+            final var read = files.readNamedAsync(file, Compression.GZIP).join();
+            writes.forEach(CompletableFuture::join);
+            assertEquals("player", read.getKey());
+            assertEquals(49, read.getValue().get("revision").getAsInt());
+
+            final var queued = new ConcurrentLinkedQueue<Runnable>();
+            final var bounded = NBTFiles.builder().maxConcurrency(2).executor(queued::add).build();
+            final var others = new ArrayList<CompletableFuture<CompoundTag>>();
+            for (var i = 0; i < 20; i++) {
+                final var other = directory.resolve("other-" + i + ".dat");
+                bounded.writeAsync(other, CompoundTag.builder().put("index", i).build(), Compression.NONE);
+                others.add(bounded.readAsync(other, Compression.NONE));
+            }
+            assertEquals(2, queued.size(), "Exceeded max concurrency");
+            for (Runnable task; (task = queued.poll()) != null; ) task.run();
+            for (var i = 0; i < others.size(); i++) assertEquals(i, others.get(i).join().get("index").getAsInt());
+
+            final var missing = files.readAsync(directory.resolve("missing.dat"), Compression.GZIP);
+            assertInstanceOf(NoSuchFileException.class, assertThrows(CompletionException.class, missing::join).getCause());
+        } finally {
+            pool.shutdown();
+            try (final var walk = Files.walk(directory)) {
+                for (final var file : walk.sorted(Comparator.reverseOrder()).toList()) Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void testWriteBehindQueue() throws IOException {
+        final var directory = Files.createTempDirectory("nbt-write-behind");
+        final var files = NBTFiles.create();
+        try {
+            final var file = directory.resolve("player.dat");
+            final var queue = files.writeBehind(Duration.ofHours(1));
+            final var saves = new ArrayList<CompletableFuture<Void>>();
+            for (var i = 0; i < 10; i++)
+                saves.add(queue.save(file, CompoundTag.builder().put("revision", i).build(), Compression.GZIP));
+            assertEquals(1, queue.size());
+            assertFalse(Files.exists(file), "Save was not deferred");
+
+            queue.flush(file).join();
+            saves.forEach(CompletableFuture::join);
+            assertEquals(9, files.readAsync(file, Compression.GZIP).join().get("revision").getAsInt());
+
+            queue.save(file, CompoundTag.builder().put("revision", 10).build(), Compression.GZIP);
+            queue.close();
+            assertEquals(0, queue.size());
+            assertEquals(10, files.readAsync(file, Compression.GZIP).join().get("revision").getAsInt());
+            assertThrows(IllegalStateException.class, () -> queue.save(file, CompoundTag.empty(), Compression.GZIP));
+
+            try (final var scheduled = files.writeBehind(Duration.ofMillis(10))) {
+                scheduled.save(file, CompoundTag.builder().put("revision", 11).build(), Compression.GZIP).join();
+            }
+            assertEquals(11, files.readAsync(file, Compression.GZIP).join().get("revision").getAsInt());
+            try (final var list = Files.list(directory)) {
+                assertEquals(List.of(file), list.toList(), "Temporary files were left behind");
+            }
+        } finally {
+            try (final var walk = Files.walk(directory)) {
+                for (final var file : walk.sorted(Comparator.reverseOrder()).toList()) Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void testWriteBehindQueueClose() throws IOException {
+        final var directory = Files.createTempDirectory("nbt-write-behind");
+        final var queued = new ConcurrentLinkedQueue<Runnable>();
+        try {
+            final var file = directory.resolve("player.dat");
+            final var files = NBTFiles.builder().executor(queued::add).build();
+            final var queue = files.writeBehind(Duration.ofMillis(1));
+            final var save = queue.save(file, CompoundTag.builder().put("revision", 1).build(), Compression.GZIP);
+            final var deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (queued.isEmpty()) {
+                assertTrue(System.nanoTime() < deadline, "Scheduled write was not started");
+                Thread.onSpinWait();
+            }
+            assertEquals(0, queue.size());
+            assertFalse(queue.flush(file).isDone(), "Flush ignored the write in flight");
+
+            final var closed = CompletableFuture.runAsync(() -> {
+                try {
+                    queue.close();
+                } catch (final IOException e) {
+                    throw new CompletionException(e);
+                }
+            });
+            assertThrows(TimeoutException.class, () -> closed.get(50, TimeUnit.MILLISECONDS),
+                    "Close returned before the write in flight completed");
+            for (Runnable task; !closed.isDone(); ) if ((task = queued.poll()) != null) task.run();
+            closed.join();
+            assertTrue(save.isDone());
+            assertEquals(1, NBTFiles.create().readAsync(file, Compression.GZIP).join().get("revision").getAsInt());
+        } finally {
+            try (final var walk = Files.walk(directory)) {
+                for (final var file : walk.sorted(Comparator.reverseOrder()).toList()) Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void testFileCache() throws IOException {
+        final var directory = Files.createTempDirectory("nbt-cache");
+        final var queued = new ConcurrentLinkedQueue<Runnable>();
+        final Runnable drain = () -> {
+            for (Runnable task; (task = queued.poll()) != null; ) task.run();
+        };
+        try {
+            final var files = NBTFiles.builder().executor(queued::add).build();
+            final var player = directory.resolve("player.dat");
+            final var level = directory.resolve("level.dat");
+            files.writeAsync(player, CompoundTag.builder().put("revision", 1).build(), Compression.GZIP);
+            files.writeAsync(level, CompoundTag.builder().put("data", LongArrayTag.of(new long[64])).build(), Compression.GZIP);
+            drain.run();
+
+            final var cache = files.cache(1 << 20, Duration.ofHours(1));
+            final var first = cache.get(player, Compression.GZIP);
+            final var second = cache.get(player, Compression.GZIP);
+            assertEquals(1, queued.size(), "Concurrent loads were not shared");
+            drain.run();
+            assertSame(first.join(), second.join());
+            assertEquals(1, first.join().get("revision").getAsInt());
+            assertSame(first.join(), cache.getIfPresent(player));
+            assertTrue(cache.get(player, Compression.GZIP).isDone(), "Cached file was loaded again");
+            assertEquals(1, cache.size());
+            assertTrue(cache.weight() > 0);
+
+            files.writeAsync(player, CompoundTag.builder().put("revision", 2).build(), Compression.GZIP);
+            assertNull(cache.getIfPresent(player), "Write did not invalidate the cache");
+            final var reloaded = cache.get(player, Compression.GZIP);
+            drain.run();
+            assertEquals(2, reloaded.join().get("revision").getAsInt());
+
+            final var revalidating = files.cache(1 << 20, Duration.ZERO);
+            final var loaded = revalidating.get(player, Compression.GZIP);
+            drain.run();
+            final var revalidated = revalidating.get(player, Compression.GZIP);
+            drain.run();
+            assertSame(loaded.join(), revalidated.join(), "Unmodified file was loaded again");
+            try (final var nbt = NBTOutputStream.create(player, Compression.GZIP)) {
+                nbt.writeTag(null, CompoundTag.builder().put("revision", 3).put("external", true).build());
+            }
+            Files.setLastModifiedTime(player, FileTime.fromMillis(Files.getLastModifiedTime(player).toMillis() + 2000));
+            final var modified = revalidating.get(player, Compression.GZIP);
+            drain.run();
+            assertEquals(3, modified.join().get("revision").getAsInt());
+
+            final var small = files.cache(cache.weight() + 256, Duration.ofHours(1));
+            small.get(player, Compression.GZIP);
+            drain.run();
+            small.get(level, Compression.GZIP);
+            drain.run();
+            assertNull(small.getIfPresent(level), "Tag heavier than the cache was cached");
+            assertNotNull(small.getIfPresent(player));
+            assertTrue(small.weight() <= small.getMaxWeight());
+        } finally {
+            try (final var walk = Files.walk(directory)) {
+                for (final var file : walk.sorted(Comparator.reverseOrder()).toList()) Files.delete(file);
+            }
+        }
+    }
+
+    private static int depth(final Tag tag) {
+        if (tag instanceof final CompoundTag compound)
+            return 1 + compound.getValue().values().stream().mapToInt(NBTFileTest::depth).max().orElse(0);
+        if (tag instanceof final ListTag<?> list)
+            return 1 + list.stream().mapToInt(NBTFileTest::depth).max().orElse(0);
+        return 1;
+    }
+
+    @Test
+    public void testHierarchyAdapterResolution() {
+        final TagAdapter<Animal> animals = new TagAdapter<>() {
+            @Override
+            public Animal deserialize(final Tag tag, final TagDeserializationContext context) {
+                return new Cat(tag.getAsString());
+            }
+
+            @Override
+            public Tag serialize(final Animal animal, final TagSerializationContext context) {
+                return StringTag.of("animal:" + animal.name());
+            }
+        };
+        final TagSerializer<Dog> dogs = (dog, context) -> StringTag.of("dog:" + dog.name());
+        final TagSerializer<Pet> pets = (pet, context) -> StringTag.of("pet:" + pet.name());
+        final var nbt = NBT.builder()
+                .registerTypeHierarchyAdapter(Animal.class, animals)
+                .registerTypeHierarchyAdapter(Dog.class, dogs)
+                .registerTypeHierarchyAdapter(Pet.class, pets)
+                .build();
+
+        for (var i = 0; i < 2; i++) {
+            assertEquals(StringTag.of("dog:Rex"), nbt.serialize(new Dog("Rex")));
+            assertEquals(StringTag.of("animal:Tom"), nbt.serialize(new Cat("Tom")));
+            assertEquals(StringTag.of("pet:Nemo"), nbt.serialize(new Fish("Nemo")));
+            assertEquals(new Cat("Tom"), nbt.deserialize(StringTag.of("Tom"), Cat.class));
+            assertEquals(new Cat("Tom"), nbt.deserialize(StringTag.of("Tom"), Animal.class));
+            assertThrows(ParserException.class, () -> nbt.deserialize(StringTag.of("Nemo"), Fish.class));
+            assertThrows(ParserException.class, () -> nbt.serialize(new Object()));
+        }
+        assertThrows(ParserException.class, () -> nbt.deserialize(StringTag.of("Rex"), Dog.class),
+                "Hierarchy deserializer produced an instance of the wrong type");
+
+        final TagDeserializer<Dog> dog = (tag, context) -> new Dog(tag.getAsString());
+        final TagDeserializer<Number> numbers = (tag, context) -> tag.getAsDouble();
+        final var exact = NBT.builder()
+                .registerTypeHierarchyAdapter(Animal.class, animals)
+                .registerTypeAdapter(Dog.class, dog)
+                .registerTypeHierarchyAdapter(Number.class, numbers)
+                .build();
+        assertEquals(new Dog("Rex"), exact.deserialize(StringTag.of("Rex"), Dog.class));
+        assertEquals(new Dog("Rex"), exact.deserialize(StringTag.of("Rex"), (Type) Dog.class));
+        assertEquals(new Cat("Tom"), exact.deserialize(StringTag.of("Tom"), Cat.class));
+        assertEquals(7, exact.deserialize(IntTag.of(7), Integer.class));
+        assertEquals(7.0, exact.deserialize(IntTag.of(7), Number.class));
+    }
+
+    @Test
+    public void testExtensibleRegistration() throws NoSuchFieldException {
+        final TagSerializer<Pet> pets = (pet, context) -> StringTag.of("pet:" + pet.name());
+        final var nbt = NBT.builder()
+                .registerTypeHierarchyAdapter(Pet.class, pets)
+                .setExtensible(true)
+                .build();
+        assertTrue(nbt.isExtensible());
+        assertThrows(UnsupportedOperationException.class, () -> NBT.builder().build().registerAdapters(builder -> {
+        }));
+
+        final var owners = Inventory.class.getDeclaredField("owners").getGenericType();
+        final var uuid = UUID.randomUUID();
+        assertEquals(StringTag.of("pet:Rex"), nbt.serialize(new Dog("Rex")));
+        assertEquals(StringTag.of("pet:Tom"), nbt.serialize(new Cat("Tom")));
+        assertEquals(StringTag.of("pet:Nemo"), nbt.serialize(new Fish("Nemo")));
+        assertEquals(ListTag.of(nbt.serialize(uuid)), nbt.serialize(List.of(uuid), owners));
+
+        final TagSerializer<Animal> animals = (animal, context) -> StringTag.of("animal:" + animal.name());
+        nbt.registerAdapters(builder -> builder.registerTypeHierarchyAdapter(Animal.class, animals)
+                .registerTypeAdapter(UUID.class, (TagSerializer<UUID>) (value, context) -> StringTag.of(value.toString())));
+
+        assertEquals(StringTag.of("pet:Rex"), nbt.serialize(new Dog("Rex")));
+        assertEquals(StringTag.of("pet:Nemo"), nbt.serialize(new Fish("Nemo")));
+        assertEquals(StringTag.of("animal:Tom"), nbt.serialize(new Cat("Tom")));
+        assertEquals(ListTag.of(StringTag.of(uuid.toString())), nbt.serialize(List.of(uuid), owners));
+
+        nbt.registerAdapters(builder -> builder.registerTypeHierarchyAdapter(Dog.class, (TagSerializer<Dog>) (dog, context) -> StringTag.of("dog:" + dog.name())));
+        assertEquals(StringTag.of("dog:Rex"), nbt.serialize(new Dog("Rex")));
+        assertThrows(UnsupportedOperationException.class, () -> nbt.registerAdapters(builder -> builder.setPrettyPrinting(true)));
+        assertFalse(nbt.isPrettyPrinting());
+    }
+
+    private interface Pet {
+        String name();
+    }
+
+    private interface Animal {
+        String name();
+    }
+
+    private record Dog(String name) implements Pet, Animal {
+    }
+
+    private record Cat(String name) implements Animal, Pet {
+    }
+
+    private record Fish(String name) implements Pet {
+    }
+
     @Test
     public void testUnregisteredSerializer() {
         final var nbt = NBT.builder().build();
@@ -240,6 +939,503 @@ public class NBTFileTest {
         assertThrows(ParserException.class, () -> nbt.deserialize(tag, Object.class), "StackOverflowError expected");
     }
 
+    @Test
+    public void testAutomaticSerialization() {
+        final var nbt = NBT.builder().build();
+        final var home = new Home("Spawn", new Position(1.5, 64, -3.25), 3);
+
+        final var tag = nbt.serialize(home);
+        assertEquals(CompoundTag.builder()
+                .put("name", "Spawn")
+                .put("position", CompoundTag.builder()
+                        .put("x", 1.5)
+                        .put("y", 64d)
+                        .put("z", -3.25)
+                        .build())
+                .put("visits", 3)
+                .build(), tag);
+        assertEquals(home, nbt.deserialize(tag, Home.class));
+        assertEquals(new Home("Spawn", null, 0), nbt.deserialize(CompoundTag.builder().put("name", "Spawn").build(), Home.class));
+        assertThrows(ParserException.class, () -> nbt.deserialize(StringTag.of("Spawn"), Home.class));
+
+        final var warp = new Warp();
+        warp.name = "Nether";
+        warp.position = new Position(8, 70, 8);
+        warp.cached = "ignored";
+
+        final var serialized = nbt.serialize(warp);
+        assertEquals(3, serialized.getAsCompound().size());
+        assertNull(serialized.getAsCompound().get("cached"));
+        final var deserialized = nbt.deserialize(serialized, Warp.class);
+        assertEquals("Nether", deserialized.name);
+        assertEquals(new Position(8, 70, 8), deserialized.position);
+        assertTrue(deserialized.enabled);
+        assertNull(deserialized.cached);
+
+        final var partial = nbt.deserialize(CompoundTag.builder().put("name", "End").build(), Warp.class);
+        assertEquals("End", partial.name);
+        assertNull(partial.position);
+        assertTrue(partial.enabled, "Missing keys must keep field initializers");
+    }
+
+    private record Position(double x, double y, double z) {
+    }
+
+    private record Home(String name, Position position, int visits) {
+    }
+
+    private static class Destination {
+        boolean enabled = true;
+    }
+
+    @NBTSerializable
+    private static final class Warp extends Destination {
+        private String name;
+        private Position position;
+        private transient String cached;
+    }
+
+    @Test
+    public void testGeneratedAdapters() throws ReflectiveOperationException {
+        final var adapter = Class.forName(NBTFileTest.class.getName() + "_ProfileTagAdapter");
+        assertInstanceOf(TagAdapter.class, adapter.getConstructor().newInstance());
+        assertNotNull(getClass().getClassLoader().getResource("META-INF/net.thenextlvl.nbt/tag-adapters"));
+
+        final var reflective = NBT.builder().build();
+        final var generated = NBT.builder().registerGeneratedAdapters(getClass().getClassLoader()).build();
+        final var profile = new Profile();
+        profile.name = "Steve";
+        profile.setLevel(7);
+        profile.session = "ignored";
+        profile.spawn = new Spawn("world", 0.5, 64, -0.5);
+
+        final var tag = generated.serialize(profile);
+        assertEquals(reflective.serialize(profile), tag);
+        assertNull(tag.getAsCompound().get("session"));
+
+        final var deserialized = generated.deserialize(tag, Profile.class);
+        assertEquals("Steve", deserialized.name);
+        assertEquals(7, deserialized.getLevel());
+        assertTrue(deserialized.enabled);
+        assertNull(deserialized.session);
+        assertEquals(profile.spawn, deserialized.spawn);
+        assertEquals(new Spawn("world", 0, 0, 0), generated.deserialize(CompoundTag.builder().put("world", "world").build(), Spawn.class));
+        assertThrows(ParserException.class, () -> generated.deserialize(StringTag.of("Steve"), Profile.class));
+    }
+
+    @NBTSerializable
+    record Spawn(String world, double x, double y, double z) {
+    }
+
+    @NBTSerializable
+    static final class Profile {
+        String name;
+        private int level;
+        boolean enabled = true;
+        transient String session;
+        Spawn spawn;
+
+        int getLevel() {
+            return level;
+        }
+
+        void setLevel(final int level) {
+            this.level = level;
+        }
+    }
+
+    @Test
+    public void testCollectionAdapters() throws NoSuchFieldException {
+        final var nbt = NBT.builder().build();
+        final var owner = UUID.randomUUID();
+        final var inventory = new Inventory(
+                List.of(owner),
+                Map.of("heal", Duration.ofSeconds(30)),
+                Set.of("vip"),
+                Optional.empty(),
+                new int[]{1, 2, 3},
+                new long[]{4L},
+                new byte[]{5},
+                new String[]{"a", "b"},
+                List.of(Map.of("page", 1), Map.of())
+        );
+
+        final var tag = nbt.serialize(inventory).getAsCompound();
+        assertEquals(ListTag.of(nbt.serialize(owner)), tag.get("owners"));
+        assertEquals(CompoundTag.builder().put("heal", 30000L).build(), tag.get("cooldowns"));
+        assertEquals(ListTag.of(StringTag.of("vip")), tag.get("tags"));
+        assertEquals(ListTag.empty(EscapeTag.ID), tag.get("title"));
+        assertEquals(IntArrayTag.of(1, 2, 3), tag.get("slots"));
+        assertEquals(LongArrayTag.of(4L), tag.get("seeds"));
+        assertEquals(ByteArrayTag.of((byte) 5), tag.get("flags"));
+        assertEquals(ListTag.of(StringTag.of("a"), StringTag.of("b")), tag.get("names"));
+        assertEquals(ListTag.of(CompoundTag.builder().put("page", 1).build(), CompoundTag.empty()), tag.get("pages"));
+
+        final var deserialized = nbt.deserialize(tag, Inventory.class);
+        assertEquals(inventory.owners(), deserialized.owners());
+        assertEquals(inventory.cooldowns(), deserialized.cooldowns());
+        assertEquals(inventory.tags(), deserialized.tags());
+        assertEquals(Optional.empty(), deserialized.title());
+        assertArrayEquals(inventory.slots(), deserialized.slots());
+        assertArrayEquals(inventory.seeds(), deserialized.seeds());
+        assertArrayEquals(inventory.flags(), deserialized.flags());
+        assertArrayEquals(inventory.names(), deserialized.names());
+        assertEquals(inventory.pages(), deserialized.pages());
+
+        final var title = Inventory.class.getDeclaredField("title").getGenericType();
+        assertEquals(Optional.of("Chest"), nbt.deserialize(nbt.serialize(Optional.of("Chest"), title), title));
+        assertEquals(ListTag.of(StringTag.of("x")), nbt.serialize(List.of("x")));
+        final var keys = Keys.class.getDeclaredField("keys").getGenericType();
+        assertThrows(ParserException.class, () -> nbt.serialize(Map.of(owner, "x"), keys));
+        assertThrows(ParserException.class, () -> nbt.serialize(Map.of(owner, "x")));
+    }
+
+    private record Inventory(
+            List<UUID> owners,
+            Map<String, Duration> cooldowns,
+            Set<String> tags,
+            Optional<String> title,
+            int[] slots,
+            long[] seeds,
+            byte[] flags,
+            String[] names,
+            List<Map<String, Integer>> pages
+    ) {
+    }
+
+    private record Keys(Map<UUID, String> keys) {
+    }
+
+    @Test
+    public void testStreamSerialization() throws IOException {
+        final var nbt = NBT.builder().registerStreamAdapter(Spell.class, new SpellAdapter()).build();
+        final var spell = new Spell("Fireball", 3, List.of(UUID.randomUUID(), UUID.randomUUID()));
+
+        final var streamed = new ByteArrayOutputStream();
+        try (final var output = NBTOutputStream.create(streamed, Compression.NONE)) {
+            final var writer = output.writer().name("root").beginCompound().name("spell");
+            nbt.write(spell, writer);
+            writer.name("version").value(2).endCompound();
+        }
+
+        final var expected = CompoundTag.builder()
+                .put("spell", CompoundTag.builder()
+                        .put("name", spell.name())
+                        .put("level", spell.level())
+                        .put("targets", ListTag.of(nbt.serialize(spell.targets().get(0)), nbt.serialize(spell.targets().get(1))))
+                        .build())
+                .put("version", 2)
+                .build();
+        final var tree = new ByteArrayOutputStream();
+        try (final var output = NBTOutputStream.create(tree, Compression.NONE)) {
+            output.writeTag("root", expected);
+        }
+        assertArrayEquals(tree.toByteArray(), streamed.toByteArray(), "Streamed bytes differ from the tag tree");
+
+        try (final var input = NBTInputStream.create(new ByteArrayInputStream(streamed.toByteArray()), Compression.NONE)) {
+            final var reader = input.reader();
+            reader.beginCompound();
+            assertEquals("spell", reader.nextName());
+            assertEquals(spell, nbt.read(reader, Spell.class));
+            assertEquals(2L, reader.nextLong());
+            assertFalse(reader.hasNext());
+            reader.endCompound();
+        }
+
+        try (final var input = NBTInputStream.create(new ByteArrayInputStream(streamed.toByteArray()), Compression.NONE)) {
+            final var reader = input.reader();
+            reader.beginCompound();
+            reader.skipValue();
+            assertEquals(2, nbt.read(reader, Integer.class));
+            reader.endCompound();
+        }
+
+        final var dump = Files.createTempFile("nbt-stream", ".jfr");
+        try (final var recording = new Recording()) {
+            recording.enable("net.thenextlvl.nbt.Deserialization").withThreshold(Duration.ZERO);
+            recording.start();
+            try (final var input = NBTInputStream.create(new ByteArrayInputStream(streamed.toByteArray()), Compression.NONE)) {
+                final var reader = input.reader();
+                reader.beginCompound();
+                reader.nextName();
+                assertEquals(spell, nbt.read(reader, Spell.class));
+            }
+            recording.stop();
+            recording.dump(dump);
+            assertEquals(List.of(), RecordingFile.readAllEvents(dump).stream()
+                    .map(event -> event.getString("type")).toList(), "Built-in values were not streamed");
+        } finally {
+            Files.delete(dump);
+        }
+
+        final var compact = NBT.builder().registerStreamAdapter(Spell.class, new SpellAdapter()).setCompactEncoding(true).build();
+        final var upperCase = NBT.builder().registerStreamAdapter(Spell.class, new SpellAdapter())
+                .registerTypeAdapter(String.class, new TagAdapter<String>() {
+                    @Override
+                    public String deserialize(Tag tag, TagDeserializationContext context) {
+                        return tag.getAsString().toLowerCase(Locale.ROOT);
+                    }
+
+                    @Override
+                    public Tag serialize(String object, TagSerializationContext context) {
+                        return StringTag.of(object.toUpperCase(Locale.ROOT));
+                    }
+                }).build();
+        for (final var context : List.of(compact, upperCase)) {
+            final var output = new ByteArrayOutputStream();
+            try (final var stream = NBTOutputStream.create(output, Compression.NONE)) {
+                final var writer = stream.writer().name("root").beginCompound().name("name");
+                context.write(spell.name(), writer);
+                writer.name("target");
+                context.write(spell.targets().get(0), writer);
+                writer.endCompound();
+            }
+            try (final var input = NBTInputStream.create(new ByteArrayInputStream(output.toByteArray()), Compression.NONE)) {
+                final var root = input.readTag();
+                assertEquals(context.serialize(spell.name()), root.get("name"));
+                assertEquals(context.serialize(spell.targets().get(0)), root.get("target"));
+            }
+            try (final var input = NBTInputStream.create(new ByteArrayInputStream(output.toByteArray()), Compression.NONE)) {
+                final var reader = input.reader();
+                reader.beginCompound();
+                reader.nextName();
+                assertEquals(context.deserialize(context.serialize(spell.name()), String.class), context.read(reader, String.class));
+                reader.nextName();
+                assertEquals(spell.targets().get(0), context.read(reader, UUID.class));
+            }
+        }
+
+        try (final var input = NBTInputStream.create(new ByteArrayInputStream(streamed.toByteArray()), Compression.NONE)) {
+            input.setLimits(ReadLimits.builder().maxListLength(1).build());
+            final var reader = input.reader();
+            reader.beginCompound();
+            assertThrows(ReadLimitException.class, () -> nbt.read(reader, Spell.class));
+        }
+
+        try (final var output = NBTOutputStream.create(new ByteArrayOutputStream(), Compression.NONE)) {
+            final var writer = output.writer();
+            assertThrows(IllegalStateException.class, writer::beginCompound);
+            writer.name("root").beginCompound();
+            assertThrows(IllegalStateException.class, () -> writer.value(1));
+            writer.name("list").beginList(IntTag.ID, 1);
+            assertThrows(IllegalStateException.class, writer::endList);
+            assertThrows(IllegalStateException.class, () -> writer.value("x"));
+            writer.value(1).endList().endCompound();
+        }
+    }
+
+    private record Spell(String name, int level, List<UUID> targets) {
+    }
+
+    private static final class SpellAdapter implements TagStreamAdapter<Spell> {
+        @Override
+        public Spell deserialize(TagReader reader, TagDeserializationContext context) throws IOException {
+            var name = "";
+            var level = 0;
+            final var targets = new ArrayList<UUID>();
+            reader.beginCompound();
+            while (reader.hasNext()) switch (reader.nextName()) {
+                case "name" -> name = reader.nextString();
+                case "level" -> level = reader.nextInt();
+                case "targets" -> {
+                    final var size = reader.beginList();
+                    for (var i = 0; i < size; i++) targets.add(context.read(reader, UUID.class));
+                    reader.endList();
+                }
+                default -> reader.skipValue();
+            }
+            reader.endCompound();
+            return new Spell(name, level, targets);
+        }
+
+        @Override
+        public void serialize(Spell spell, TagWriter writer, TagSerializationContext context) throws IOException {
+            writer.beginCompound()
+                    .name("name").value(spell.name())
+                    .name("level").value(spell.level())
+                    .name("targets").beginList(CompoundTag.ID, spell.targets().size());
+            for (final var target : spell.targets()) context.write(target, writer);
+            writer.endList().endCompound();
+        }
+    }
+
+    @Test
+    public void testCompactEncoding() throws Exception {
+        final var legacy = NBT.builder().build();
+        final var nbt = NBT.builder().setCompactEncoding(true).build();
+        assertTrue(nbt.isCompactEncoding());
+
+        final var uuid = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+        assertEquals(IntArrayTag.of(0x069a79f4, 0x44e94726, 0xa5befca9, 0x0e38aaf5), nbt.serialize(uuid));
+        assertEquals(uuid, nbt.deserialize(nbt.serialize(uuid), UUID.class));
+        assertEquals(uuid, nbt.deserialize(legacy.serialize(uuid), UUID.class));
+        assertEquals(uuid, legacy.deserialize(nbt.serialize(uuid), UUID.class));
+        assertThrows(ParserException.class, () -> nbt.deserialize(IntArrayTag.of(1, 2), UUID.class));
+
+        final var address = new InetSocketAddress(InetAddress.getByAddress(new byte[]{127, 0, 0, 1}), 25565);
+        assertEquals(ByteArrayTag.of((byte) 127, (byte) 0, (byte) 0, (byte) 1, (byte) 0x63, (byte) 0xdd), nbt.serialize(address));
+        assertEquals(address, legacy.deserialize(nbt.serialize(address), InetSocketAddress.class));
+        final var v6 = new InetSocketAddress(InetAddress.getByName("::1"), 80);
+        assertEquals(v6, nbt.deserialize(nbt.serialize(v6), InetSocketAddress.class));
+        final var unresolved = InetSocketAddress.createUnresolved("example.invalid", 80);
+        assertTrue(nbt.serialize(unresolved).isCompound());
+
+        final var custom = NBT.builder().setCompactEncoding(true)
+                .registerTypeAdapter(UUID.class, (TagSerializer<UUID>) (value, context) -> StringTag.of(value.toString()))
+                .build();
+        assertEquals(StringTag.of(uuid.toString()), custom.serialize(uuid));
+        assertEquals(ListTag.of(nbt.serialize(uuid)), nbt.serialize(List.of(uuid), List.class));
+    }
+
+    @Test
+    public void testEnumAdapters() {
+        final var nbt = NBT.builder()
+                .registerTypeAdapter(Weather.class, new EnumAdapter<>(Weather.class, true))
+                .build();
+
+        assertEquals(StringTag.of("SUNDAY"), nbt.serialize(DayOfWeek.SUNDAY));
+        assertSame(nbt.serialize(DayOfWeek.SUNDAY), nbt.serialize(DayOfWeek.SUNDAY));
+        assertEquals(DayOfWeek.MONDAY, nbt.deserialize(StringTag.of("MONDAY"), DayOfWeek.class));
+        assertEquals(DayOfWeek.MONDAY, nbt.deserialize(ByteTag.of((byte) 0), DayOfWeek.class));
+        assertThrows(ParserException.class, () -> nbt.deserialize(StringTag.of("FUNDAY"), DayOfWeek.class));
+        assertThrows(ParserException.class, () -> nbt.deserialize(IntTag.of(7), DayOfWeek.class));
+        assertEquals(StringTag.of("STORM"), nbt.serialize(Mood.STORM));
+        assertEquals(Mood.STORM, nbt.deserialize(StringTag.of("STORM"), Mood.class));
+
+        assertEquals(ByteTag.of((byte) 2), nbt.serialize(Weather.THUNDER));
+        assertEquals(Weather.THUNDER, nbt.deserialize(ByteTag.of((byte) 2), Weather.class));
+        assertEquals(Weather.RAIN, nbt.deserialize(StringTag.of("RAIN"), Weather.class));
+
+        final var home = new Forecast(List.of(Weather.CLEAR, Weather.RAIN), DayOfWeek.FRIDAY);
+        final var tag = nbt.serialize(home).getAsCompound();
+        assertEquals(ListTag.of(ByteTag.of((byte) 0), ByteTag.of((byte) 1)), tag.get("days"));
+        assertEquals(StringTag.of("FRIDAY"), tag.get("until"));
+        assertEquals(home, nbt.deserialize(tag, Forecast.class));
+
+        final var ordinal = NBT.builder()
+                .registerTypeAdapter(Mood.class, new EnumAdapter<>(Mood.class, true))
+                .build();
+        assertEquals(ByteTag.of((byte) 1), ordinal.serialize(Mood.STORM));
+        assertEquals(ByteTag.of((byte) 1), ordinal.serialize(Mood.STORM, Mood.class));
+        assertEquals(ListTag.of(ByteTag.of((byte) 1)), ordinal.serialize(List.of(Mood.STORM)));
+        assertEquals(Mood.STORM, ordinal.deserialize(ByteTag.of((byte) 1), Mood.STORM.getClass()));
+    }
+
+    private enum Weather {
+        CLEAR, RAIN, THUNDER
+    }
+
+    private enum Mood {
+        CALM, STORM {
+            @Override
+            public String toString() {
+                return "stormy";
+            }
+        }
+    }
+
+    private record Forecast(List<Weather> days, DayOfWeek until) {
+    }
+
+    @Test
+    public void testTagSchema() throws IOException {
+        final var schema = TagSchema.compound()
+                .required("name", TagSchema.type(StringTag.ID))
+                .required("level", TagSchema.range(IntTag.ID, 0, 100))
+                .optional("health", TagSchema.range(FloatTag.ID, 0.0, 20.0))
+                .optional("homes", TagSchema.list(TagSchema.compound()
+                        .required("x", TagSchema.type(DoubleTag.ID))
+                        .allowUnknownKeys(false)
+                        .build(), 0, 2))
+                .build();
+
+        final var valid = CompoundTag.builder()
+                .put("name", "Steve")
+                .put("level", 42)
+                .put("homes", ListTag.of(CompoundTag.builder().put("x", 1.5).build()))
+                .put("extra", true)
+                .build();
+        schema.validate(valid);
+
+        final var missing = assertThrows(SchemaViolationException.class, () -> schema.validate(CompoundTag.builder().put("name", "Steve").build()));
+        assertEquals("level", missing.getPath());
+        assertEquals("level", assertThrows(SchemaViolationException.class, () -> schema.validate(valid.toBuilder().put("level", 101).build())).getPath());
+        assertEquals("health", assertThrows(SchemaViolationException.class, () -> schema.validate(valid.toBuilder().put("health", Float.NaN).build())).getPath());
+        final var nested = assertThrows(SchemaViolationException.class, () -> schema.validate(valid.toBuilder()
+                .put("homes", ListTag.of(CompoundTag.builder().put("x", 1.0).put("y", 2.0).build())).build()));
+        assertEquals("homes[0].y", nested.getPath());
+        assertTrue(nested.getMessage().startsWith("homes[0].y: "), nested.getMessage());
+        final var dotted = valid.toBuilder().put("homes", ListTag.of(CompoundTag.builder().put("x", 1.0).put("a.b", 2.0).build())).build();
+        final var quoted = assertThrows(SchemaViolationException.class, () -> schema.validate(dotted));
+        assertEquals("homes[0].\"a.b\"", quoted.getPath());
+        assertEquals(2.0, TagPath.compile(quoted.getPath()).getDouble(dotted));
+        assertEquals("[1]", assertThrows(SchemaViolationException.class, () -> TagSchema.list(TagSchema.range(IntTag.ID, 0, 1), 0, 2)
+                .validate(ListTag.of(IntTag.of(1), IntTag.of(2)))).getPath());
+        assertThrows(SchemaViolationException.class, () -> schema.validate(StringTag.of("Steve")));
+        assertThrows(IllegalArgumentException.class, () -> TagSchema.range(StringTag.ID, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> TagSchema.compound().required("a", TagSchema.any()).optional("a", TagSchema.any()));
+
+        final var bytes = new ByteArrayOutputStream();
+        try (final var output = NBTOutputStream.create(bytes, Compression.NONE)) {
+            output.writeTag("", valid);
+        }
+        try (final var input = NBTInputStream.create(new ByteArrayInputStream(bytes.toByteArray()), Compression.NONE)) {
+            assertEquals(valid, schema.read(input.reader()));
+        }
+
+        final var invalid = new ByteArrayOutputStream();
+        try (final var output = NBTOutputStream.create(invalid, Compression.NONE)) {
+            output.writeTag("", CompoundTag.builder()
+                    .put("level", 1000)
+                    .put("name", "x".repeat(1000))
+                    .build());
+        }
+        // the truncated remainder is never read, as the level is rejected before it
+        final var truncated = Arrays.copyOf(invalid.toByteArray(), 32);
+        try (final var input = NBTInputStream.create(new ByteArrayInputStream(truncated), Compression.NONE)) {
+            final var violation = assertThrows(SchemaViolationException.class, () -> schema.read(input.reader()));
+            assertEquals("level", violation.getPath());
+        }
+    }
+
+    @Test
+    public void testTagPath() {
+        final var section = CompoundTag.builder().put("BlockStates", LongArrayTag.of(1L, 2L)).put("Y", (byte) 3).build();
+        final var chunk = CompoundTag.builder()
+                .put("Level", CompoundTag.builder()
+                        .put("Sections", ListTag.of(CompoundTag.empty(), section))
+                        .put("custom.data", CompoundTag.builder().put("value", "x").build())
+                        .build())
+                .build();
+
+        final var blockStates = TagPath.compile("Level.Sections[1].BlockStates");
+        assertEquals(section.get("BlockStates"), blockStates.get(chunk));
+        assertEquals(3, TagPath.compile("Level.Sections[1].Y").getInt(chunk));
+        assertEquals("x", TagPath.compile("Level.\"custom.data\".value").getString(chunk));
+        assertEquals(chunk, TagPath.compile("").get(chunk));
+        assertEquals(section, TagPath.compile("[1]").get(chunk.getAsCompound("Level").getAsList("Sections")));
+
+        assertNull(TagPath.compile("Level.Sections[2].Y").get(chunk));
+        assertNull(TagPath.compile("Level.Missing.Y").get(chunk));
+        assertEquals(Optional.empty(), TagPath.compile("Level.Sections[0].Y").optional(chunk));
+        assertThrows(NoSuchElementException.class, () -> TagPath.compile("Level.Sections[0].Y").getLong(chunk));
+        assertThrows(UnsupportedOperationException.class, () -> TagPath.compile("Level[0]").get(chunk));
+
+        assertEquals("Level.Sections[1].BlockStates", blockStates.toString());
+        assertEquals(blockStates, TagPath.compile(blockStates.toString()));
+        final var quoted = "a.\"b.c\"[0].\"q\\\"\\\\\"";
+        assertEquals(quoted, TagPath.compile(quoted).toString());
+        assertEquals("escaped", TagPath.compile(quoted).getString(CompoundTag.builder().put("a", CompoundTag.builder()
+                .put("b.c", ListTag.of(CompoundTag.builder().put("q\"\\", "escaped").build())).build()).build()));
+        for (final var malformed : List.of(".a", "a.", "a..b", "a[", "a[]", "a[-1]", "a[0]b", "\"a", "a]", "a[99999999999]")) {
+            assertThrows(IllegalArgumentException.class, () -> TagPath.compile(malformed), malformed);
+        }
+    }
+
+    private static Stream<Compression> compressions() {
+        return Stream.of(Compression.NONE, Compression.GZIP, Compression.ZLIB, Compression.LZ4);
+    }
+
     private static Stream<Arguments> tagPredicateProvider() {
         return Stream.of(
                 Arguments.of(CompoundTag.empty(), TagPredicates.onlyCompound()),
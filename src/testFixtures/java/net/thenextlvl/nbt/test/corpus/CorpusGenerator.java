@@ -0,0 +1,361 @@
+package net.thenextlvl.nbt.test.corpus;
+
+import net.thenextlvl.nbt.Compression;
+import net.thenextlvl.nbt.NBTOutputStream;
+import net.thenextlvl.nbt.tag.ByteArrayTag;
+import net.thenextlvl.nbt.tag.ByteTag;
+import net.thenextlvl.nbt.tag.CompoundTag;
+import net.thenextlvl.nbt.tag.DoubleTag;
+import net.thenextlvl.nbt.tag.FloatTag;
+import net.thenextlvl.nbt.tag.IntArrayTag;
+import net.thenextlvl.nbt.tag.IntTag;
+import net.thenextlvl.nbt.tag.ListTag;
+import net.thenextlvl.nbt.tag.LongArrayTag;
+import net.thenextlvl.nbt.tag.LongTag;
+import net.thenextlvl.nbt.tag.ShortTag;
+import net.thenextlvl.nbt.tag.StringTag;
+import net.thenextlvl.nbt.tag.Tag;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generates deterministic, realistic NBT trees for tests and benchmarks.
+ * <p>
+ * Every tree is derived from the generator seed, its {@link Kind} and an index only,
+ * so the same configuration always yields the same corpus regardless of generation order.
+ * Keys of {@link Kind#TREE random trees} are drawn from a fixed pool following a Zipf distribution,
+ * mimicking the heavy reuse of a few keys seen in real data.
+ */
+public final class CorpusGenerator {
+    /**
+     * The compressions a corpus is written with, by directory name.
+     */
+    public static final Map<String, Compression> COMPRESSIONS = Map.of(
+            "none", Compression.NONE,
+            "gzip", Compression.GZIP,
+            "zlib", Compression.ZLIB,
+            "lz4", Compression.LZ4
+    );
+
+    private static final String[] ITEMS = {
+            "minecraft:diamond_sword", "minecraft:stone", "minecraft:oak_log", "minecraft:torch",
+            "minecraft:bread", "minecraft:iron_pickaxe", "minecraft:redstone", "minecraft:glass"
+    };
+    private static final String[] BLOCKS = {
+            "minecraft:air", "minecraft:stone", "minecraft:dirt", "minecraft:grass_block", "minecraft:deepslate",
+            "minecraft:water", "minecraft:coal_ore", "minecraft:iron_ore", "minecraft:gravel", "minecraft:andesite"
+    };
+
+    private final long seed;
+    private final int sections;
+    private final int items;
+    private final int depth;
+    private final int breadth;
+    private final String[] keys;
+    private final double[] keyWeights;
+    private final int arrayLength;
+
+    private CorpusGenerator(Builder builder) {
+        this.seed = builder.seed;
+        this.sections = builder.sections;
+        this.items = builder.items;
+        this.depth = builder.depth;
+        this.breadth = builder.breadth;
+        this.arrayLength = builder.arrayLength;
+        this.keys = new String[builder.keys];
+        this.keyWeights = new double[builder.keys];
+        var total = 0d;
+        for (var i = 0; i < keys.length; i++) {
+            keys[i] = "key_" + Integer.toString(i, 36);
+            total += 1 / Math.pow(i + 1, builder.keySkew);
+            keyWeights[i] = total;
+        }
+        for (var i = 0; i < keyWeights.length; i++) keyWeights[i] /= total;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * The kinds of trees a generator produces.
+     */
+    public enum Kind {
+        /**
+         * Player data with position, abilities, inventory and ender chest.
+         */
+        PLAYER,
+        /**
+         * A chunk with block state palettes, packed data, light and heightmaps per section.
+         */
+        CHUNK,
+        /**
+         * A single large list of item compounds.
+         */
+        ITEMS,
+        /**
+         * A random tree of the configured depth, breadth and key distribution.
+         */
+        TREE
+    }
+
+    /**
+     * Generates the tree of the given kind and index.
+     *
+     * @param kind  the kind of tree
+     * @param index the index within the corpus
+     * @return the generated tree
+     */
+    public CompoundTag generate(Kind kind, int index) {
+        var random = new SplittableRandom(seed * 31 + kind.ordinal() * 1_000_003L + index);
+        return switch (kind) {
+            case PLAYER -> player(random);
+            case CHUNK -> chunk(random);
+            case ITEMS -> CompoundTag.builder().put("Items", inventory(random, items)).build();
+            case TREE -> tree(random, depth);
+        };
+    }
+
+    /**
+     * Generates {@code count} trees of every kind and writes them with every compression
+     * to {@code directory/<compression>/<kind>-<index>.nbt}.
+     *
+     * @param directory the directory to write the corpus to
+     * @param count     the amount of trees per kind
+     * @return the written files
+     * @throws IOException if a file could not be written
+     */
+    public List<Path> write(Path directory, int count) throws IOException {
+        var files = new ArrayList<Path>();
+        for (var compression : COMPRESSIONS.entrySet()) {
+            var target = Files.createDirectories(directory.resolve(compression.getKey()));
+            for (var kind : Kind.values()) {
+                for (var index = 0; index < count; index++) {
+                    var file = target.resolve(kind.name().toLowerCase(Locale.ROOT) + "-" + index + ".nbt");
+                    try (var output = NBTOutputStream.create(file, compression.getValue())) {
+                        output.writeTag(null, generate(kind, index));
+                    }
+                    files.add(file);
+                }
+            }
+        }
+        return files;
+    }
+
+    private CompoundTag player(SplittableRandom random) {
+        return CompoundTag.builder()
+                .put("DataVersion", 3953)
+                .put("UUID", new int[]{random.nextInt(), random.nextInt(), random.nextInt(), random.nextInt()})
+                .put("Pos", ListTag.of(DoubleTag.of(random.nextDouble(-1000, 1000)), DoubleTag.of(random.nextDouble(-64, 320)), DoubleTag.of(random.nextDouble(-1000, 1000))))
+                .put("Rotation", ListTag.of(FloatTag.of((float) random.nextDouble(360)), FloatTag.of((float) random.nextDouble(-90, 90))))
+                .put("Health", (float) random.nextInt(1, 21))
+                .put("foodLevel", random.nextInt(21))
+                .put("XpLevel", random.nextInt(100))
+                .put("playerGameType", random.nextInt(4))
+                .put("Dimension", "minecraft:overworld")
+                .put("OnGround", random.nextBoolean())
+                .put("Inventory", inventory(random, 36))
+                .put("EnderItems", inventory(random, 27))
+                .put("abilities", CompoundTag.builder()
+                        .put("flying", false)
+                        .put("flySpeed", 0.05f)
+                        .put("walkSpeed", 0.1f)
+                        .put("mayfly", random.nextBoolean())
+                        .build())
+                .build();
+    }
+
+    private CompoundTag chunk(SplittableRandom random) {
+        var list = new ArrayList<CompoundTag>(sections);
+        for (var y = 0; y < sections; y++) {
+            var states = random.nextInt(1, BLOCKS.length + 1);
+            var palette = new ArrayList<CompoundTag>(states);
+            for (var i = 0; i < states; i++) palette.add(CompoundTag.builder().put("Name", BLOCKS[i]).build());
+            var data = new long[states == 1 ? 0 : 256];
+            for (var i = 0; i < data.length; i++) data[i] = random.nextLong();
+            var skyLight = new byte[2048];
+            random.nextBytes(skyLight);
+            list.add(CompoundTag.builder()
+                    .put("Y", (byte) (y - 4))
+                    .put("block_states", CompoundTag.builder()
+                            .put("palette", ListTag.of(palette))
+                            .put("data", data)
+                            .build())
+                    .put("biomes", CompoundTag.builder()
+                            .put("palette", ListTag.of(StringTag.of("minecraft:plains")))
+                            .build())
+                    .put("SkyLight", skyLight)
+                    .build());
+        }
+        var heightmap = new long[37];
+        for (var i = 0; i < heightmap.length; i++) heightmap[i] = random.nextLong();
+        return CompoundTag.builder()
+                .put("DataVersion", 3953)
+                .put("xPos", random.nextInt(-1000, 1000))
+                .put("yPos", -4)
+                .put("zPos", random.nextInt(-1000, 1000))
+                .put("Status", "minecraft:full")
+                .put("LastUpdate", random.nextLong(1_000_000))
+                .put("InhabitedTime", random.nextLong(1_000_000))
+                .put("sections", ListTag.of(CompoundTag.ID, list))
+                .put("Heightmaps", CompoundTag.builder()
+                        .put("MOTION_BLOCKING", heightmap)
+                        .put("WORLD_SURFACE", heightmap.clone())
+                        .build())
+                .put("block_entities", ListTag.empty(CompoundTag.ID))
+                .build();
+    }
+
+    private ListTag<CompoundTag> inventory(SplittableRandom random, int size) {
+        var list = new ArrayList<CompoundTag>(size);
+        for (var slot = 0; slot < size; slot++) {
+            var item = CompoundTag.builder()
+                    .put("Slot", ByteTag.of((byte) slot))
+                    .put("id", ITEMS[random.nextInt(ITEMS.length)])
+                    .put("count", IntTag.of(random.nextInt(1, 65)));
+            if (random.nextInt(4) == 0) item.put("components", CompoundTag.builder()
+                    .put("minecraft:damage", random.nextInt(1500))
+                    .put("minecraft:custom_name", "Item #" + slot)
+                    .build());
+            list.add(item.build());
+        }
+        return ListTag.of(CompoundTag.ID, list);
+    }
+
+    private CompoundTag tree(SplittableRandom random, int remaining) {
+        var entries = new LinkedHashMap<String, Tag>();
+        var size = random.nextInt(1, breadth * 2);
+        for (var i = 0; i < size; i++) entries.put(key(random), value(random, remaining));
+        return CompoundTag.of(entries);
+    }
+
+    private Tag value(SplittableRandom random, int remaining) {
+        var type = random.nextInt(remaining > 0 ? 14 : 12);
+        return switch (type) {
+            case 0 -> ByteTag.of((byte) random.nextInt());
+            case 1 -> ShortTag.of((short) random.nextInt());
+            case 2, 3 -> IntTag.of(random.nextInt());
+            case 4 -> LongTag.of(random.nextLong());
+            case 5 -> FloatTag.of((float) random.nextDouble());
+            case 6 -> DoubleTag.of(random.nextDouble());
+            case 7, 8 -> StringTag.of(key(random) + ":" + random.nextInt(1000));
+            case 9 -> {
+                var bytes = new byte[random.nextInt(arrayLength + 1)];
+                random.nextBytes(bytes);
+                yield ByteArrayTag.of(bytes);
+            }
+            case 10 -> IntArrayTag.of(random.ints(random.nextInt(arrayLength + 1)).toArray());
+            case 11 -> LongArrayTag.of(random.longs(random.nextInt(arrayLength + 1)).toArray());
+            case 12 -> tree(random, remaining - 1);
+            default -> {
+                var list = new ArrayList<CompoundTag>();
+                for (var i = random.nextInt(breadth); i > 0; i--) list.add(tree(random, remaining - 1));
+                yield ListTag.of(CompoundTag.ID, list);
+            }
+        };
+    }
+
+    private String key(SplittableRandom random) {
+        var value = random.nextDouble();
+        var low = 0;
+        var high = keyWeights.length - 1;
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            if (keyWeights[middle] < value) low = middle + 1;
+            else high = middle;
+        }
+        return keys[low];
+    }
+
+    public static final class Builder {
+        private long seed = 42;
+        private int sections = 24;
+        private int items = 10_000;
+        private int depth = 4;
+        private int breadth = 8;
+        private int keys = 64;
+        private double keySkew = 1;
+        private int arrayLength = 256;
+
+        private Builder() {
+        }
+
+        /**
+         * @param seed the seed all trees are derived from
+         */
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * @param sections the amount of sections per chunk, defaults to 24
+         */
+        public Builder sections(int sections) {
+            this.sections = sections;
+            return this;
+        }
+
+        /**
+         * @param items the amount of items in {@link Kind#ITEMS} trees, defaults to 10,000
+         */
+        public Builder items(int items) {
+            this.items = items;
+            return this;
+        }
+
+        /**
+         * @param depth the maximum nesting depth of random trees, defaults to 4
+         */
+        public Builder depth(int depth) {
+            this.depth = depth;
+            return this;
+        }
+
+        /**
+         * @param breadth the average amount of entries per compound of random trees, defaults to 8
+         */
+        public Builder breadth(int breadth) {
+            if (breadth < 1) throw new IllegalArgumentException("Breadth must be positive");
+            this.breadth = breadth;
+            return this;
+        }
+
+        /**
+         * @param keys the amount of distinct keys in random trees, defaults to 64
+         */
+        public Builder keys(int keys) {
+            if (keys < 1) throw new IllegalArgumentException("Key pool must not be empty");
+            this.keys = keys;
+            return this;
+        }
+
+        /**
+         * @param keySkew the Zipf exponent of the key distribution, {@code 0} being uniform, defaults to 1
+         */
+        public Builder keySkew(double keySkew) {
+            this.keySkew = keySkew;
+            return this;
+        }
+
+        /**
+         * @param arrayLength the maximum length of arrays in random trees, defaults to 256
+         */
+        public Builder arrayLength(int arrayLength) {
+            this.arrayLength = arrayLength;
+            return this;
+        }
+
+        public CorpusGenerator build() {
+            return new CorpusGenerator(this);
+        }
+    }
+}